@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.talend.components.common.stream.CSVHelper;
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.csv.FieldSeparator;
+import org.talend.components.common.stream.input.line.DefaultRecordReader;
+import org.talend.components.common.stream.input.line.LineSplitter;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+/**
+ * Time to read a whole CSV file (1 GB by default, -p sizeMb=... to change it) with the streaming tokenizer
+ * and with the former path (line scanner and a commons-csv parser for each line).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CSVReaderBenchmark {
+
+    @Param("1024")
+    private int sizeMb;
+
+    private File file;
+
+    private CSVConfiguration configuration;
+
+    private RecordBuilderFactory factory;
+
+    @Setup
+    public void setup() throws IOException {
+        this.configuration = new CSVConfiguration();
+        this.configuration.getFieldSeparator().setFieldSeparatorType(FieldSeparator.Type.COMMA);
+        this.configuration.setQuotedValue('"');
+        this.configuration.setEscape('\\');
+        this.factory = new RecordBuilderFactoryImpl("benchmark");
+
+        this.file = File.createTempFile("csv-benchmark", ".csv");
+        final long size = this.sizeMb * 1024L * 1024L;
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(this.file.toPath(), StandardCharsets.UTF_8)) {
+            for (int row = 0; written < size; row++) {
+                final String line = row + ",name " + row + ",\"quoted, value " + row + "\"," + (row / 7d) + ",true\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public long tokenizer() {
+        return this.count(new CSVReaderSupplier().getReader(this.factory, this.configuration));
+    }
+
+    @Benchmark
+    public long linePerLine() {
+        final CSVFormat format = CSVHelper.getCsvFormat(this.configuration);
+        return this.count(
+                DefaultRecordReader.of(this.factory, this.configuration.getLineConfiguration(), new CSVLineSplitter(format)));
+    }
+
+    private long count(RecordReader reader) {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(this.file), 64 * 1024)) {
+            final Iterator<Record> records = reader.read(input);
+            long count = 0;
+            while (records.hasNext()) {
+                records.next();
+                count++;
+            }
+            return count;
+        } catch (IOException exIO) {
+            throw new UncheckedIOException(exIO);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Former csv splitter, that parses each line on its own.
+     */
+    private static class CSVLineSplitter implements LineSplitter {
+
+        private final CSVFormat format;
+
+        CSVLineSplitter(CSVFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public Iterable<String> translate(String line) {
+            try {
+                final CSVParser parser = CSVParser.parse(line, this.format);
+                final List<CSVRecord> records = parser.getRecords();
+                if (records.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                return records.get(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unparsable CSV line '" + line + "'", e);
+            }
+        }
+    }
+}
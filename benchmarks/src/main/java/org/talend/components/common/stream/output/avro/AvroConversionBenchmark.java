@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.output.avro;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.talend.components.common.stream.input.avro.AvroToRecord;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+/**
+ * Records/s converted between records and avro records, for flat records (20 fields)
+ * and deeply nested ones (sub record and array of 2 sub records on each of 4 levels).
+ * Converters are reused (conversion plans built once) or created for each record (plans built for each record).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroConversionBenchmark {
+
+    private static final int RECORDS = 1000;
+
+    private static final String NAMESPACE = "org.talend.benchmark";
+
+    private static final Schema.Type[] TYPES = { Schema.Type.STRING, Schema.Type.INT, Schema.Type.LONG, Schema.Type.DOUBLE,
+            Schema.Type.BOOLEAN };
+
+    @Param({ "flat", "nested" })
+    private String shape;
+
+    private RecordBuilderFactory factory;
+
+    private List<Record> records;
+
+    private List<GenericRecord> avroRecords;
+
+    private RecordToAvro recordToAvro;
+
+    private AvroToRecord avroToRecord;
+
+    @Setup
+    public void setup() {
+        this.factory = new RecordBuilderFactoryImpl("benchmark");
+        final Schema schema = "flat".equals(this.shape) ? this.schema(20, 0) : this.schema(TYPES.length, 4);
+        this.records = new ArrayList<>(RECORDS);
+        for (int row = 0; row < RECORDS; row++) {
+            this.records.add(this.record(schema, row));
+        }
+        this.recordToAvro = new RecordToAvro(NAMESPACE);
+        this.avroToRecord = new AvroToRecord(this.factory);
+        this.avroRecords = new ArrayList<>(RECORDS);
+        for (Record record : this.records) {
+            this.avroRecords.add(this.recordToAvro.fromRecord(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void toAvro(Blackhole blackhole) {
+        for (Record record : this.records) {
+            blackhole.consume(this.recordToAvro.fromRecord(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void toAvroNewConverter(Blackhole blackhole) {
+        for (Record record : this.records) {
+            blackhole.consume(new RecordToAvro(NAMESPACE).fromRecord(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void toRecord(Blackhole blackhole) {
+        for (GenericRecord record : this.avroRecords) {
+            blackhole.consume(this.avroToRecord.toRecord(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void toRecordNewConverter(Blackhole blackhole) {
+        for (GenericRecord record : this.avroRecords) {
+            blackhole.consume(new AvroToRecord(this.factory).toRecord(record));
+        }
+    }
+
+    private Schema schema(int fields, int depth) {
+        final Schema.Builder builder = this.factory.newSchemaBuilder(Schema.Type.RECORD);
+        for (int i = 0; i < fields; i++) {
+            builder.withEntry(this.factory.newEntryBuilder().withName("f" + i).withType(TYPES[i % TYPES.length])
+                    .withNullable(true).build());
+        }
+        if (depth > 0) {
+            final Schema child = this.schema(fields, depth - 1);
+            builder.withEntry(this.factory.newEntryBuilder().withName("child").withType(Schema.Type.RECORD)
+                    .withElementSchema(child).withNullable(true).build());
+            builder.withEntry(this.factory.newEntryBuilder().withName("children").withType(Schema.Type.ARRAY)
+                    .withElementSchema(child).withNullable(true).build());
+        }
+        return builder.build();
+    }
+
+    private Record record(Schema schema, int row) {
+        final Record.Builder builder = this.factory.newRecordBuilder(schema);
+        for (Schema.Entry entry : schema.getEntries()) {
+            switch (entry.getType()) {
+            case STRING:
+                builder.withString(entry, "value " + row);
+                break;
+            case INT:
+                builder.withInt(entry, row);
+                break;
+            case LONG:
+                builder.withLong(entry, row * 1000L);
+                break;
+            case DOUBLE:
+                builder.withDouble(entry, row / 7d);
+                break;
+            case BOOLEAN:
+                builder.withBoolean(entry, row % 2 == 0);
+                break;
+            case RECORD:
+                builder.withRecord(entry, this.record(entry.getElementSchema(), row));
+                break;
+            default:
+                builder.withArray(entry,
+                        Arrays.asList(this.record(entry.getElementSchema(), row), this.record(entry.getElementSchema(), row)));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.output.statement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Records/s bound to an insert statement of an in memory Derby table, with the per parameter converter lookup of the
+ * former batching loop and with the {@link RecordBinder} plan built once per flush.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordBinderBenchmark {
+
+    private static final int RECORDS = 1000;
+
+    private static final Schema.Type[] TYPES = { Schema.Type.STRING, Schema.Type.INT, Schema.Type.LONG, Schema.Type.DOUBLE,
+            Schema.Type.BOOLEAN };
+
+    private static final String[] SQL_TYPES = { "VARCHAR(64)", "INT", "BIGINT", "DOUBLE", "BOOLEAN" };
+
+    @Param({ "10", "200" })
+    private int columns;
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    private Map<Integer, Schema.Entry> queryParams;
+
+    private List<Record> records;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:derby:memory:binder;create=true");
+        try (final Statement create = connection.createStatement()) {
+            create.execute(IntStream.range(0, columns).mapToObj(i -> "C" + i + " " + SQL_TYPES[i % TYPES.length])
+                    .collect(Collectors.joining(", ", "CREATE TABLE BENCH (", ")")));
+        }
+        statement = connection.prepareStatement(IntStream.range(0, columns).mapToObj(i -> "?")
+                .collect(Collectors.joining(", ", "INSERT INTO BENCH VALUES (", ")")));
+
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("benchmark");
+        final Schema.Builder schemaBuilder = factory.newSchemaBuilder(Schema.Type.RECORD);
+        queryParams = new HashMap<>();
+        for (int i = 0; i < columns; i++) {
+            final Schema.Entry entry = factory.newEntryBuilder().withName("C" + i).withType(TYPES[i % TYPES.length])
+                    .withNullable(true).build();
+            schemaBuilder.withEntry(entry);
+            queryParams.put(i + 1, entry);
+        }
+        final Schema schema = schemaBuilder.build();
+        records = new ArrayList<>(RECORDS);
+        for (int row = 0; row < RECORDS; row++) {
+            final Record.Builder builder = factory.newRecordBuilder(schema);
+            for (int i = 0; i < columns; i++) {
+                final String name = "C" + i;
+                switch (TYPES[i % TYPES.length]) {
+                case STRING:
+                    builder.withString(name, "value " + row);
+                    break;
+                case INT:
+                    builder.withInt(name, row);
+                    break;
+                case LONG:
+                    builder.withLong(name, row * 1000L);
+                    break;
+                case DOUBLE:
+                    builder.withDouble(name, row / 3d);
+                    break;
+                default:
+                    builder.withBoolean(name, row % 2 == 0);
+                }
+            }
+            records.add(builder.build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        statement.close();
+        connection.close();
+        try {
+            DriverManager.getConnection("jdbc:derby:memory:binder;drop=true");
+        } catch (final SQLException e) {
+            // derby reports the drop of the database with an exception
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void perParamLookup() throws SQLException {
+        for (final Record record : records) {
+            statement.clearParameters();
+            for (final Map.Entry<Integer, Schema.Entry> param : queryParams.entrySet()) {
+                RecordToSQLTypeConverter.valueOf(param.getValue().getType().name()).setValue(statement, param.getKey(),
+                        param.getValue(), record);
+            }
+            statement.addBatch();
+        }
+        statement.clearBatch();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void bindingPlan() throws SQLException {
+        final RecordBinder binder = RecordBinder.of(queryParams);
+        for (final Record record : records) {
+            statement.clearParameters();
+            binder.bind(statement, record);
+            statement.addBatch();
+        }
+        statement.clearBatch();
+    }
+}
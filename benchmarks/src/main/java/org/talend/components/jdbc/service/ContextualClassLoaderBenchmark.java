@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cost per cell read or bound on an in memory Derby table, through the contextual classloader proxy of
+ * {@link JdbcService.JdbcDatasource} and directly on the driver objects (contextualClassLoader=false).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextualClassLoaderBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final int COLUMNS = 10;
+
+    @Param({ "true", "false" })
+    private boolean contextualClassLoader;
+
+    private Connection driverConnection;
+
+    private Connection connection;
+
+    private PreparedStatement insert;
+
+    @Setup
+    public void setup() throws SQLException {
+        driverConnection = DriverManager.getConnection("jdbc:derby:memory:cells;create=true");
+        connection = contextualClassLoader
+                ? JdbcService.JdbcDatasource.wrap(getClass().getClassLoader(), driverConnection, Connection.class)
+                : driverConnection;
+        try (final Statement create = connection.createStatement()) {
+            create.execute(IntStream.range(0, COLUMNS).mapToObj(i -> "C" + i + (i % 2 == 0 ? " VARCHAR(64)" : " INT"))
+                    .collect(Collectors.joining(", ", "CREATE TABLE CELLS (", ")")));
+        }
+        insert = connection.prepareStatement(IntStream.range(0, COLUMNS).mapToObj(i -> "?")
+                .collect(Collectors.joining(", ", "INSERT INTO CELLS VALUES (", ")")));
+        bind();
+        insert.executeBatch();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        insert.close();
+        connection.close();
+        try {
+            DriverManager.getConnection("jdbc:derby:memory:cells;drop=true");
+        } catch (final SQLException e) {
+            // derby reports the drop of the database with an exception
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public void read(final Blackhole blackhole) throws SQLException {
+        try (final Statement statement = connection.createStatement();
+                final ResultSet result = statement.executeQuery("SELECT * FROM CELLS")) {
+            while (result.next()) {
+                for (int i = 1; i <= COLUMNS; i++) {
+                    blackhole.consume(result.getObject(i));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public void write() throws SQLException {
+        bind();
+        insert.clearBatch();
+    }
+
+    private void bind() throws SQLException {
+        for (int row = 0; row < ROWS; row++) {
+            insert.clearParameters();
+            for (int i = 1; i <= COLUMNS; i++) {
+                if (i % 2 == 1) {
+                    insert.setString(i, "value " + row);
+                } else {
+                    insert.setInt(i, row);
+                }
+            }
+            insert.addBatch();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.format;
+
+import java.io.Serializable;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import lombok.Data;
+
+@Data
+@GridLayout(@GridLayout.Row({ "codec", "level" }))
+public class Compression implements Serializable {
+
+    private static final long serialVersionUID = -4508937268311580297L;
+
+    public enum Codec {
+        /** detect codec from content (on read) */
+        AUTO,
+        NONE,
+        GZIP,
+        BZIP2,
+        ZSTD,
+        SNAPPY,
+        LZ4
+    }
+
+    @Option
+    @Documentation("Compression codec of content.")
+    private Compression.Codec codec = Compression.Codec.AUTO;
+
+    @Option
+    @ActiveIf(target = "codec", value = { "GZIP", "BZIP2", "ZSTD" })
+    @Documentation("Compression level on write (codec default if not set).")
+    private Integer level;
+}
@@ -25,7 +25,8 @@ import lombok.Data;
 @Data
 @GridLayout({ @GridLayout.Row({ "lineSeparatorType", "lineSeparator" }), //
         @GridLayout.Row({ "encoding" }), //
-        @GridLayout.Row({ "header" }) })
+        @GridLayout.Row({ "header" }), //
+        @GridLayout.Row({ "typeInference" }) })
 public class LineConfiguration implements ContentFormat {
 
     private static final long serialVersionUID = 6614704115891739018L;
@@ -67,4 +68,13 @@ public class LineConfiguration implements ContentFormat {
         return Optional.ofNullable(this.header).map(OptionalLine::getSize).orElse(0);
     }
 
+    @Option
+    @Documentation("Infer fields types (boolean, long, double, datetime) from first lines instead of string.\n"
+            + "A later value not of its field type widens the field to double or string for the following records.")
+    private OptionalLine typeInference;
+
+    public int calcTypeInference() {
+        return Optional.ofNullable(this.typeInference).map(OptionalLine::getSize).orElse(0);
+    }
+
 }
@@ -19,8 +19,30 @@ import lombok.Data;
 @Data
 public class AvroConfiguration implements ContentFormat {
 
+    /** block compression codecs of avro container file */
+    public enum Codec {
+        NULL,
+        DEFLATE,
+        SNAPPY,
+        BZIP2,
+        XZ
+    }
+
     private boolean attachSchema = true;
 
+    /** avro schema of written records (inferred from first record if not set) */
     private String avroSchema;
 
+    /** block codec (when schema is attached) */
+    private Codec codec = Codec.NULL;
+
+    /** compression level for deflate & xz codecs (codec default if not set) */
+    private Integer compressionLevel;
+
+    /** approximate size in bytes of blocks between sync markers (avro default if not set) */
+    private Integer syncInterval;
+
+    /** buffer size in bytes of binary encoder (when schema is not attached) */
+    private Integer bufferSize;
+
 }
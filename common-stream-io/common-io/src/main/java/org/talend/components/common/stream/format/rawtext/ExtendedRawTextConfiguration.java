@@ -19,8 +19,30 @@ import lombok.Data;
 @AllArgsConstructor
 public class ExtendedRawTextConfiguration {
 
+    /** default number of characters of a record in CHUNKS split mode */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
     private final String charset;
 
     private final boolean forceOneRow;
 
+    /** how the text is split in records */
+    private final Split split;
+
+    /** number of characters of a record in CHUNKS split mode */
+    private final int chunkSize;
+
+    public ExtendedRawTextConfiguration(final String charset, final boolean forceOneRow) {
+        this(charset, forceOneRow, Split.NONE, DEFAULT_CHUNK_SIZE);
+    }
+
+    public enum Split {
+        /** whole text in one record */
+        NONE,
+        /** one record per line */
+        LINES,
+        /** one record per chunk of fixed number of characters */
+        CHUNKS
+    }
+
 }
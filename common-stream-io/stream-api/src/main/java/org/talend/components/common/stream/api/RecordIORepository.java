@@ -27,8 +27,12 @@ import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonValue;
 
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
+import org.talend.components.common.stream.api.compression.CompressedWriterSupplier;
+import org.talend.components.common.stream.api.compression.CompressionCodec;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
+import org.talend.components.common.stream.format.Compression;
 import org.talend.components.common.stream.format.ContentFormat;
 import org.talend.sdk.component.api.service.Service;
 
@@ -150,12 +154,52 @@ public class RecordIORepository {
         }
     }
 
+    /**
+     * Find reader for content format; compressed content is detected from its first bytes and decompressed.
+     * 
+     * @param clazz : content format class.
+     * @return reader supplier, null if none for this format.
+     */
     public <T extends ContentFormat> RecordReaderSupplier findReader(Class<T> clazz) {
-        return this.readers.get(clazz);
+        final RecordReaderSupplier reader = this.readers.get(clazz);
+        if (reader == null) {
+            return null;
+        }
+        return new CompressedReaderSupplier(reader, Compression.Codec.AUTO);
     }
 
     public <T extends ContentFormat> RecordWriterSupplier findWriter(Class<T> clazz) {
         return this.writers.get(clazz);
     }
 
+    /**
+     * Find reader for compressed content.
+     * 
+     * @param clazz : content format class.
+     * @param compression : compression of content (AUTO to detect codec from content, NONE to read it as is).
+     * @return reader supplier, null if none for this format.
+     */
+    public <T extends ContentFormat> RecordReaderSupplier findReader(Class<T> clazz, Compression compression) {
+        final RecordReaderSupplier reader = this.readers.get(clazz);
+        if (reader == null || compression == null || compression.getCodec() == Compression.Codec.NONE) {
+            return reader;
+        }
+        return new CompressedReaderSupplier(reader, compression.getCodec());
+    }
+
+    /**
+     * Find writer that compress content.
+     * 
+     * @param clazz : content format class.
+     * @param compression : compression codec & level (AUTO or NONE to write content uncompressed).
+     * @return writer supplier, null if none for this format.
+     */
+    public <T extends ContentFormat> RecordWriterSupplier findWriter(Class<T> clazz, Compression compression) {
+        final RecordWriterSupplier writer = this.findWriter(clazz);
+        if (writer == null || compression == null || CompressionCodec.of(compression.getCodec()) == null) {
+            return writer;
+        }
+        return new CompressedWriterSupplier(writer, compression);
+    }
+
 }
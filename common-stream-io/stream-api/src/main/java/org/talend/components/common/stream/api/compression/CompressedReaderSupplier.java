@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.api.input.RecordReaderSupplier;
+import org.talend.components.common.stream.format.Compression;
+import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Reader supplier that decompress content before giving it to format reader.
+ */
+public class CompressedReaderSupplier implements RecordReaderSupplier {
+
+    /** format reader supplier */
+    private final RecordReaderSupplier supplier;
+
+    private final Compression.Codec codec;
+
+    public CompressedReaderSupplier(RecordReaderSupplier supplier, Compression.Codec codec) {
+        this.supplier = supplier;
+        this.codec = codec;
+    }
+
+    /**
+     * @return format reader supplier.
+     */
+    public RecordReaderSupplier getSupplier() {
+        return this.supplier;
+    }
+
+    @Override
+    public RecordReader getReader(RecordBuilderFactory factory, ContentFormat config, Object extraParameter) {
+        final RecordReader reader = this.supplier.getReader(factory, config, extraParameter);
+        if (this.codec == null || this.codec == Compression.Codec.NONE) {
+            return reader;
+        }
+        return new CompressedReader(reader, this.codec);
+    }
+
+    private static class CompressedReader implements RecordReader {
+
+        private final RecordReader reader;
+
+        private final Compression.Codec codec;
+
+        /** decompressed content */
+        private InputStream content;
+
+        CompressedReader(RecordReader reader, Compression.Codec codec) {
+            this.reader = reader;
+            this.codec = codec;
+        }
+
+        @Override
+        public Iterator<Record> read(InputStream input) {
+            try {
+                this.content = CompressionCodec.decompress(input, this.codec);
+            } catch (IOException exIO) {
+                throw new UncheckedIOException("Unable to decompress content : " + exIO.getMessage(), exIO);
+            }
+            return this.reader.read(this.content);
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.reader.close();
+            } finally {
+                this.closeContent();
+            }
+        }
+
+        private void closeContent() {
+            if (this.content != null) {
+                try {
+                    this.content.close();
+                } catch (IOException exIO) {
+                    throw new UncheckedIOException("Unable to close decompressed content : " + exIO.getMessage(), exIO);
+                } finally {
+                    this.content = null;
+                }
+            }
+        }
+    }
+}
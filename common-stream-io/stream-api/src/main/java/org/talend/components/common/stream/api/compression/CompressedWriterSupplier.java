@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.components.common.stream.api.output.RecordWriter;
+import org.talend.components.common.stream.api.output.RecordWriterSupplier;
+import org.talend.components.common.stream.api.output.TargetFinder;
+import org.talend.components.common.stream.format.Compression;
+import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.sdk.component.api.record.Record;
+
+/**
+ * Writer supplier that compress content written by format writer.
+ */
+public class CompressedWriterSupplier implements RecordWriterSupplier {
+
+    /** format writer supplier */
+    private final RecordWriterSupplier supplier;
+
+    private final Compression compression;
+
+    public CompressedWriterSupplier(RecordWriterSupplier supplier, Compression compression) {
+        this.supplier = supplier;
+        this.compression = compression;
+    }
+
+    @Override
+    public RecordWriter getWriter(TargetFinder target, ContentFormat config) {
+        return this.getWriter(target, config, null);
+    }
+
+    @Override
+    public RecordWriter getWriter(TargetFinder target, ContentFormat config, Object extraParameter) {
+        final CompressionCodec codec = CompressionCodec.of(this.compression.getCodec());
+        if (codec == null) {
+            return this.supplier.getWriter(target, config, extraParameter);
+        }
+        final CompressedTarget compressedTarget = new CompressedTarget(target, codec, this.compression.getLevel());
+        return new CompressedWriter(this.supplier.getWriter(compressedTarget, config, extraParameter), compressedTarget);
+    }
+
+    /**
+     * Target that compress content; keep opened streams to end them when writer is closed.
+     */
+    private static class CompressedTarget implements TargetFinder {
+
+        private final TargetFinder target;
+
+        private final CompressionCodec codec;
+
+        private final Integer level;
+
+        private final List<OutputStream> opened = new ArrayList<>(1);
+
+        CompressedTarget(TargetFinder target, CompressionCodec codec, Integer level) {
+            this.target = target;
+            this.codec = codec;
+            this.level = level;
+        }
+
+        @Override
+        public OutputStream find() throws IOException {
+            final OutputStream output = this.codec.compress(this.target.find(), this.level);
+            this.opened.add(output);
+            return output;
+        }
+
+        /**
+         * Close compressed streams (format writers don't always close their stream,
+         * compressed content is only complete when closed).
+         */
+        void end() throws IOException {
+            IOException error = null;
+            for (OutputStream output : this.opened) {
+                try {
+                    output.close();
+                } catch (IOException exIO) {
+                    error = exIO;
+                }
+            }
+            this.opened.clear();
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    private static class CompressedWriter implements RecordWriter {
+
+        private final RecordWriter writer;
+
+        private final CompressedTarget target;
+
+        CompressedWriter(RecordWriter writer, CompressedTarget target) {
+            this.writer = writer;
+            this.target = target;
+        }
+
+        @Override
+        public void init(ContentFormat config) throws IOException {
+            this.writer.init(config);
+        }
+
+        @Override
+        public void add(Record record) throws IOException {
+            this.writer.add(record);
+        }
+
+        @Override
+        public void add(Iterable<Record> records) throws IOException {
+            this.writer.add(records);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.writer.flush();
+        }
+
+        @Override
+        public void end() throws IOException {
+            try {
+                this.writer.end();
+            } finally {
+                this.target.end();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.writer.close();
+            } finally {
+                this.target.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorInputStream;
+import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+import org.talend.components.common.stream.format.Compression;
+
+/**
+ * Compression codecs for stream content.
+ * Each codec is recognized by the magic bytes that start its content, or by file extension.
+ */
+public enum CompressionCodec {
+    GZIP(".gz", new int[] { 0x1f, 0x8b }) {
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return new GzipCompressorInputStream(input, true);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output, Integer level) throws IOException {
+            final GzipParameters parameters = new GzipParameters();
+            if (level != null) {
+                parameters.setCompressionLevel(level);
+            }
+            return new GzipCompressorOutputStream(output, parameters);
+        }
+    },
+    BZIP2(".bz2", new int[] { 'B', 'Z', 'h' }) {
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return new BZip2CompressorInputStream(input, true);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output, Integer level) throws IOException {
+            if (level == null) {
+                return new BZip2CompressorOutputStream(output);
+            }
+            return new BZip2CompressorOutputStream(output, level);
+        }
+
+        @Override
+        boolean matches(byte[] signature, int length) {
+            // 'BZh' + block size ('1' to '9')
+            return super.matches(signature, length) && length > 3 && signature[3] >= '1' && signature[3] <= '9';
+        }
+    },
+    /**
+     * Zstandard, requires optional zstd-jni library in classpath.
+     */
+    ZSTD(".zst", new int[] { 0x28, 0xb5, 0x2f, 0xfd }) {
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            CompressionCodec.checkZstd();
+            return new ZstdCompressorInputStream(input);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output, Integer level) throws IOException {
+            CompressionCodec.checkZstd();
+            if (level == null) {
+                return new ZstdCompressorOutputStream(output);
+            }
+            return new ZstdCompressorOutputStream(output, level);
+        }
+    },
+    SNAPPY(".sz", new int[] { 0xff, 0x06, 0x00, 0x00, 's', 'N', 'a', 'P', 'p', 'Y' }) {
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return new FramedSnappyCompressorInputStream(input);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output, Integer level) throws IOException {
+            return new FramedSnappyCompressorOutputStream(output);
+        }
+    },
+    LZ4(".lz4", new int[] { 0x04, 0x22, 0x4d, 0x18 }) {
+
+        @Override
+        public InputStream decompress(InputStream input) throws IOException {
+            return new FramedLZ4CompressorInputStream(input, true);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream output, Integer level) throws IOException {
+            return new FramedLZ4CompressorOutputStream(output);
+        }
+    };
+
+    /** max length of magic bytes of all codecs */
+    private static final int SIGNATURE_LENGTH = 10;
+
+    /** file extension */
+    private final String extension;
+
+    /** first bytes of compressed content */
+    private final int[] magic;
+
+    CompressionCodec(String extension, int[] magic) {
+        this.extension = extension;
+        this.magic = magic;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Wrap compressed input.
+     *
+     * @param input : compressed content.
+     * @return decompressed content.
+     */
+    public abstract InputStream decompress(InputStream input) throws IOException;
+
+    /**
+     * Wrap output to compress content; returned stream must be closed to end compressed content.
+     *
+     * @param output : destination of compressed content.
+     * @param level : compression level (block size for bzip2), null for codec default; ignored by snappy & lz4.
+     * @return stream to write content to compress.
+     */
+    public abstract OutputStream compress(OutputStream output, Integer level) throws IOException;
+
+    private static void checkZstd() {
+        if (!ZstdUtils.isZstdCompressionAvailable()) {
+            throw new IllegalStateException("Zstandard compression requires com.github.luben:zstd-jni library, "
+                    + "add it to the dependencies of the component");
+        }
+    }
+
+    boolean matches(byte[] signature, int length) {
+        if (length < this.magic.length) {
+            return false;
+        }
+        for (int i = 0; i < this.magic.length; i++) {
+            if ((signature[i] & 0xff) != this.magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Codec of configuration.
+     *
+     * @param codec : configured codec.
+     * @return codec, null for NONE or AUTO.
+     */
+    public static CompressionCodec of(Compression.Codec codec) {
+        if (codec == null || codec == Compression.Codec.NONE || codec == Compression.Codec.AUTO) {
+            return null;
+        }
+        return CompressionCodec.valueOf(codec.name());
+    }
+
+    /**
+     * Find codec from file name extension.
+     *
+     * @param fileName : file name (or path).
+     * @return codec, null if file name has no compression extension.
+     */
+    public static CompressionCodec fromFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        final String name = fileName.toLowerCase(Locale.ROOT);
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            if (name.endsWith(codec.extension)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decompress input with configured codec; with AUTO, codec is detected from first bytes of input
+     * (content with no known magic bytes is read as is).
+     *
+     * @param input : content.
+     * @param codec : configured codec.
+     * @return decompressed content.
+     */
+    public static InputStream decompress(InputStream input, Compression.Codec codec) throws IOException {
+        if (codec == Compression.Codec.AUTO) {
+            final PushbackInputStream pushback = new PushbackInputStream(input, SIGNATURE_LENGTH);
+            final byte[] signature = new byte[SIGNATURE_LENGTH];
+            int length = 0;
+            int read = 0;
+            while (length < SIGNATURE_LENGTH && read >= 0) {
+                read = pushback.read(signature, length, SIGNATURE_LENGTH - length);
+                if (read > 0) {
+                    length += read;
+                }
+            }
+            pushback.unread(signature, 0, length);
+            final CompressionCodec detected = CompressionCodec.detect(signature, length);
+            return detected == null ? pushback : detected.decompress(pushback);
+        }
+        final CompressionCodec compressionCodec = CompressionCodec.of(codec);
+        return compressionCodec == null ? input : compressionCodec.decompress(input);
+    }
+
+    static CompressionCodec detect(byte[] signature, int length) {
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            if (codec.matches(signature, length)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
@@ -17,10 +17,12 @@ import java.util.ResourceBundle;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
 import org.talend.components.common.stream.api.reader.FakeReaderSupplier;
 import org.talend.components.common.stream.api.writer.FakeWriterSupplier;
+import org.talend.components.common.stream.format.Compression;
 import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.junit5.WithComponents;
 
@@ -35,8 +37,17 @@ class RecordIORepositoryTest {
 
         final RecordReaderSupplier reader = this.repo.findReader(FakeConfig.class);
         Assertions.assertNotNull(reader, "reader not found");
-        Assertions.assertTrue(FakeReaderSupplier.class.isInstance(reader),
+        Assertions.assertTrue(CompressedReaderSupplier.class.isInstance(reader),
                 () -> "wrong reader class " + reader.getClass().getName());
+        final RecordReaderSupplier formatReader = ((CompressedReaderSupplier) reader).getSupplier();
+        Assertions.assertTrue(FakeReaderSupplier.class.isInstance(formatReader),
+                () -> "wrong reader class " + formatReader.getClass().getName());
+
+        final Compression none = new Compression();
+        none.setCodec(Compression.Codec.NONE);
+        final RecordReaderSupplier plainReader = this.repo.findReader(FakeConfig.class, none);
+        Assertions.assertTrue(FakeReaderSupplier.class.isInstance(plainReader),
+                () -> "wrong reader class " + plainReader.getClass().getName());
 
         final RecordWriterSupplier writer = this.repo.findWriter(FakeConfig.class);
         Assertions.assertNotNull(writer, "writer not found");
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.talend.components.common.stream.format.Compression;
+
+class CompressionCodecTest {
+
+    private static final String CONTENT = "id;name\n1;hello\n2;world\n";
+
+    @ParameterizedTest
+    @EnumSource(CompressionCodec.class)
+    void compressAndDetect(CompressionCodec codec) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = codec.compress(compressed, null)) {
+            for (int i = 0; i < 100; i++) {
+                out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        final byte[] content = compressed.toByteArray();
+        Assertions.assertEquals(codec, CompressionCodec.detect(content, content.length));
+        Assertions.assertEquals(100 * CONTENT.length(), this.read(content, Compression.Codec.AUTO).length());
+        Assertions.assertEquals(100 * CONTENT.length(), this.read(content, Compression.Codec.valueOf(codec.name())).length());
+    }
+
+    @Test
+    void plainContent() throws IOException {
+        Assertions.assertEquals(CONTENT, this.read(CONTENT.getBytes(StandardCharsets.UTF_8), Compression.Codec.AUTO));
+        Assertions.assertEquals("a", this.read("a".getBytes(StandardCharsets.UTF_8), Compression.Codec.AUTO));
+        Assertions.assertEquals("", this.read(new byte[0], Compression.Codec.AUTO));
+        Assertions.assertEquals("BZh is not bzip2",
+                this.read("BZh is not bzip2".getBytes(StandardCharsets.UTF_8), Compression.Codec.AUTO));
+    }
+
+    @Test
+    void level() throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = CompressionCodec.GZIP.compress(compressed, 9)) {
+            out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals(CONTENT, this.read(compressed.toByteArray(), Compression.Codec.GZIP));
+    }
+
+    @Test
+    void fromFileName() {
+        Assertions.assertEquals(CompressionCodec.GZIP, CompressionCodec.fromFileName("/data/file.csv.gz"));
+        Assertions.assertEquals(CompressionCodec.ZSTD, CompressionCodec.fromFileName("file.JSON.ZST"));
+        Assertions.assertEquals(CompressionCodec.BZIP2, CompressionCodec.fromFileName("file.bz2"));
+        Assertions.assertNull(CompressionCodec.fromFileName("file.csv"));
+        Assertions.assertNull(CompressionCodec.fromFileName(null));
+    }
+
+    private String read(byte[] content, Compression.Codec codec) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream input = CompressionCodec.decompress(new ByteArrayInputStream(content), codec)) {
+            final byte[] buffer = new byte[1024];
+            int read = input.read(buffer);
+            while (read >= 0) {
+                result.write(buffer, 0, read);
+                read = input.read(buffer);
+            }
+        }
+        return new String(result.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -12,15 +12,15 @@
  */
 package org.talend.components.common.stream.input.avro;
 
-import static java.util.stream.Collectors.toList;
-
 import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.apache.avro.generic.GenericRecord;
 import org.talend.components.common.stream.AvroHelper;
@@ -46,6 +46,12 @@ public class AvroToRecord {
 
     private Schema recordSchema;
 
+    /** conversion plans of avro records, by avro schema */
+    private final Map<org.apache.avro.Schema, RecordPlan> plans = new HashMap<>();
+
+    /** plan of last converted record (consecutive records usually share same schema) */
+    private RecordPlan lastPlan;
+
     public AvroToRecord(RecordBuilderFactory recordBuilderFactory) {
         this.recordBuilderFactory = recordBuilderFactory;
     }
@@ -60,25 +66,21 @@ public class AvroToRecord {
         if (recordSchema == null) {
             recordSchema = inferSchema(record);
         }
-        return avroToRecord(record, record.getSchema().getFields(), recordBuilderFactory.newRecordBuilder(recordSchema));
-    }
-
-    private Record avroToRecord(GenericRecord genericRecord, List<org.apache.avro.Schema.Field> fields,
-            Record.Builder recordBuilder) {
-        if (recordBuilder == null) {
-            recordBuilder = recordBuilderFactory.newRecordBuilder(recordSchema);
+        final org.apache.avro.Schema schema = record.getSchema();
+        if (this.lastPlan == null || this.lastPlan.avroSchema != schema) {
+            this.lastPlan = this.plan(schema);
         }
-        for (org.apache.avro.Schema.Field field : fields) {
-            Object value = genericRecord.get(field.name());
-            Entry entry = inferAvroField(field);
-            if (org.apache.avro.Schema.Type.ARRAY.equals(field.schema().getType()) && value instanceof Collection) {
-                buildArrayField(field, (Collection<?>) value, recordBuilder, entry);
-            } else if (!entry.isNullable() || value != null) {
-                buildField(field, value, recordBuilder, entry);
-            }
+        return this.lastPlan.convert(record, recordBuilderFactory.newRecordBuilder(recordSchema));
+    }
 
-        }
-        return recordBuilder.build();
+    /**
+     * Get conversion plan for avro records of a schema.
+     *
+     * @param schema : avro record schema.
+     * @return plan.
+     */
+    private RecordPlan plan(org.apache.avro.Schema schema) {
+        return this.plans.computeIfAbsent(schema, RecordPlan::new);
     }
 
     private Entry inferAvroField(org.apache.avro.Schema.Field field) {
@@ -140,56 +142,52 @@ public class AvroToRecord {
         return builder.build();
     }
 
-    private void buildArrayField(org.apache.avro.Schema.Field field, Collection<?> value, Record.Builder recordBuilder,
-            Entry entry) {
-        final org.apache.avro.Schema arraySchema = AvroHelper.getUnionSchema(field.schema());
-        final org.apache.avro.Schema arrayInnerType = arraySchema.getElementType();
+    private void buildArrayField(FieldPlan field, Collection<?> value, Record.Builder recordBuilder) {
+        final org.apache.avro.Schema arrayInnerType = field.arrayInnerType;
 
-        final Collection<?> objectArray;
+        final List<Object> objectArray = new ArrayList<>(value.size());
         switch (arrayInnerType.getType()) {
         case RECORD:
-            objectArray = ((Collection<GenericRecord>) value).stream()
-                    .map(record -> avroToRecord(record, arrayInnerType.getFields(), recordBuilderFactory.newRecordBuilder()))
-                    .collect(Collectors.toList());
+            final RecordPlan elementPlan = this.plan(arrayInnerType);
+            for (Object record : value) {
+                objectArray.add(elementPlan.convert((GenericRecord) record, recordBuilderFactory.newRecordBuilder()));
+            }
             break;
         case STRING:
-            objectArray = value.stream().map(Object::toString).collect(Collectors.toList());
+            for (Object element : value) {
+                objectArray.add(element.toString());
+            }
             break;
         case BYTES:
-            objectArray = ((Collection<ByteBuffer>) value).stream().map(ByteBuffer::array).collect(toList());
+            for (Object element : value) {
+                objectArray.add(((ByteBuffer) element).array());
+            }
             break;
         case INT:
-            objectArray = ((Collection<Integer>) value).stream().collect(toList());
-            break;
         case FLOAT:
-            objectArray = ((Collection<Float>) value).stream().collect(toList());
-            break;
         case DOUBLE:
-            objectArray = ((Collection<Double>) value).stream().collect(toList());
-            break;
         case BOOLEAN:
-            objectArray = ((Collection<Boolean>) value).stream().collect(toList());
-            break;
         case LONG:
-            objectArray = ((Collection<Long>) value).stream().collect(toList());
+            objectArray.addAll(value);
             break;
         default:
-            throw new IllegalStateException(String.format(ERROR_UNDEFINED_TYPE, entry.getType().name()));
+            throw new IllegalStateException(String.format(ERROR_UNDEFINED_TYPE, field.entry.getType().name()));
         }
-        recordBuilder.withArray(entry, objectArray);
+        recordBuilder.withArray(field.entry, objectArray);
     }
 
-    protected void buildField(org.apache.avro.Schema.Field field, Object value, Record.Builder recordBuilder, Entry entry) {
-        String logicalType = field.schema().getProp(AVRO_LOGICAL_TYPE);
-        org.apache.avro.Schema.Type fieldType = AvroHelper.getFieldType(field);
-        switch (fieldType) {
+    private void buildField(FieldPlan field, Object value, Record.Builder recordBuilder) {
+        final String logicalType = field.logicalType;
+        final Entry entry = field.entry;
+        switch (field.fieldType) {
         case RECORD:
-            recordBuilder.withRecord(entry, avroToRecord((GenericRecord) value, ((GenericRecord) value).getSchema().getFields(),
-                    recordBuilderFactory.newRecordBuilder()));
+            final GenericRecord record = (GenericRecord) value;
+            recordBuilder.withRecord(entry,
+                    field.subPlan(record.getSchema()).convert(record, recordBuilderFactory.newRecordBuilder()));
             break;
         case ARRAY:
             if (value instanceof Collection<?>) {
-                buildArrayField(field, (Collection<?>) value, recordBuilder, entry);
+                buildArrayField(field, (Collection<?>) value, recordBuilder);
             }
             break;
         case STRING:
@@ -253,4 +251,77 @@ public class AvroToRecord {
             throw new IllegalStateException(String.format(ERROR_UNDEFINED_TYPE, type.name()));
         }
     }
+
+    /**
+     * Conversion of avro records of a given schema;
+     * record entries, field positions and types are computed once by schema.
+     */
+    private final class RecordPlan {
+
+        private final org.apache.avro.Schema avroSchema;
+
+        private final FieldPlan[] fields;
+
+        RecordPlan(org.apache.avro.Schema avroSchema) {
+            this.avroSchema = avroSchema;
+            final List<org.apache.avro.Schema.Field> avroFields = avroSchema.getFields();
+            this.fields = new FieldPlan[avroFields.size()];
+            for (int i = 0; i < this.fields.length; i++) {
+                this.fields[i] = new FieldPlan(avroFields.get(i));
+            }
+        }
+
+        Record convert(GenericRecord genericRecord, Record.Builder recordBuilder) {
+            for (FieldPlan field : this.fields) {
+                final Object value = genericRecord.get(field.pos);
+                if (field.rawArray && value instanceof Collection) {
+                    buildArrayField(field, (Collection<?>) value, recordBuilder);
+                } else if (!field.entry.isNullable() || value != null) {
+                    buildField(field, value, recordBuilder);
+                }
+            }
+            return recordBuilder.build();
+        }
+    }
+
+    /**
+     * Conversion of one avro field to record entry.
+     */
+    private final class FieldPlan {
+
+        private final int pos;
+
+        private final Entry entry;
+
+        private final org.apache.avro.Schema.Type fieldType;
+
+        /** field schema is directly an array (not an union) */
+        private final boolean rawArray;
+
+        private final String logicalType;
+
+        /** element schema for array field */
+        private final org.apache.avro.Schema arrayInnerType;
+
+        /** plan of last sub record (sub records of a field usually share same schema) */
+        private RecordPlan lastSubPlan;
+
+        FieldPlan(org.apache.avro.Schema.Field field) {
+            this.pos = field.pos();
+            this.entry = inferAvroField(field);
+            this.fieldType = AvroHelper.getFieldType(field);
+            this.rawArray = field.schema().getType() == org.apache.avro.Schema.Type.ARRAY;
+            this.logicalType = field.schema().getProp(AVRO_LOGICAL_TYPE);
+            this.arrayInnerType = this.fieldType == org.apache.avro.Schema.Type.ARRAY
+                    ? AvroHelper.getUnionSchema(field.schema()).getElementType()
+                    : null;
+        }
+
+        RecordPlan subPlan(org.apache.avro.Schema schema) {
+            if (this.lastSubPlan == null || this.lastSubPlan.avroSchema != schema) {
+                this.lastSubPlan = plan(schema);
+            }
+            return this.lastSubPlan;
+        }
+    }
 }
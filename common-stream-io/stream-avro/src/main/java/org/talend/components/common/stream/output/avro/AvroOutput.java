@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
@@ -37,11 +38,35 @@ public abstract class AvroOutput implements AutoCloseable {
 
     public static AvroOutput buildOutput(final AvroConfiguration avroConfig, final TargetFinder destinationFinder) {
         if (avroConfig.isAttachSchema()) {
-            return new WithHead(destinationFinder);
+            return new WithHead(destinationFinder, AvroOutput.codec(avroConfig), avroConfig.getSyncInterval());
         } else {
             final Schema schema = avroConfig.getAvroSchema() != null ? new Schema.Parser().parse(avroConfig.getAvroSchema())
                     : null;
-            return new Headless(destinationFinder, schema);
+            return new Headless(destinationFinder, schema, avroConfig.getBufferSize());
+        }
+    }
+
+    /**
+     * Block codec of avro container.
+     *
+     * @param avroConfig : avro configuration.
+     * @return codec.
+     */
+    static CodecFactory codec(final AvroConfiguration avroConfig) {
+        final Integer level = avroConfig.getCompressionLevel();
+        final AvroConfiguration.Codec codec = avroConfig.getCodec() == null ? AvroConfiguration.Codec.NULL
+                : avroConfig.getCodec();
+        switch (codec) {
+        case DEFLATE:
+            return CodecFactory.deflateCodec(level != null ? level : CodecFactory.DEFAULT_DEFLATE_LEVEL);
+        case SNAPPY:
+            return CodecFactory.snappyCodec();
+        case BZIP2:
+            return CodecFactory.bzip2Codec();
+        case XZ:
+            return CodecFactory.xzCodec(level != null ? level : CodecFactory.DEFAULT_XZ_LEVEL);
+        default:
+            return CodecFactory.nullCodec();
         }
     }
 
@@ -74,10 +99,14 @@ public abstract class AvroOutput implements AutoCloseable {
 
         private final DataFileWriter<GenericRecord> dataFileWriter;
 
-        public WithHead(final TargetFinder destination) {
+        public WithHead(final TargetFinder destination, final CodecFactory codec, final Integer syncInterval) {
             super(destination);
             final DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
             this.dataFileWriter = new DataFileWriter<>(datumWriter);
+            this.dataFileWriter.setCodec(codec);
+            if (syncInterval != null) {
+                this.dataFileWriter.setSyncInterval(syncInterval);
+            }
         }
 
         @Override
@@ -105,11 +134,22 @@ public abstract class AvroOutput implements AutoCloseable {
 
         private final GenericDatumWriter<GenericRecord> datumWriter;
 
+        /** schema defined in configuration */
+        private final boolean withSchema;
+
+        private final EncoderFactory encoderFactory;
+
         private BinaryEncoder out;
 
-        public Headless(final TargetFinder destination, Schema schema) {
+        public Headless(final TargetFinder destination, Schema schema, final Integer bufferSize) {
             super(destination);
             datumWriter = new GenericDatumWriter<>(schema);
+            this.withSchema = schema != null;
+            if (bufferSize != null) {
+                this.encoderFactory = new EncoderFactory().configureBufferSize(bufferSize);
+            } else {
+                this.encoderFactory = EncoderFactory.get();
+            }
         }
 
         @Override
@@ -119,7 +159,10 @@ public abstract class AvroOutput implements AutoCloseable {
 
         @Override
         protected void first(GenericRecord firstRecord) throws IOException {
-            this.out = EncoderFactory.get().binaryEncoder(destination(), null);
+            if (!this.withSchema) {
+                this.datumWriter.setSchema(firstRecord.getSchema());
+            }
+            this.out = this.encoderFactory.binaryEncoder(destination(), null);
         }
 
         @Override
@@ -31,7 +31,9 @@ public class AvroWriterSupplier implements RecordWriterSupplier {
 
         AvroConfiguration avroConfig = (AvroConfiguration) config;
 
-        final RecordConverter<GenericRecord, Schema> converter = new RecordToAvro("records");
+        final Schema avroSchema = avroConfig.getAvroSchema() != null ? new Schema.Parser().parse(avroConfig.getAvroSchema())
+                : null;
+        final RecordConverter<GenericRecord, Schema> converter = new RecordToAvro("records", avroSchema);
         final AvroOutput output = AvroOutput.buildOutput(avroConfig, target);
         return new AvroRecordWriter(converter, output);
     }
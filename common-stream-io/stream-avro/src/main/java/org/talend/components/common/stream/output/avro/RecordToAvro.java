@@ -17,11 +17,9 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.OptionalDouble;
-import java.util.OptionalInt;
-import java.util.OptionalLong;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.avro.LogicalTypes;
@@ -51,9 +49,33 @@ public class RecordToAvro implements RecordConverter<GenericRecord, org.apache.a
 
     private final String currentRecordNamespace;
 
+    /** conversion plans of records, by record schema */
+    private final Map<Schema, RecordPlan> plans = new HashMap<>();
+
+    /** conversion plans of sub records, by sub record schema */
+    private final Map<Schema, RecordPlan> subPlans = new HashMap<>();
+
+    /** plan of last converted record (consecutive records usually share same schema) */
+    private RecordPlan lastPlan;
+
+    /** avro schema given by user (sub records are converted with sub schemas of it) */
+    private final boolean fixedSchema;
+
     public RecordToAvro(String currentRecordNamespace) {
+        this(currentRecordNamespace, null);
+    }
+
+    /**
+     * Converter to a given avro schema (not inferred from records).
+     *
+     * @param currentRecordNamespace : namespace of inferred avro schemas.
+     * @param avroSchema : avro schema of converted records, null to infer it from first record.
+     */
+    public RecordToAvro(String currentRecordNamespace, org.apache.avro.Schema avroSchema) {
         assert currentRecordNamespace != null : "currentRecordNamespace can't be null";
         this.currentRecordNamespace = currentRecordNamespace;
+        this.avroSchema = avroSchema;
+        this.fixedSchema = avroSchema != null;
     }
 
     @Override
@@ -61,96 +83,153 @@ public class RecordToAvro implements RecordConverter<GenericRecord, org.apache.a
         if (avroSchema == null) {
             avroSchema = fromRecordSchema(record.getSchema());
         }
-        return recordToAvro(record, new GenericData.Record(avroSchema));
+        final Schema schema = record.getSchema();
+        if (this.lastPlan == null || this.lastPlan.recordSchema != schema) {
+            this.lastPlan = this.plans.computeIfAbsent(schema, (Schema s) -> new RecordPlan(s, this.avroSchema));
+        }
+        return this.lastPlan.convert(record);
+    }
+
+    /**
+     * Get conversion plan for a sub record.
+     *
+     * @param schema : sub record schema.
+     * @param avroSubSchema : avro schema of sub record if fixed, null to convert it with its own avro schema.
+     * @return plan.
+     */
+    private RecordPlan subPlan(Schema schema, org.apache.avro.Schema avroSubSchema) {
+        if (avroSubSchema != null) {
+            return new RecordPlan(schema, avroSubSchema);
+        }
+        return this.subPlans.computeIfAbsent(schema, (Schema s) -> new RecordPlan(s, this.fromRecordSchema(s)));
     }
 
-    private GenericRecord recordToAvro(Record fromRecord, GenericRecord toRecord) {
-        if (fromRecord == null) {
+    /**
+     * Conversion of records of a given schema to avro record;
+     * avro fields positions, types and sub record plans are computed once by schema.
+     */
+    private final class RecordPlan {
+
+        private final Schema recordSchema;
+
+        private final org.apache.avro.Schema avroSchema;
+
+        private final FieldPlan[] fields;
+
+        RecordPlan(Schema recordSchema, org.apache.avro.Schema avroSchema) {
+            this.recordSchema = recordSchema;
+            this.avroSchema = avroSchema;
+            final List<Field> avroFields = avroSchema.getFields();
+            this.fields = new FieldPlan[avroFields.size()];
+            for (int i = 0; i < this.fields.length; i++) {
+                final Field field = avroFields.get(i);
+                this.fields[i] = new FieldPlan(field, getSchemaForEntry(field.name(), recordSchema));
+            }
+        }
+
+        GenericRecord convert(Record fromRecord) {
+            final GenericData.Record toRecord = new GenericData.Record(this.avroSchema);
+            if (fromRecord != null) {
+                for (FieldPlan field : this.fields) {
+                    toRecord.put(field.pos, field.value(fromRecord));
+                }
+            }
             return toRecord;
         }
-        for (org.apache.avro.Schema.Field f : toRecord.getSchema().getFields()) {
-            final String name = f.name();
-            final org.apache.avro.Schema.Type fieldType = AvroHelper.getFieldType(f);
+    }
+
+    /**
+     * Conversion of one record value to avro field value.
+     */
+    private final class FieldPlan {
+
+        private final int pos;
+
+        private final String name;
+
+        private final org.apache.avro.Schema.Type fieldType;
+
+        /** java class of array elements */
+        private final Class<?> elementClass;
+
+        /** avro schema of sub records (or of array elements) if schema is fixed */
+        private final org.apache.avro.Schema avroSubSchema;
+
+        /** plan of last sub record (sub records of a field usually share same schema) */
+        private RecordPlan lastSubPlan;
+
+        FieldPlan(Field field, Entry entry) {
+            this.pos = field.pos();
+            this.name = field.name();
+            this.fieldType = AvroHelper.getFieldType(field);
+            this.elementClass = entry != null && entry.getElementSchema() != null
+                    ? getJavaClassForType(entry.getElementSchema().getType())
+                    : Object.class;
+            this.avroSubSchema = fixedSchema ? RecordToAvro.subSchema(field, this.fieldType) : null;
+        }
+
+        Object value(Record fromRecord) {
             switch (fieldType) {
             case RECORD:
-                final Record record = fromRecord.getRecord(name);
-                final Schema schema = fromRecord.getSchema().getEntries().stream().filter(e -> name.equals(e.getName()))
-                        .findFirst().map(Entry::getElementSchema).orElse(null);
-                if (record != null) {
-                    final org.apache.avro.Schema subSchema = fromRecordSchema(record.getSchema());
-                    final GenericRecord subrecord = recordToAvro(record, new GenericData.Record(subSchema));
-                    toRecord.put(name, subrecord);
-                }
-                break;
+                final Record record = fromRecord.get(Record.class, name);
+                return record == null ? null : this.subPlan(record.getSchema()).convert(record);
             case ARRAY:
-                final Entry e = getSchemaForEntry(name, fromRecord.getSchema());
-                final Collection<Object> recordArray = fromRecord.getOptionalArray(Object.class, name).orElse(new ArrayList<>());
-                if (!recordArray.isEmpty()) {
-                    final Object firstArrayValue = recordArray.iterator().next();
-                    if (firstArrayValue instanceof Record) {
-                        final org.apache.avro.Schema subSchema = fromRecordSchema(((Record) firstArrayValue).getSchema());
-                        final List<GenericRecord> records = recordArray.stream()
-                                .map(o -> recordToAvro((Record) o, new GenericData.Record(subSchema)))
-                                .collect(Collectors.toList());
-                        toRecord.put(name, records);
-                    } else {
-                        toRecord.put(name, fromRecord.getArray(getJavaClassForType(e.getElementSchema().getType()), name));
-                    }
-                }
-                break;
+                return this.arrayValue(fromRecord);
             case STRING:
-                toRecord.put(name, fromRecord.getOptionalString(name).orElse(null));
-                break;
+                return fromRecord.get(String.class, name);
             case BYTES:
-                final Optional<byte[]> optionalBytesValue = fromRecord.getOptionalBytes(name);
-                if (optionalBytesValue.isPresent()) {
-                    ByteBuffer byteBuffer = ByteBuffer.wrap(fromRecord.getBytes(name));
-                    toRecord.put(name, byteBuffer);
-                } else {
-                    toRecord.put(name, null);
-                }
-                break;
+                final byte[] bytes = fromRecord.get(byte[].class, name);
+                return bytes == null ? null : ByteBuffer.wrap(bytes);
             case INT:
-                OptionalInt optionalIntValue = fromRecord.getOptionalInt(name);
-                if (optionalIntValue.isPresent()) {
-                    toRecord.put(name, optionalIntValue.getAsInt());
-                } else {
-                    toRecord.put(name, null);
-                }
-                break;
+                return fromRecord.get(Integer.class, name);
             case LONG:
-                OptionalLong optionalLongValue = fromRecord.getOptionalLong(name);
-                if (optionalLongValue.isPresent()) {
-                    toRecord.put(name, optionalLongValue.getAsLong());
-                } else {
-                    toRecord.put(name, null);
-                }
-                break;
+                return fromRecord.get(Long.class, name);
             case FLOAT:
-                OptionalDouble optionalFloat = fromRecord.getOptionalFloat(name);
-                if (optionalFloat.isPresent()) {
-                    toRecord.put(name, Double.valueOf(optionalFloat.getAsDouble()).floatValue());
-                } else {
-                    toRecord.put(name, null);
-                }
-                break;
+                return fromRecord.get(Float.class, name);
             case DOUBLE:
-                OptionalDouble optionalDouble = fromRecord.getOptionalDouble(name);
-                if (optionalDouble.isPresent()) {
-                    toRecord.put(name, optionalDouble.getAsDouble());
-                } else {
-                    toRecord.put(name, null);
-                }
-                break;
+                return fromRecord.get(Double.class, name);
             case BOOLEAN:
-                toRecord.put(name, fromRecord.getOptionalBoolean(name).orElse(null));
-                break;
+                return fromRecord.get(Boolean.class, name);
             default:
                 throw new IllegalStateException(String.format(ERROR_UNDEFINED_TYPE, fieldType.name()));
             }
         }
 
-        return toRecord;
+        private Object arrayValue(Record fromRecord) {
+            final Collection<?> values = fromRecord.get(Collection.class, name);
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            final Object firstArrayValue = values.iterator().next();
+            if (firstArrayValue instanceof Record) {
+                final RecordPlan elementPlan = this.subPlan(((Record) firstArrayValue).getSchema());
+                final List<GenericRecord> records = new ArrayList<>(values.size());
+                for (Object value : values) {
+                    records.add(elementPlan.convert((Record) value));
+                }
+                return records;
+            }
+            return fromRecord.getArray(this.elementClass, name);
+        }
+
+        private RecordPlan subPlan(Schema schema) {
+            if (this.lastSubPlan == null || this.lastSubPlan.recordSchema != schema) {
+                this.lastSubPlan = RecordToAvro.this.subPlan(schema, this.avroSubSchema);
+            }
+            return this.lastSubPlan;
+        }
+    }
+
+    private static org.apache.avro.Schema subSchema(Field field, org.apache.avro.Schema.Type fieldType) {
+        final org.apache.avro.Schema fieldSchema = AvroHelper.getUnionSchema(field.schema());
+        if (fieldType == org.apache.avro.Schema.Type.RECORD) {
+            return fieldSchema;
+        }
+        if (fieldType == org.apache.avro.Schema.Type.ARRAY) {
+            final org.apache.avro.Schema elementSchema = AvroHelper.getUnionSchema(fieldSchema.getElementType());
+            return elementSchema.getType() == org.apache.avro.Schema.Type.RECORD ? elementSchema : null;
+        }
+        return null;
     }
 
     /**
@@ -15,6 +15,7 @@ package org.talend.components.common.stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
 import org.talend.components.common.stream.format.avro.AvroConfiguration;
@@ -33,7 +34,8 @@ class AvroFormatTest {
     void format() {
         final RecordReaderSupplier reader = repo.findReader(AvroConfiguration.class);
         Assertions.assertNotNull(reader);
-        Assertions.assertTrue(AvroReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(CompressedReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(AvroReaderSupplier.class.isInstance(((CompressedReaderSupplier) reader).getSupplier()));
 
         final RecordWriterSupplier writer = repo.findWriter(AvroConfiguration.class);
         Assertions.assertNotNull(writer);
@@ -12,6 +12,7 @@
  */
 package org.talend.components.common.stream.output.avro;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -21,6 +22,9 @@ import java.util.Arrays;
 
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.output.RecordWriter;
@@ -91,6 +95,34 @@ class AvroRecordWriterTest {
         }
     }
 
+    @Test
+    void addWithCodec() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final AvroConfiguration cfg = new AvroConfiguration();
+        cfg.setCodec(AvroConfiguration.Codec.DEFLATE);
+        cfg.setCompressionLevel(9);
+        cfg.setSyncInterval(1024);
+        final RecordWriterSupplier writerSupplier = new AvroWriterSupplier();
+
+        try (RecordWriter writer = writerSupplier.getWriter(() -> out, cfg)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.add(factory.newRecordBuilder().withInt("ID", i).withString("content", "Hello " + (i % 3)).build());
+            }
+        }
+
+        try (DataFileStream<GenericRecord> reader = new DataFileStream<>(new ByteArrayInputStream(out.toByteArray()),
+                new GenericDatumReader<>())) {
+            Assertions.assertEquals("deflate", reader.getMetaString("avro.codec"));
+            int count = 0;
+            while (reader.hasNext()) {
+                final GenericRecord record = reader.next();
+                Assertions.assertEquals(count, record.get("ID"));
+                count++;
+            }
+            Assertions.assertEquals(1000, count);
+        }
+    }
+
     private void prepareTestRecords() {
         // some demo records
         versatileRecord = factory.newRecordBuilder() //
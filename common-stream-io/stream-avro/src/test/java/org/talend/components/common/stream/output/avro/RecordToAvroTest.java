@@ -101,6 +101,47 @@ class RecordToAvroTest {
 
     }
 
+    @Test
+    void withNestedRecordsReused() {
+        final RecordToAvro converter = new RecordToAvro("test");
+        final AvroToRecord toRecord = new AvroToRecord(this.factory);
+
+        final Entry entryName = factory.newEntryBuilder().withType(Type.STRING).withNullable(true).withName("name").build();
+        final Entry entryValue = factory.newEntryBuilder().withType(Type.INT).withNullable(true).withName("value").build();
+        final Schema leafSchema = factory.newSchemaBuilder(Type.RECORD).withEntry(entryName).withEntry(entryValue).build();
+        final Entry entryLeaf = factory.newEntryBuilder().withType(Type.RECORD).withNullable(true).withName("leaf")
+                .withElementSchema(leafSchema).build();
+        final Schema middleSchema = factory.newSchemaBuilder(Type.RECORD).withEntry(entryLeaf).withEntry(entryValue).build();
+        final Entry entryMiddle = factory.newEntryBuilder().withType(Type.RECORD).withNullable(true).withName("middle")
+                .withElementSchema(middleSchema).build();
+        final Entry entryLeaves = factory.newEntryBuilder().withType(Type.ARRAY).withNullable(true).withName("leaves")
+                .withElementSchema(leafSchema).build();
+        final Schema recordSchema = factory.newSchemaBuilder(Type.RECORD).withEntry(entryMiddle).withEntry(entryLeaves)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            final Record leaf = factory.newRecordBuilder(leafSchema).withString(entryName, "leaf" + i).withInt(entryValue, i)
+                    .build();
+            final Record middle = factory.newRecordBuilder(middleSchema).withRecord(entryLeaf, leaf).withInt(entryValue, i * 2)
+                    .build();
+            final Record record = factory.newRecordBuilder(recordSchema).withRecord(entryMiddle, middle)
+                    .withArray(entryLeaves, Arrays.asList(leaf, leaf)).build();
+
+            final GenericRecord avro = converter.fromRecord(record);
+            final GenericRecord avroMiddle = (GenericRecord) avro.get("middle");
+            assertEquals(i * 2, avroMiddle.get("value"));
+            assertEquals("leaf" + i, ((GenericRecord) avroMiddle.get("leaf")).get("name"));
+            final Iterator<?> leaves = ((Iterable<?>) avro.get("leaves")).iterator();
+            assertEquals(i, ((GenericRecord) leaves.next()).get("value"));
+            assertEquals(i, ((GenericRecord) leaves.next()).get("value"));
+
+            final Record back = toRecord.toRecord(avro);
+            assertEquals(i * 2, back.getRecord("middle").getInt("value"));
+            assertEquals("leaf" + i, back.getRecord("middle").getRecord("leaf").getString("name"));
+            assertEquals(2, back.getArray(Record.class, "leaves").size());
+        }
+    }
+
     @Test
     void withArrayOfRecord() {
         final RecordToAvro converter = new RecordToAvro("test");
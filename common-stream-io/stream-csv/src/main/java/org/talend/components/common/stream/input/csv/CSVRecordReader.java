@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.List;
+
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.input.line.LineToRecord;
+import org.talend.components.common.stream.input.line.TypedRecordReader;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Read csv records with a single pass tokenizer (quoted values can contain line separator).
+ */
+public class CSVRecordReader implements TypedRecordReader {
+
+    private final CSVConfiguration configuration;
+
+    /** translate fields to record */
+    private final LineToRecord toRecord;
+
+    /** current source */
+    private Reader source = null;
+
+    public CSVRecordReader(RecordBuilderFactory factory, CSVConfiguration configuration) {
+        this.configuration = configuration;
+        this.toRecord = new LineToRecord(factory, configuration.getLineConfiguration().calcTypeInference());
+    }
+
+    @Override
+    public Iterator<Record> read(InputStream reader) {
+        this.close();
+        final LineConfiguration lineConfig = this.configuration.getLineConfiguration();
+        this.source = new InputStreamReader(reader, Charset.forName(lineConfig.getEncoding().getEncoding()));
+        final CSVTokenizer tokenizer = new CSVTokenizer(this.source, this.configuration.findFieldSeparator(),
+                lineConfig.getLineSeparator(), this.configuration.getQuotedValue(), this.configuration.getEscape());
+
+        final int headerLines = lineConfig.calcHeader();
+        for (int i = 1; i < headerLines && tokenizer.hasNext(); i++) {
+            tokenizer.next();
+        }
+        if (headerLines > 0 && tokenizer.hasNext()) {
+            this.toRecord.withHeaders(tokenizer.next());
+        }
+        return this.toRecord.buildAll(tokenizer);
+    }
+
+    @Override
+    public void withTypes(List<Schema.Type> types) {
+        this.toRecord.withTypes(types);
+    }
+
+    @Override
+    public void close() {
+        if (this.source != null) {
+            try {
+                this.source.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Error while closing csv source", ex);
+            }
+            this.source = null;
+        }
+    }
+}
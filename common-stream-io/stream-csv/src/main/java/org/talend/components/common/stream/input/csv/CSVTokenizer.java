@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Single pass csv tokenizer.
+ * Read chars directly from reader and split them in records and fields, quoted fields can contain
+ * field or record separator.
+ * Returned list of fields is reused from one record to next one.
+ */
+public class CSVTokenizer implements Iterator<List<String>> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int NONE = -1;
+
+    /** source */
+    private final Reader reader;
+
+    /** field separator */
+    private final char fieldSeparator;
+
+    /** record separator */
+    private final char[] recordSeparator;
+
+    /** quote char (NONE if not set) */
+    private final int quote;
+
+    /** escape char (NONE if not set) */
+    private final int escape;
+
+    private final char[] buffer;
+
+    /** current position in buffer */
+    private int position = 0;
+
+    /** end of read data in buffer */
+    private int limit = 0;
+
+    private boolean endOfStream = false;
+
+    /** current field value, reused for all fields */
+    private final StringBuilder field = new StringBuilder();
+
+    /** current record fields, reused for all records */
+    private final List<String> fields = new ArrayList<>();
+
+    /** true if fields contains a record not yet consumed */
+    private boolean ready = false;
+
+    public CSVTokenizer(Reader reader, char fieldSeparator, String recordSeparator, Character quote, Character escape) {
+        this(reader, fieldSeparator, recordSeparator, quote, escape, BUFFER_SIZE);
+    }
+
+    CSVTokenizer(Reader reader, char fieldSeparator, String recordSeparator, Character quote, Character escape,
+            int bufferSize) {
+        if (recordSeparator == null || recordSeparator.isEmpty()) {
+            throw new IllegalArgumentException("csv record separator can't be empty");
+        }
+        this.reader = reader;
+        this.fieldSeparator = fieldSeparator;
+        this.recordSeparator = recordSeparator.toCharArray();
+        this.quote = quote == null ? NONE : quote.charValue();
+        this.escape = escape == null ? NONE : escape.charValue();
+        this.buffer = new char[Math.max(bufferSize, this.recordSeparator.length + 1)];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.ready) {
+            this.ready = this.readRecord();
+        }
+        return this.ready;
+    }
+
+    @Override
+    public List<String> next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("no more csv record");
+        }
+        this.ready = false;
+        return this.fields;
+    }
+
+    /**
+     * Read next not empty record in fields list.
+     *
+     * @return false if end of stream is reached.
+     */
+    private boolean readRecord() {
+        this.fields.clear();
+        this.field.setLength(0);
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (true) {
+            if (!this.ensure(1)) {
+                if (inQuotes) {
+                    throw new UncheckedIOException(new IOException("EOF reached before quoted csv field ends"));
+                }
+                if (this.fields.isEmpty() && this.field.length() == 0 && !quoted) {
+                    return false;
+                }
+                this.endField();
+                return true;
+            }
+            final char current = this.buffer[this.position];
+            if (inQuotes) {
+                this.position++;
+                if (current == this.escape && this.escape != this.quote) {
+                    this.readEscaped();
+                } else if (current == this.quote) {
+                    if (this.ensure(1) && this.buffer[this.position] == this.quote) {
+                        // doubled quote.
+                        this.field.append(current);
+                        this.position++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    this.field.append(current);
+                }
+            } else if (this.isRecordSeparator()) {
+                if (this.fields.isEmpty() && this.field.length() == 0 && !quoted) {
+                    // empty line.
+                    continue;
+                }
+                this.endField();
+                return true;
+            } else if (current == this.fieldSeparator) {
+                this.position++;
+                this.endField();
+                quoted = false;
+            } else if (current == this.quote && this.field.length() == 0 && !quoted) {
+                this.position++;
+                inQuotes = true;
+                quoted = true;
+            } else if (current == this.escape) {
+                this.position++;
+                this.readEscaped();
+            } else {
+                this.position++;
+                this.field.append(current);
+            }
+        }
+    }
+
+    private void endField() {
+        this.fields.add(this.field.toString());
+        this.field.setLength(0);
+    }
+
+    /**
+     * Check if record separator is at current position, and skip it if so.
+     * As line splitting used to be followed by a csv parser that removes trailing '\r',
+     * "\r\n" is accepted when separator is "\n".
+     *
+     * @return true if current position is a record separator.
+     */
+    private boolean isRecordSeparator() {
+        if (this.recordSeparator.length == 1 && this.recordSeparator[0] == '\n' && this.buffer[this.position] == '\r'
+                && this.ensure(2) && this.buffer[this.position + 1] == '\n') {
+            this.position += 2;
+            return true;
+        }
+        if (this.buffer[this.position] != this.recordSeparator[0] || !this.ensure(this.recordSeparator.length)) {
+            return false;
+        }
+        for (int i = 1; i < this.recordSeparator.length; i++) {
+            if (this.buffer[this.position + i] != this.recordSeparator[i]) {
+                return false;
+            }
+        }
+        this.position += this.recordSeparator.length;
+        return true;
+    }
+
+    /**
+     * Append char that follows escape char (same rules as commons-csv).
+     */
+    private void readEscaped() {
+        if (!this.ensure(1)) {
+            this.field.append((char) this.escape);
+            return;
+        }
+        final char escaped = this.buffer[this.position++];
+        switch (escaped) {
+        case 'r':
+            this.field.append('\r');
+            break;
+        case 'n':
+            this.field.append('\n');
+            break;
+        case 't':
+            this.field.append('\t');
+            break;
+        case 'b':
+            this.field.append('\b');
+            break;
+        case 'f':
+            this.field.append('\f');
+            break;
+        default:
+            if (escaped == this.fieldSeparator || escaped == this.quote || escaped == this.escape) {
+                this.field.append(escaped);
+            } else {
+                this.field.append((char) this.escape).append(escaped);
+            }
+        }
+    }
+
+    /**
+     * Ensure buffer contains at least 'size' chars from current position.
+     *
+     * @param size : needed chars.
+     * @return false if stream ends before.
+     */
+    private boolean ensure(int size) {
+        if (this.limit - this.position >= size) {
+            return true;
+        }
+        if (this.endOfStream) {
+            return false;
+        }
+        final int remaining = this.limit - this.position;
+        System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+        this.position = 0;
+        this.limit = remaining;
+        try {
+            while (this.limit < size) {
+                final int read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+                if (read < 0) {
+                    this.endOfStream = true;
+                    return false;
+                }
+                this.limit += read;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error while reading csv", ex);
+        }
+        return true;
+    }
+}
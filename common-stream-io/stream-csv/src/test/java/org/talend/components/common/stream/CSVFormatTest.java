@@ -12,16 +12,29 @@
  */
 package org.talend.components.common.stream;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
+import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
 import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.csv.FieldSeparator;
 import org.talend.components.common.stream.input.csv.CSVReaderSupplier;
 import org.talend.components.common.stream.output.csv.CSVWriterSupplier;
+import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.junit5.WithComponents;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 
 @WithComponents("org.talend.components.common.stream.api")
 class CSVFormatTest {
@@ -33,10 +46,36 @@ class CSVFormatTest {
     void format() {
         final RecordReaderSupplier reader = repo.findReader(CSVConfiguration.class);
         Assertions.assertNotNull(reader);
-        Assertions.assertTrue(CSVReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(CompressedReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(CSVReaderSupplier.class.isInstance(((CompressedReaderSupplier) reader).getSupplier()));
 
         final RecordWriterSupplier writer = repo.findWriter(CSVConfiguration.class);
         Assertions.assertNotNull(writer);
         Assertions.assertTrue(CSVWriterSupplier.class.isInstance(writer));
     }
+
+    @Test
+    void compressedContent() throws IOException {
+        final CSVConfiguration configuration = new CSVConfiguration();
+        configuration.getFieldSeparator().setFieldSeparatorType(FieldSeparator.Type.COMMA);
+        configuration.setQuotedValue('"');
+        configuration.setEscape('\\');
+        final byte[] content = "a,b\nc,d\ne,f".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(content);
+        }
+
+        final RecordReaderSupplier supplier = repo.findReader(CSVConfiguration.class);
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        Assertions.assertEquals(3, this.count(supplier.getReader(factory, configuration), gzip.toByteArray()));
+        Assertions.assertEquals(3, this.count(supplier.getReader(factory, configuration), content));
+    }
+
+    private int count(RecordReader reader, byte[] content) {
+        final AtomicInteger count = new AtomicInteger(0);
+        reader.read(new ByteArrayInputStream(content)).forEachRemaining((Record record) -> count.incrementAndGet());
+        reader.close();
+        return count.get();
+    }
 }
\ No newline at end of file
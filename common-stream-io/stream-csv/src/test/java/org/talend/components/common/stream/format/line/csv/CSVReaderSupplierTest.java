@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.OptionalLine;
 import org.talend.components.common.stream.format.csv.CSVConfiguration;
 import org.talend.components.common.stream.format.csv.FieldSeparator;
 import org.talend.components.common.stream.input.csv.CSVReaderSupplier;
@@ -53,4 +54,28 @@ class CSVReaderSupplierTest {
         Assertions.assertFalse(columns.hasNext());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCSVMultiLineWithHeader() throws IOException {
+        final CSVConfiguration configuration = new CSVConfiguration();
+        configuration.setFieldSeparator(new FieldSeparator());
+        configuration.getFieldSeparator().setFieldSeparatorType(FieldSeparator.Type.SEMICOLON);
+        configuration.setLineConfiguration(new LineConfiguration());
+        configuration.getLineConfiguration().setHeader(new OptionalLine());
+        configuration.getLineConfiguration().getHeader().setActive(true);
+        configuration.getLineConfiguration().getHeader().setSize(1);
+
+        final RecordReader reader = new CSVReaderSupplier().getReader(new RecordBuilderFactoryImpl("test"), configuration);
+
+        final String content = "name;comment\nJohn;\"first line\nsecond line\"\nJane;\"a;b\"\n";
+        final Iterator<Record> records = reader.read(new ByteArrayInputStream(content.getBytes()));
+        Assertions.assertTrue(records.hasNext());
+        Record rec = records.next();
+        Assertions.assertEquals("John", rec.getString("name"));
+        Assertions.assertEquals("first line\nsecond line", rec.getString("comment"));
+        rec = records.next();
+        Assertions.assertEquals("Jane", rec.getString("name"));
+        Assertions.assertEquals("a;b", rec.getString("comment"));
+        Assertions.assertFalse(records.hasNext());
+    }
+
+}
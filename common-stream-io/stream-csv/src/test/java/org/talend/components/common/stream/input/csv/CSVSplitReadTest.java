@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.collections.CloseableIterator;
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.csv.FieldSeparator;
+import org.talend.components.common.stream.input.line.split.ByteRange;
+import org.talend.components.common.stream.input.line.split.SplitRecordReader;
+import org.talend.components.common.stream.input.line.split.SplittableSource;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class CSVSplitReadTest {
+
+    @Test
+    void readQuotedRanges() throws Exception {
+        final CSVConfiguration configuration = new CSVConfiguration();
+        configuration.setFieldSeparator(new FieldSeparator());
+        configuration.getFieldSeparator().setFieldSeparatorType(FieldSeparator.Type.SEMICOLON);
+        configuration.setLineConfiguration(new LineConfiguration());
+
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append(';');
+            switch (i % 4) {
+            case 0:
+                content.append("\"multi\nline;\"\"q\"\"\nvalue\"");
+                break;
+            case 1:
+                content.append("\"a;b\"");
+                break;
+            case 2:
+                content.append("\"\"\"quoted\"\"\"");
+                break;
+            default:
+                content.append("es\\;caped");
+            }
+            content.append(";end\n");
+        }
+        final byte[] data = content.toString().getBytes(StandardCharsets.UTF_8);
+        final SplittableSource source = new SplittableSource() {
+
+            @Override
+            public long length() {
+                return data.length;
+            }
+
+            @Override
+            public InputStream open(long offset) {
+                return new ByteArrayInputStream(data, (int) offset, data.length - (int) offset);
+            }
+        };
+
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        final CSVReaderSupplier supplier = new CSVReaderSupplier();
+        final List<String> expected = new ArrayList<>();
+        try (RecordReader reader = supplier.getReader(factory, configuration)) {
+            final Iterator<Record> records = reader.read(new ByteArrayInputStream(data));
+            records.forEachRemaining((Record rec) -> expected.add(rec.getString("field_1") + rec.getString("field_2")));
+        }
+        Assertions.assertEquals(1000, expected.size());
+
+        final SplitRecordReader splitReader = SplitRecordReader.of(supplier, factory, configuration);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int count : new int[] { 2, 9, 100, 1000 }) {
+                final List<String> values = new ArrayList<>();
+                final List<ByteRange> ranges = ByteRange.split(data.length, count);
+                try (CloseableIterator<Record> records = splitReader.read(source, ranges, executor, true)) {
+                    records.forEachRemaining((Record rec) -> values.add(rec.getString("field_1") + rec.getString("field_2")));
+                }
+                Assertions.assertEquals(expected, values, "split in " + count);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CSVTokenizerTest {
+
+    @Test
+    void multiLineQuotedFields() {
+        final List<List<String>> records = this.tokenize("a;\"b\nc\";d\n\"e;\"\"f\"\"\";g;\n", "\n", 4);
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals(Arrays.asList("a", "b\nc", "d"), records.get(0));
+        Assertions.assertEquals(Arrays.asList("e;\"f\"", "g", ""), records.get(1));
+    }
+
+    @Test
+    void multiCharSeparator() {
+        final List<List<String>> records = this.tokenize("a;b\r\n\r\nc;\"d\r\n\"\r\ne\\;f;C:\\dir", "\r\n", 3);
+        Assertions.assertEquals(3, records.size());
+        Assertions.assertEquals(Arrays.asList("a", "b"), records.get(0));
+        Assertions.assertEquals(Arrays.asList("c", "d\r\n"), records.get(1));
+        Assertions.assertEquals(Arrays.asList("e;f", "C:\\dir"), records.get(2));
+    }
+
+    @Test
+    void crlfWithLineFeedSeparator() {
+        final List<List<String>> records = this.tokenize("a;b\r\nc;d\r\n", "\n", 1024);
+        Assertions.assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d")), records);
+    }
+
+    @Test
+    void unclosedQuote() {
+        Assertions.assertThrows(RuntimeException.class, () -> this.tokenize("a;\"b\n", "\n", 1024));
+    }
+
+    private List<List<String>> tokenize(String content, String recordSeparator, int bufferSize) {
+        final CSVTokenizer tokenizer = new CSVTokenizer(new StringReader(content), ';', recordSeparator, '"', '\\',
+                bufferSize);
+        final List<List<String>> records = new ArrayList<>();
+        while (tokenizer.hasNext()) {
+            records.add(new ArrayList<>(tokenizer.next()));
+        }
+        return records;
+    }
+}
@@ -17,21 +17,72 @@ import java.io.InputStream;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.talend.components.common.stream.format.excel.ExcelConfiguration.ExcelFormat;
 
+import com.monitorjbl.xlsx.StreamingReader;
+
 public class ExcelUtils {
 
+    /** number of rows kept in memory by excel 2007 streaming reader */
+    private static final int STREAMING_ROW_CACHE_SIZE = 4096;
+
+    /** buffer size used by excel 2007 streaming reader */
+    private static final int STREAMING_BUFFER_SIZE = 8192;
+
+    /** number of rows kept in memory by excel 2007 streaming writer, older rows are flushed to temp file */
+    private static final int STREAMING_WINDOW_SIZE = 1000;
+
+    /**
+     * Create workbook for writing.
+     * Excel 2007 workbook is streamed (sliding window of rows, older rows are flushed to a compressed temp file),
+     * so rows can only be appended; caller must dispose it after write.
+     *
+     * @param format : excel format.
+     * @return workbook.
+     */
     public static Workbook createWorkBook(ExcelFormat format) {
-        return format == ExcelFormat.EXCEL97 ? new HSSFWorkbook() : new XSSFWorkbook();
+        if (format == ExcelFormat.EXCEL97) {
+            return new HSSFWorkbook();
+        }
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    /**
+     * Release resources of workbook (temp files of streamed workbook).
+     *
+     * @param workbook : workbook to release.
+     */
+    public static void disposeWorkBook(Workbook workbook) throws IOException {
+        try {
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+        } finally {
+            workbook.close();
+        }
     }
 
+    /**
+     * Open workbook for reading.
+     * Excel 2007 workbook is streamed (rows are parsed while iterating sheet, with shared strings lookup),
+     * so it can be read only once, sheet by sheet, with rows iterator.
+     *
+     * @param format : excel format.
+     * @param input : excel content.
+     * @return workbook.
+     */
     public static Workbook readWorkBook(ExcelFormat format, InputStream input) throws IOException {
         if (format == ExcelFormat.EXCEL97) {
             return new HSSFWorkbook(input);
         }
         if (format == ExcelFormat.EXCEL2007) {
-            return new XSSFWorkbook(input);
+            return StreamingReader.builder() //
+                    .rowCacheSize(STREAMING_ROW_CACHE_SIZE) //
+                    .bufferSize(STREAMING_BUFFER_SIZE) //
+                    .open(input);
         }
         return new HSSFWorkbook(input);
     }
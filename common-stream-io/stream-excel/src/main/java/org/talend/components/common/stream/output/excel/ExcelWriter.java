@@ -39,6 +39,9 @@ public class ExcelWriter implements RecordWriter {
 
     private boolean first = true;
 
+    /** index of next row to create */
+    private int rowIndex = 0;
+
     public ExcelWriter(ExcelConfiguration configuration, TargetFinder target) {
 
         this.target = target;
@@ -64,9 +67,13 @@ public class ExcelWriter implements RecordWriter {
 
     @Override
     public void close() throws IOException {
-        this.appendFooter();
-        try (final OutputStream outputStream = this.target.find()) {
-            this.excelWorkbook.write(outputStream);
+        try {
+            this.appendFooter();
+            try (final OutputStream outputStream = this.target.find()) {
+                this.excelWorkbook.write(outputStream);
+            }
+        } finally {
+            ExcelUtils.disposeWorkBook(this.excelWorkbook);
         }
     }
 
@@ -91,7 +98,6 @@ public class ExcelWriter implements RecordWriter {
     }
 
     private Row buildRow() {
-        int pos = this.excelSheet.getPhysicalNumberOfRows();
-        return this.excelSheet.createRow(pos);
+        return this.excelSheet.createRow(this.rowIndex++);
     }
 }
@@ -12,11 +12,15 @@
  */
 package org.talend.components.common.stream.input.excel;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
 
-import org.junit.jupiter.api.Assertions;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -197,6 +201,45 @@ class ExcelReaderSupplierTest {
         this.testOneValueFile("excel97/excel_97_1_record_footer.xls");
     }
 
+    @Test
+    void testStreamingManyRows() throws IOException {
+        final int rows = 20_000;
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            final Sheet sheet = workbook.createSheet("Sheet1");
+            final Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("id");
+            header.createCell(1).setCellValue("name");
+            header.createCell(2).setCellValue("valid");
+            for (int i = 1; i <= rows; i++) {
+                final Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue("name" + (i % 10));
+                row.createCell(2).setCellValue(i % 2 == 0);
+            }
+            sheet.createRow(rows + 1).createCell(0).setCellValue("footer");
+            workbook.write(content);
+        }
+
+        config.getHeader().setActive(true);
+        config.getHeader().setSize(1);
+        config.getFooter().setActive(true);
+        config.getFooter().setSize(1);
+        try (final InputStream stream = new ByteArrayInputStream(content.toByteArray());
+                final RecordReader reader = new ExcelReaderSupplier().getReader(factory, config)) {
+            final Iterator<Record> records = reader.read(stream);
+            int count = 0;
+            while (records.hasNext()) {
+                final Record record = records.next();
+                count++;
+                Assertions.assertEquals(count, record.getDouble("id"), 0.01);
+                Assertions.assertEquals("name" + (count % 10), record.getString("name"));
+                Assertions.assertEquals(count % 2 == 0, record.getBoolean("valid"));
+            }
+            Assertions.assertEquals(rows, count);
+        }
+    }
+
     /*
      * @Test
      * void testHTMLFile() throws IOException {
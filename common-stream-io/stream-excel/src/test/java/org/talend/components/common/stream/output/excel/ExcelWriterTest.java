@@ -12,6 +12,8 @@
  */
 package org.talend.components.common.stream.output.excel;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -19,6 +21,8 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.output.RecordWriter;
@@ -66,6 +70,39 @@ class ExcelWriterTest {
         Assertions.assertTrue(excelFile.length() > 20, () -> "Length " + excelFile.length() + " is to small");
     }
 
+    @Test
+    void addManyRows() throws IOException {
+        final ExcelConfiguration cfg = new ExcelConfiguration();
+        cfg.setFooter(new OptionalLine());
+        cfg.getFooter().setActive(true);
+        cfg.getFooter().setSize(1);
+
+        cfg.setHeader(new OptionalLine());
+        cfg.getHeader().setActive(true);
+        cfg.getHeader().setSize(1);
+
+        cfg.setExcelFormat(ExcelFormat.EXCEL2007);
+        cfg.setSheetName("talend_sheet");
+
+        final int rows = 5_000; // more than streaming window.
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ExcelWriterSupplier writerSupplier = new ExcelWriterSupplier();
+        try (RecordWriter writer = writerSupplier.getWriter(() -> out, cfg)) {
+            for (int i = 0; i < rows; i++) {
+                writer.add(this.factory.newRecordBuilder().withString("name", "name" + i).withInt("index", i).build());
+            }
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            final Sheet sheet = workbook.getSheet("talend_sheet");
+            Assertions.assertEquals(rows + 1, sheet.getLastRowNum()); // header + rows + footer.
+            Assertions.assertEquals("name", sheet.getRow(0).getCell(0).getStringCellValue());
+            Assertions.assertEquals("name0", sheet.getRow(1).getCell(0).getStringCellValue());
+            Assertions.assertEquals(rows - 1, sheet.getRow(rows).getCell(1).getNumericCellValue(), 0.01);
+            Assertions.assertEquals("//footer line", sheet.getRow(rows + 1).getCell(0).getStringCellValue());
+        }
+    }
+
     Iterable<Record> buildRecords() {
         List<Record> records = new ArrayList<>(3);
         Record rec1 = this.factory.newRecordBuilder().withString("firstname", "peter").withString("lastname", "falker")
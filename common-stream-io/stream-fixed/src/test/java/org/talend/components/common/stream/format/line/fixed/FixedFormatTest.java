@@ -15,6 +15,7 @@ package org.talend.components.common.stream.format.line.fixed;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.format.fixed.FixedConfiguration;
 import org.talend.components.common.stream.input.fixed.FixedReaderSupplier;
@@ -31,6 +32,7 @@ class FixedFormatTest {
     void format() {
         final RecordReaderSupplier reader = repo.findReader(FixedConfiguration.class);
         Assertions.assertNotNull(reader);
-        Assertions.assertTrue(FixedReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(CompressedReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(FixedReaderSupplier.class.isInstance(((CompressedReaderSupplier) reader).getSupplier()));
     }
 }
\ No newline at end of file
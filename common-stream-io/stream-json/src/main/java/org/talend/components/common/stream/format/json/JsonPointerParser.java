@@ -14,6 +14,8 @@ package org.talend.components.common.stream.format.json;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
 
 import javax.json.JsonValue;
 import javax.json.stream.JsonParser;
@@ -62,14 +64,26 @@ public class JsonPointerParser {
      * @return iterator on json value.
      */
     public Iterator<JsonValue> values(JsonParser parser) {
+        return this.values(parser, (JsonParser p, Event evt) -> p.getValue());
+    }
 
-        final Iterator<JsonValue> valuesIterator;
+    /**
+     * Search iterator on json, values are read directly from parser events.
+     * 
+     * @param parser : json parser.
+     * @param reader : read value that start with given event, parser must be left at the end of this value.
+     * @param <T> : type of read values.
+     * @return iterator on read values.
+     */
+    public <T> Iterator<T> values(JsonParser parser, BiFunction<JsonParser, Event, T> reader) {
+
+        final Iterator<T> valuesIterator;
         if (rootGetter.get(parser) && parser.hasNext()) {
             Event evt = parser.next();
             if (evt == Event.START_ARRAY) {
-                valuesIterator = new JsonIterator(parser);
+                valuesIterator = new JsonIterator<>(parser, reader);
             } else {
-                final JsonValue lonelyObject = parser.getValue();
+                final T lonelyObject = reader.apply(parser, evt);
                 valuesIterator = Collections.singletonList(lonelyObject).iterator();
             }
         } else {
@@ -83,10 +97,10 @@ public class JsonPointerParser {
      * Iterator on Json Value.
      * (iterating on all object of array if jsonpointer point an array, single object otherwire).
      */
-    static class JsonIterator implements Iterator<JsonValue> {
+    static class JsonIterator<T> implements Iterator<T> {
 
         /** current json value */
-        private JsonValue current;
+        private T current;
 
         /** if array, is end reached */
         private boolean endArrayReached = false;
@@ -94,19 +108,26 @@ public class JsonPointerParser {
         /** point to the current json value */
         private final JsonParser parser;
 
-        public JsonIterator(JsonParser parser) {
+        /** read value from parser events */
+        private final BiFunction<JsonParser, Event, T> reader;
+
+        public JsonIterator(JsonParser parser, BiFunction<JsonParser, Event, T> reader) {
             this.parser = parser;
+            this.reader = reader;
             this.current = this.findNext(parser);
         }
 
         @Override
         public boolean hasNext() {
-            return this.current != null;
+            return !this.endArrayReached || this.current != null;
         }
 
         @Override
-        public JsonValue next() {
-            final JsonValue result = this.current;
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No more json value");
+            }
+            final T result = this.current;
             this.current = this.findNext(parser);
             return result;
         }
@@ -117,8 +138,9 @@ public class JsonPointerParser {
          * @param parser : json parser.
          * @return value if exist, null otherwise.
          */
-        private JsonValue findNext(JsonParser parser) {
+        private T findNext(JsonParser parser) {
             if (this.endArrayReached || !parser.hasNext()) {
+                this.endArrayReached = true;
                 this.parser.close();
                 return null;
             }
@@ -128,7 +150,7 @@ public class JsonPointerParser {
                 this.parser.close();
                 return null;
             }
-            return parser.getValue();
+            return this.reader.apply(parser, evt);
         }
     }
 
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.json;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.record.Schema.Type;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Convert json values to record directly from parser events, without building json value tree.
+ * Give same records as {@link JsonToRecord}; schemas are cached by sequence of fields (name and type)
+ * so homogeneous json objects share schema and entries.
+ * Not thread safe.
+ */
+public class JsonParserToRecord {
+
+    /** name of field for json values that are not objects */
+    private static final String WRAPPED_FIELD = "field";
+
+    private final RecordBuilderFactory factory;
+
+    /** for array conversion and number options */
+    private final JsonToRecord toRecord;
+
+    /** root of schema tree; a path of fields from root leads to schema of records with these fields */
+    private final SchemaNode root = new SchemaNode(null, null);
+
+    /** object values buffers, by object depth */
+    private final List<ObjectValues> buffers = new ArrayList<>();
+
+    /** current object depth */
+    private int depth = 0;
+
+    public JsonParserToRecord(final JsonToRecord toRecord) {
+        this.factory = toRecord.getFactory();
+        this.toRecord = toRecord;
+    }
+
+    /**
+     * Read json value that start with given event and convert it to record.
+     * Json values that are not object are wrapped in a record with one field.
+     * 
+     * @param parser : json parser, left at the end of the value.
+     * @param event : first event of the value.
+     * @return record.
+     */
+    public Record toRecord(final JsonParser parser, final Event event) {
+        if (event == Event.START_OBJECT) {
+            return this.readObject(parser);
+        }
+        final ObjectValues values = this.enter();
+        try {
+            this.readValue(values, WRAPPED_FIELD, parser, event);
+            return values.build();
+        } finally {
+            this.depth--;
+        }
+    }
+
+    private Record readObject(final JsonParser parser) {
+        final ObjectValues values = this.enter();
+        try {
+            Event event = parser.next();
+            while (event != Event.END_OBJECT) {
+                final String key = parser.getString();
+                this.readValue(values, key, parser, parser.next());
+                event = parser.next();
+            }
+            return values.build();
+        } finally {
+            this.depth--;
+        }
+    }
+
+    private List<Object> readArray(final JsonParser parser) {
+        final List<Object> items = new ArrayList<>();
+        Event event = parser.next();
+        while (event != Event.END_ARRAY) {
+            switch (event) {
+            case START_OBJECT:
+                items.add(this.readObject(parser));
+                break;
+            case START_ARRAY:
+                items.add(this.readArray(parser));
+                break;
+            case VALUE_STRING:
+                items.add(parser.getString());
+                break;
+            case VALUE_NUMBER:
+                items.add(this.toRecord.getNumber(parser));
+                break;
+            case VALUE_TRUE:
+                items.add(Boolean.TRUE);
+                break;
+            case VALUE_FALSE:
+                items.add(Boolean.FALSE);
+                break;
+            case VALUE_NULL:
+                items.add(null);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported json event: " + event);
+            }
+            event = parser.next();
+        }
+        return items;
+    }
+
+    private void readValue(final ObjectValues values, final String key, final JsonParser parser, final Event event) {
+        switch (event) {
+        case START_OBJECT:
+            final Record record = this.readObject(parser);
+            values.add(key, Type.RECORD, record.getSchema(), record);
+            break;
+        case START_ARRAY:
+            final List<Object> items = this.readArray(parser);
+            values.add(key, Type.ARRAY, this.toRecord.getArrayElementSchema(items), items);
+            break;
+        case VALUE_TRUE:
+            values.add(key, Type.BOOLEAN, null, Boolean.TRUE);
+            break;
+        case VALUE_FALSE:
+            values.add(key, Type.BOOLEAN, null, Boolean.FALSE);
+            break;
+        case VALUE_STRING:
+            values.add(key, Type.STRING, null, parser.getString());
+            break;
+        case VALUE_NUMBER:
+            final Number number = this.toRecord.getNumber(parser);
+            values.add(key, number instanceof Long ? Type.LONG : Type.DOUBLE, null, number);
+            break;
+        case VALUE_NULL:
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported json event: " + event);
+        }
+    }
+
+    private ObjectValues enter() {
+        if (this.depth == this.buffers.size()) {
+            this.buffers.add(new ObjectValues());
+        }
+        final ObjectValues values = this.buffers.get(this.depth);
+        this.depth++;
+        values.clear();
+        return values;
+    }
+
+    /**
+     * Values of a json object being read.
+     */
+    private final class ObjectValues {
+
+        /** node of last added field */
+        private SchemaNode node;
+
+        private final List<SchemaNode> fields = new ArrayList<>();
+
+        private final List<Object> values = new ArrayList<>();
+
+        void clear() {
+            this.node = root;
+            this.fields.clear();
+            this.values.clear();
+        }
+
+        void add(final String name, final Type type, final Schema elementSchema, final Object value) {
+            this.node = this.node.child(name, type, elementSchema);
+            this.fields.add(this.node);
+            this.values.add(value);
+        }
+
+        Record build() {
+            final Record.Builder builder = factory.newRecordBuilder(this.node.schema());
+            for (int i = 0; i < this.fields.size(); i++) {
+                final Entry entry = this.fields.get(i).entry;
+                final Object value = this.values.get(i);
+                switch (entry.getType()) {
+                case RECORD:
+                    builder.withRecord(entry, (Record) value);
+                    break;
+                case ARRAY:
+                    builder.withArray(entry, (List<?>) value);
+                    break;
+                case BOOLEAN:
+                    builder.withBoolean(entry, (Boolean) value);
+                    break;
+                case STRING:
+                    builder.withString(entry, (String) value);
+                    break;
+                case LONG:
+                    builder.withLong(entry, (Long) value);
+                    break;
+                default:
+                    builder.withDouble(entry, (Double) value);
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Node of schema tree, correspond to a field following fields of parent nodes.
+     */
+    private final class SchemaNode {
+
+        private final SchemaNode parent;
+
+        /** entry of field (null for root) */
+        private final Entry entry;
+
+        /** next possible fields */
+        private final List<SchemaNode> children = new ArrayList<>(1);
+
+        /** schema of record with fields from root to this node */
+        private Schema schema;
+
+        SchemaNode(final SchemaNode parent, final Entry entry) {
+            this.parent = parent;
+            this.entry = entry;
+        }
+
+        SchemaNode child(final String name, final Type type, final Schema elementSchema) {
+            for (SchemaNode child : this.children) {
+                if (child.matches(name, type, elementSchema)) {
+                    return child;
+                }
+            }
+            final Entry.Builder entryBuilder = factory.newEntryBuilder().withName(name).withNullable(true).withType(type);
+            if (elementSchema != null) {
+                entryBuilder.withElementSchema(elementSchema);
+            }
+            final SchemaNode child = new SchemaNode(this, entryBuilder.build());
+            this.children.add(child);
+            return child;
+        }
+
+        private boolean matches(final String name, final Type type, final Schema elementSchema) {
+            final Schema entrySchema = this.entry.getElementSchema();
+            return this.entry.getType() == type && this.entry.getName().equals(name)
+                    && (entrySchema == elementSchema || (elementSchema != null && elementSchema.equals(entrySchema)));
+        }
+
+        Schema schema() {
+            if (this.schema == null) {
+                final Deque<Entry> entries = new ArrayDeque<>();
+                for (SchemaNode current = this; current.entry != null; current = current.parent) {
+                    entries.addFirst(current.entry);
+                }
+                final Schema.Builder builder = factory.newSchemaBuilder(Type.RECORD);
+                entries.forEach(builder::withEntry);
+                this.schema = builder.build();
+            }
+            return this.schema;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import javax.json.JsonString;
 import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
 
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
@@ -121,6 +122,30 @@ public class JsonToRecord {
         return it;
     }
 
+    RecordBuilderFactory getFactory() {
+        return this.factory;
+    }
+
+    /**
+     * Convert json number read by parser.
+     *
+     * @param parser : parser on number value.
+     * @return number (Long or Double).
+     */
+    Number getNumber(final JsonParser parser) {
+        return this.numberOption.getNumber(parser);
+    }
+
+    /**
+     * Schema of array element.
+     *
+     * @param items : array values (converted as for record).
+     * @return element schema.
+     */
+    Schema getArrayElementSchema(final List<Object> items) {
+        return this.getArrayElementSchema(this.factory, items);
+    }
+
     private Schema getArrayElementSchema(final RecordBuilderFactory factory, final List<Object> items) {
         if (items.isEmpty()) {
             return factory.newSchemaBuilder(Schema.Type.STRING).build();
@@ -206,6 +231,10 @@ public class JsonToRecord {
                 return number.doubleValue();
             }
 
+            public Number getNumber(JsonParser parser) {
+                return parser.getBigDecimal().doubleValue();
+            }
+
             public void setNumber(Record.Builder builder, Schema.Entry.Builder entryBuilder, JsonNumber number) {
                 final Schema.Entry entry = entryBuilder.withType(Schema.Type.DOUBLE).build();
                 builder.withDouble(entry, number.doubleValue());
@@ -225,6 +254,14 @@ public class JsonToRecord {
                 }
             }
 
+            public Number getNumber(JsonParser parser) {
+                if (parser.isIntegralNumber()) {
+                    return parser.getLong();
+                } else {
+                    return parser.getBigDecimal().doubleValue();
+                }
+            }
+
             public void setNumber(Record.Builder builder, Schema.Entry.Builder entryBuilder, JsonNumber number) {
                 if (number.isIntegral()) {
                     final Schema.Entry entry = entryBuilder.withType(Schema.Type.LONG).build();
@@ -245,6 +282,8 @@ public class JsonToRecord {
 
         public abstract Number getNumber(JsonNumber number);
 
+        public abstract Number getNumber(JsonParser parser);
+
         public abstract void setNumber(Record.Builder builder, Schema.Entry.Builder entryBuilder, JsonNumber number);
 
         public abstract Schema.Type getNumberType(JsonNumber number);
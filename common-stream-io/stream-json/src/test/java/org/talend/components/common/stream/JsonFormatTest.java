@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.talend.components.common.stream.api.JsonEmitter;
 import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
 import org.talend.components.common.stream.format.json.JsonConfiguration;
@@ -75,7 +76,8 @@ class JsonFormatTest {
 
         final RecordReaderSupplier reader = repo.findReader(JsonConfiguration.class);
         Assertions.assertNotNull(reader);
-        Assertions.assertTrue(JsonReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(CompressedReaderSupplier.class.isInstance(reader));
+        Assertions.assertTrue(JsonReaderSupplier.class.isInstance(((CompressedReaderSupplier) reader).getSupplier()));
 
         final RecordWriterSupplier writer = repo.findWriter(JsonConfiguration.class);
         Assertions.assertNotNull(writer);
@@ -18,6 +18,10 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonReader;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.input.RecordReader;
@@ -134,6 +138,63 @@ class JsonRecordReaderTest {
         Assertions.assertFalse(recordIterator.hasNext());
     }
 
+    @Test
+    void sameAsJsonObjectConversion() {
+        RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        JsonConfiguration jsonCfg = new JsonConfiguration();
+        jsonCfg.setJsonPointer("/");
+
+        final JsonArray objects;
+        try (JsonReader jsonReader = Json
+                .createReader(getClass().getClassLoader().getResourceAsStream("corona-api.countries2.json"))) {
+            objects = jsonReader.readArray();
+        }
+        final JsonToRecord toRecord = new JsonToRecord(factory, jsonCfg.isForceDouble());
+
+        final RecordReader reader = new JsonReaderSupplier().getReader(factory, jsonCfg);
+        final Iterator<Record> recordIterator = reader
+                .read(getClass().getClassLoader().getResourceAsStream("corona-api.countries2.json"));
+        for (int i = 0; i < objects.size(); i++) {
+            Assertions.assertTrue(recordIterator.hasNext());
+            final Record record = recordIterator.next();
+            final Record expected = toRecord.toRecord(objects.getJsonObject(i));
+            Assertions.assertEquals(expected.getSchema(), record.getSchema());
+            Assertions.assertEquals(expected.getString("name"), record.getString("name"));
+            Assertions.assertEquals(expected.getRecord("coordinates").getSchema(), record.getRecord("coordinates").getSchema());
+        }
+        Assertions.assertFalse(recordIterator.hasNext());
+        reader.close();
+    }
+
+    @Test
+    void homogeneousObjectsShareSchema() {
+        RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        JsonConfiguration jsonCfg = new JsonConfiguration();
+        jsonCfg.setJsonPointer("/");
+        jsonCfg.setForceDouble(false);
+
+        final String json = "[{\"id\": 1, \"sub\": {\"v\": true}}, {\"id\": 2, \"sub\": {\"v\": false}}, "
+                + "{\"id\": 3.5, \"name\": \"n\"}, 4]";
+        final RecordReader reader = new JsonReaderSupplier().getReader(factory, jsonCfg);
+        final Iterator<Record> recordIterator = reader.read(new ByteArrayInputStream(json.getBytes()));
+
+        final Record first = recordIterator.next();
+        final Record second = recordIterator.next();
+        Assertions.assertSame(first.getSchema(), second.getSchema());
+        Assertions.assertEquals(2L, second.getLong("id"));
+        Assertions.assertFalse(second.getRecord("sub").getBoolean("v"));
+
+        final Record third = recordIterator.next();
+        Assertions.assertEquals(Schema.Type.DOUBLE, third.getSchema().getEntries().get(0).getType());
+        Assertions.assertEquals(3.5d, third.getDouble("id"));
+        Assertions.assertEquals("n", third.getString("name"));
+
+        final Record wrapped = recordIterator.next();
+        Assertions.assertEquals(4L, wrapped.getLong("field"));
+        Assertions.assertFalse(recordIterator.hasNext());
+        reader.close();
+    }
+
     @Test
     void toRecordWithNestedArrays() {
         RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
@@ -14,18 +14,18 @@ package org.talend.components.common.stream.input.line;
 
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.List;
 
-import org.talend.components.common.collections.IteratorMap;
-import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.format.LineConfiguration;
 import org.talend.components.common.stream.input.line.schema.HeaderHandler;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 /**
  * default class to read source composed of line (csv, fixed length ...) to records.
  */
-public class DefaultRecordReader implements RecordReader {
+public class DefaultRecordReader implements TypedRecordReader {
 
     /** line reader */
     private final LineReader lineReader;
@@ -35,7 +35,7 @@ public class DefaultRecordReader implements RecordReader {
 
     public static DefaultRecordReader of(RecordBuilderFactory factory, LineConfiguration lineConfig, LineSplitter splitter) {
 
-        final LineToRecord toRecord = new LineToRecord(factory, splitter);
+        final LineToRecord toRecord = new LineToRecord(factory, splitter, lineConfig.calcTypeInference());
         final HeaderHandler headerHandler = new HeaderHandler(lineConfig.calcHeader(), toRecord::withHeaders);
 
         final LineReader lineReader = new DefaultLineReader(lineConfig.getLineSeparator(), lineConfig.getEncoding().getEncoding(),
@@ -52,7 +52,14 @@ public class DefaultRecordReader implements RecordReader {
     @Override
     public Iterator<Record> read(InputStream reader) {
         final Iterator<String> lines = lineReader.read(reader);
-        return new IteratorMap<>(lines, this.toRecord::translate);
+        return this.toRecord.translate(lines);
+    }
+
+    @Override
+    public void withTypes(List<Schema.Type> types) {
+        if (this.toRecord instanceof LineToRecord) {
+            ((LineToRecord) this.toRecord).withTypes(types);
+        }
     }
 
     @Override
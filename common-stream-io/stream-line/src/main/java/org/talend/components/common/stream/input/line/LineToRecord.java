@@ -12,17 +12,26 @@
  */
 package org.talend.components.common.stream.input.line;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import org.talend.components.common.collections.IteratorFlatmap;
+import org.talend.components.common.collections.IteratorMap;
 import org.talend.components.common.stream.input.line.schema.SchemaBuilder;
+import org.talend.components.common.stream.input.line.schema.TypeInference;
+import org.talend.components.common.stream.input.line.schema.TypedValues;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.record.Schema.Entry;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Translate line from source to record.
  */
+@Slf4j
 public class LineToRecord implements LineTranslator<Record> {
 
     /** record factory */
@@ -31,11 +40,35 @@ public class LineToRecord implements LineTranslator<Record> {
     /** split line in serie of values. */
     private final LineSplitter splitter;
 
+    /** number of lines used to infer fields types (0 for string fields) */
+    private final int typeInferenceLines;
+
     private final SchemaBuilder schemaBuilder = new SchemaBuilder();
 
+    /** header names */
+    private List<String> headers = null;
+
+    /** inferred types */
+    private List<Schema.Type> types = null;
+
+    /**
+     * Constructor for sources already splitted in fields (only withHeaders(Iterable) and build can be used).
+     *
+     * @param recordBuilderFactory : record factory.
+     * @param typeInferenceLines : number of lines used to infer fields types (0 for string fields).
+     */
+    public LineToRecord(RecordBuilderFactory recordBuilderFactory, int typeInferenceLines) {
+        this(recordBuilderFactory, null, typeInferenceLines);
+    }
+
     public LineToRecord(RecordBuilderFactory recordBuilderFactory, LineSplitter splitter) {
+        this(recordBuilderFactory, splitter, 0);
+    }
+
+    public LineToRecord(RecordBuilderFactory recordBuilderFactory, LineSplitter splitter, int typeInferenceLines) {
         this.recordBuilderFactory = recordBuilderFactory;
         this.splitter = splitter;
+        this.typeInferenceLines = typeInferenceLines;
     }
 
     /**
@@ -45,7 +78,25 @@ public class LineToRecord implements LineTranslator<Record> {
      */
     public void withHeaders(String headersLine) {
         final Iterable<String> headers = splitter.translate(headersLine);
-        this.schemaBuilder.get(this.recordBuilderFactory, headers, true);
+        this.withHeaders(headers);
+    }
+
+    /**
+     * Build schema with already splitted header fields.
+     *
+     * @param headers : header names.
+     */
+    public void withHeaders(Iterable<String> headers) {
+        this.headers = LineToRecord.copy(headers);
+    }
+
+    /**
+     * Use given fields types, inferred from first lines of source by the caller, instead of inferring them.
+     *
+     * @param types : type of each field.
+     */
+    public void withTypes(List<Schema.Type> types) {
+        this.types = new ArrayList<>(types);
     }
 
     @Override
@@ -54,17 +105,85 @@ public class LineToRecord implements LineTranslator<Record> {
         return this.build(fields);
     }
 
-    private Record build(Iterable<String> fields) {
-        final Schema schema = this.schemaBuilder.get(this.recordBuilderFactory, fields, false);
+    @Override
+    public Iterator<Record> translate(Iterator<String> lines) {
+        return this.buildAll(new IteratorMap<>(lines, this.splitter::translate));
+    }
+
+    /**
+     * Build records from already splitted rows; if type inference is active, first rows are read to infer types.
+     *
+     * @param rows : fields values of each row.
+     * @return records.
+     */
+    public Iterator<Record> buildAll(Iterator<? extends Iterable<String>> rows) {
+        if (this.typeInferenceLines <= 0 || this.types != null) {
+            return new IteratorMap<>(rows, this::build);
+        }
+        final TypeInference inference = new TypeInference();
+        final List<List<String>> sample = new ArrayList<>();
+        while (sample.size() < this.typeInferenceLines && rows.hasNext()) {
+            final List<String> row = LineToRecord.copy(rows.next());
+            inference.add(row);
+            sample.add(row);
+        }
+        this.types = inference.getTypes();
+
+        final List<Iterator<? extends Iterable<String>>> parts = new ArrayList<>(2);
+        parts.add(sample.iterator());
+        parts.add(rows);
+        final Iterator<Iterable<String>> allRows = new IteratorFlatmap<>(parts.iterator(), LineToRecord::upcast);
+        return new IteratorMap<>(allRows, this::build);
+    }
+
+    /**
+     * Build record from already splitted fields values.
+     *
+     * @param fields : fields values.
+     * @return record.
+     */
+    public Record build(Iterable<String> fields) {
+        final Schema schema = this.headers == null
+                ? this.schemaBuilder.get(this.recordBuilderFactory, fields, false, this.types)
+                : this.schemaBuilder.get(this.recordBuilderFactory, this.headers, true, this.types);
         final Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder(schema);
 
         final List<Entry> entries = schema.getEntries();
         int indexEntry = 0;
         for (String field : fields) {
-            recordBuilder.withString(entries.get(indexEntry), field);
+            final Entry entry = entries.get(indexEntry);
+            if (!TypedValues.set(recordBuilder, entry, field)) {
+                this.widen(indexEntry, entry, field);
+                return this.build(fields);
+            }
             indexEntry++;
         }
         return recordBuilder.build();
     }
 
+    /**
+     * Widen type of a field for a value, read after type inference lines, that doesn't fit it.
+     * Following records have the wider schema.
+     *
+     * @param index : field index.
+     * @param entry : field entry.
+     * @param value : field value.
+     */
+    private void widen(int index, Entry entry, String value) {
+        final Schema.Type type = TypedValues.widen(entry.getType(), value);
+        log.warn("Value '{}' of field '{}' is not of inferred type {}, field is read as {} from now on, "
+                + "increase type inference lines to avoid it.", value, entry.getName(), entry.getType(), type);
+        this.types.set(index, type);
+        this.schemaBuilder.reset();
+    }
+
+    private static List<String> copy(Iterable<String> fields) {
+        final List<String> values = new ArrayList<>();
+        fields.forEach(values::add);
+        return values;
+    }
+
+    private static Iterator<Iterable<String>> upcast(Iterator<? extends Iterable<String>> rows) {
+        return new IteratorMap<>(rows, row -> row);
+    }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line;
+
+import java.util.List;
+
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * Line record reader that can be given the fields types, so readers of parts of a same source produce same schema.
+ */
+public interface TypedRecordReader extends RecordReader {
+
+    /**
+     * Use given fields types instead of inferring them from first lines.
+     *
+     * @param types : type of each field.
+     */
+    void withTypes(List<Schema.Type> types);
+}
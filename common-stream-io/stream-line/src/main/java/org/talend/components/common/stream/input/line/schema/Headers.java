@@ -23,22 +23,36 @@ import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 public class Headers {
 
     public Schema build(RecordBuilderFactory factory, Iterable<String> fields, boolean isheader) {
+        return this.build(factory, fields, isheader, null);
+    }
+
+    /**
+     * Build schema with typed fields.
+     *
+     * @param factory : record factory.
+     * @param fields : header names or first line values.
+     * @param isheader : true if fields are header names.
+     * @param types : type of each field (null or missing ones are string).
+     * @return schema.
+     */
+    public Schema build(RecordBuilderFactory factory, Iterable<String> fields, boolean isheader, List<Schema.Type> types) {
         Schema.Builder builder = factory.newSchemaBuilder(Schema.Type.RECORD);
         Set<String> existNames = new HashSet<>();
 
         int index = 0;
         Iterable<String> realHeaders = findHeaders(fields, isheader);
         for (String header : realHeaders) {
+            final Schema.Type type = types != null && index < types.size() ? types.get(index) : Schema.Type.STRING;
             String finalName = this.getCorrectSchemaFieldName(header, index++, existNames);
             existNames.add(finalName);
-            this.addField(factory, builder, finalName);
+            this.addField(factory, builder, finalName, type);
         }
         return builder.build();
     }
 
-    private void addField(RecordBuilderFactory factory, Schema.Builder builder, String name) {
+    private void addField(RecordBuilderFactory factory, Schema.Builder builder, String name, Schema.Type type) {
         final Schema.Entry.Builder entryBuilder = factory.newEntryBuilder();
-        builder.withEntry(entryBuilder.withName(name).withType(Schema.Type.STRING).withNullable(true).build());
+        builder.withEntry(entryBuilder.withName(name).withType(type).withNullable(true).build());
     }
 
     /**
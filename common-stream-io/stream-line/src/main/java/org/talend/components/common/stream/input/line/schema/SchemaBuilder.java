@@ -12,6 +12,8 @@
  */
 package org.talend.components.common.stream.input.line.schema;
 
+import java.util.List;
+
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
@@ -22,10 +24,21 @@ public class SchemaBuilder {
     private final Headers headers = new Headers();
 
     public Schema get(RecordBuilderFactory factory, Iterable<String> fields, boolean header) {
+        return this.get(factory, fields, header, null);
+    }
+
+    public Schema get(RecordBuilderFactory factory, Iterable<String> fields, boolean header, List<Schema.Type> types) {
         if (this.schema == null) {
-            this.schema = this.headers.build(factory, fields, header);
+            this.schema = this.headers.build(factory, fields, header, types);
         }
         return this.schema;
     }
 
+    /**
+     * Forget built schema, next one is built with new types.
+     */
+    public void reset() {
+        this.schema = null;
+    }
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * Infer columns types from a sample of rows.
+ */
+public class TypeInference {
+
+    /** type by column index (null while column has no value) */
+    private final List<Schema.Type> types = new ArrayList<>();
+
+    /**
+     * Add sample row.
+     *
+     * @param fields : row values.
+     */
+    public void add(Iterable<String> fields) {
+        int index = 0;
+        for (String field : fields) {
+            if (index == this.types.size()) {
+                this.types.add(null);
+            }
+            this.types.set(index, TypedValues.merge(this.types.get(index), TypedValues.detect(field)));
+            index++;
+        }
+    }
+
+    /**
+     * @return inferred types (string for columns without any value in sample).
+     */
+    public List<Schema.Type> getTypes() {
+        final List<Schema.Type> result = new ArrayList<>(this.types.size());
+        for (Schema.Type type : this.types) {
+            result.add(type == null ? Schema.Type.STRING : type);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.record.Schema.Entry;
+
+/**
+ * Detect and parse typed values (boolean, long, double, datetime) from text fields.
+ * Integral values are always long, so a big value after the sampled lines still fits its column.
+ * Numbers with leading zeros ("007") are kept as string (identifiers, zip codes ...).
+ */
+public final class TypedValues {
+
+    /** exact powers of ten for double fast path */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /** max digits of a long that can't overflow */
+    private static final int SAFE_LONG_DIGITS = 18;
+
+    /** max significant digits of a mantissa exactly represented in a double */
+    private static final int SAFE_DOUBLE_DIGITS = 15;
+
+    /** ISO date time, with optional offset. */
+    private static final DateTimeFormatter DATE_TIME = new DateTimeFormatterBuilder() //
+            .append(DateTimeFormatter.ISO_LOCAL_DATE) //
+            .appendLiteral('T') //
+            .append(DateTimeFormatter.ISO_LOCAL_TIME) //
+            .optionalStart() //
+            .appendOffsetId() //
+            .optionalEnd() //
+            .toFormatter();
+
+    private TypedValues() {
+    }
+
+    /**
+     * Find narrowest type of a value.
+     *
+     * @param value : text value.
+     * @return type, null for empty value.
+     */
+    public static Schema.Type detect(String value) {
+        if (value == null) {
+            return null;
+        }
+        final String text = value.trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+            return Schema.Type.BOOLEAN;
+        }
+        final Schema.Type numberType = TypedValues.detectNumber(text);
+        if (numberType != null) {
+            return numberType;
+        }
+        if (text.length() >= 10 && text.charAt(4) == '-' && text.charAt(7) == '-' && TypedValues.isDateTime(text)) {
+            return Schema.Type.DATETIME;
+        }
+        return Schema.Type.STRING;
+    }
+
+    /**
+     * Merge type of a column with type of a new value.
+     *
+     * @param current : current column type (null if no value yet).
+     * @param value : value type (null for empty value).
+     * @return merged type.
+     */
+    public static Schema.Type merge(Schema.Type current, Schema.Type value) {
+        if (current == null || current == value) {
+            return value == null ? current : value;
+        }
+        if (value == null) {
+            return current;
+        }
+        if (TypedValues.isNumber(current) && TypedValues.isNumber(value)) {
+            if (current == Schema.Type.DOUBLE || value == Schema.Type.DOUBLE) {
+                return Schema.Type.DOUBLE;
+            }
+            return Schema.Type.LONG;
+        }
+        return Schema.Type.STRING;
+    }
+
+    /**
+     * Widen type of a column to a value that doesn't fit it.
+     *
+     * @param current : current column type.
+     * @param value : text value not of current type.
+     * @return DOUBLE for a decimal value in a LONG column, STRING otherwise.
+     */
+    public static Schema.Type widen(Schema.Type current, String value) {
+        final Schema.Type merged = TypedValues.merge(current, TypedValues.detect(value));
+        return merged == current ? Schema.Type.STRING : merged;
+    }
+
+    /**
+     * Set value in record builder, converted to entry type.
+     *
+     * @param builder : record builder.
+     * @param entry : entry.
+     * @param value : text value.
+     * @return false if value is not of entry type, nothing is set then.
+     */
+    public static boolean set(Record.Builder builder, Entry entry, String value) {
+        if (entry.getType() == Schema.Type.STRING) {
+            builder.withString(entry, value);
+            return true;
+        }
+        final String text = value == null ? "" : value.trim();
+        if (text.isEmpty()) {
+            return true; // null value.
+        }
+        try {
+            switch (entry.getType()) {
+            case BOOLEAN:
+                if (!"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+                    return false;
+                }
+                builder.withBoolean(entry, "true".equalsIgnoreCase(text));
+                break;
+            case LONG:
+                builder.withLong(entry, TypedValues.parseLong(text));
+                break;
+            case DOUBLE:
+                builder.withDouble(entry, TypedValues.parseDouble(text));
+                break;
+            case DATETIME:
+                builder.withDateTime(entry, TypedValues.parseDateTime(text));
+                break;
+            default:
+                builder.withString(entry, value);
+            }
+            return true;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Parse integer value, without sub-string nor boxing.
+     *
+     * @param text : integer text.
+     * @return value.
+     */
+    public static long parseLong(String text) {
+        final int length = text.length();
+        int index = 0;
+        final boolean negative = length > 0 && text.charAt(0) == '-';
+        if (negative || (length > 0 && text.charAt(0) == '+')) {
+            index++;
+        }
+        if (index == length || length - index > SAFE_LONG_DIGITS) {
+            return Long.parseLong(text);
+        }
+        long result = 0L;
+        for (; index < length; index++) {
+            final char current = text.charAt(index);
+            if (current < '0' || current > '9') {
+                throw new NumberFormatException("For input string: \"" + text + "\"");
+            }
+            result = result * 10 + (current - '0');
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parse decimal value; exact fast path when mantissa and exponent are small, JDK parser otherwise.
+     *
+     * @param text : decimal text.
+     * @return value.
+     */
+    public static double parseDouble(String text) {
+        final int length = text.length();
+        int index = 0;
+        final boolean negative = length > 0 && text.charAt(0) == '-';
+        if (negative || (length > 0 && text.charAt(0) == '+')) {
+            index++;
+        }
+        long mantissa = 0L;
+        int digits = 0;
+        int exponent = 0;
+        boolean point = false;
+        for (; index < length; index++) {
+            final char current = text.charAt(index);
+            if (current >= '0' && current <= '9') {
+                if (mantissa > 0L || current != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + (current - '0');
+                if (point) {
+                    exponent--;
+                }
+                if (digits > SAFE_DOUBLE_DIGITS) {
+                    return Double.parseDouble(text);
+                }
+            } else if (current == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (index < length) {
+            final char current = text.charAt(index);
+            if ((current != 'e' && current != 'E') || index + 1 == length) {
+                return Double.parseDouble(text);
+            }
+            try {
+                exponent += Integer.parseInt(text.substring(index + 1));
+            } catch (NumberFormatException ex) {
+                return Double.parseDouble(text);
+            }
+        }
+        if (exponent < -POWERS_OF_TEN.length + 1 || exponent > POWERS_OF_TEN.length - 1) {
+            return Double.parseDouble(text);
+        }
+        final double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse ISO date, date time, or date time with offset (UTC if no offset).
+     *
+     * @param text : date text.
+     * @return date time.
+     */
+    public static ZonedDateTime parseDateTime(String text) {
+        if (text.length() == 10) {
+            return LocalDate.parse(text, DateTimeFormatter.ISO_LOCAL_DATE).atStartOfDay(ZoneOffset.UTC);
+        }
+        final String isoText = text.length() > 10 && text.charAt(10) == ' ' ? text.substring(0, 10) + 'T' + text.substring(11)
+                : text;
+        final TemporalAccessor dateTime = DATE_TIME.parseBest(isoText, OffsetDateTime::from, LocalDateTime::from);
+        if (dateTime instanceof OffsetDateTime) {
+            return ((OffsetDateTime) dateTime).toZonedDateTime();
+        }
+        return ((LocalDateTime) dateTime).atZone(ZoneOffset.UTC);
+    }
+
+    private static boolean isDateTime(String text) {
+        try {
+            TypedValues.parseDateTime(text);
+            return true;
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    private static boolean isNumber(Schema.Type type) {
+        return type == Schema.Type.INT || type == Schema.Type.LONG || type == Schema.Type.DOUBLE;
+    }
+
+    /**
+     * Find number type of text.
+     *
+     * @param text : trimmed text.
+     * @return LONG, DOUBLE, or null if not a number (or a number that would lose leading zeros or precision).
+     */
+    private static Schema.Type detectNumber(String text) {
+        final int length = text.length();
+        int index = 0;
+        if (text.charAt(0) == '-' || text.charAt(0) == '+') {
+            index++;
+        }
+        final int start = index;
+        while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+            index++;
+        }
+        final int integerDigits = index - start;
+        if (integerDigits > 1 && text.charAt(start) == '0') {
+            return null; // leading zero.
+        }
+        if (index == length) {
+            if (integerDigits == 0) {
+                return null;
+            }
+            if (integerDigits <= SAFE_LONG_DIGITS + 1) {
+                try {
+                    TypedValues.parseLong(text);
+                    return Schema.Type.LONG;
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+            }
+            return null;
+        }
+        int fractionDigits = 0;
+        if (text.charAt(index) == '.') {
+            index++;
+            final int fractionStart = index;
+            while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                index++;
+            }
+            fractionDigits = index - fractionStart;
+        }
+        if (integerDigits + fractionDigits == 0) {
+            return null;
+        }
+        if (index < length && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            index++;
+            if (index < length && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+                index++;
+            }
+            final int exponentStart = index;
+            while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                index++;
+            }
+            if (index == exponentStart) {
+                return null;
+            }
+        }
+        return index == length ? Schema.Type.DOUBLE : null;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.split;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Range of bytes of a source [start, end[.
+ * A range owns records that start inside it, so last record can end after 'end'.
+ */
+@Data
+public class ByteRange implements Serializable {
+
+    private static final long serialVersionUID = 4271736409367621085L;
+
+    private final long start;
+
+    private final long end;
+
+    /**
+     * Split source of given length in contiguous ranges of same size.
+     *
+     * @param length : source length (in bytes).
+     * @param count : expected number of ranges.
+     * @return ranges.
+     */
+    public static List<ByteRange> split(long length, int count) {
+        final List<ByteRange> ranges = new ArrayList<>();
+        if (length <= 0) {
+            ranges.add(new ByteRange(0L, 0L));
+            return ranges;
+        }
+        final long size = (length + Math.max(count, 1) - 1) / Math.max(count, 1);
+        for (long start = 0L; start < length; start += size) {
+            ranges.add(new ByteRange(start, Math.min(length, start + size)));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.split;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Stream on records owned by a byte range : records that start in range, last one is read until its end.
+ * Quote state at start of a range is guessed, so at end of stream, range is checked to end where next range starts;
+ * otherwise records would be read twice or lost.
+ */
+class ChunkInputStream extends InputStream {
+
+    /** max bytes read to guess quote state at start of range */
+    private static final int RESYNC_WINDOW = 64 * 1024;
+
+    private final InputStream source;
+
+    /** whole source, to find start of next range */
+    private final SplittableSource origin;
+
+    /** offset of first readable record (after headers) */
+    private final long firstRecord;
+
+    private final RecordBoundaryScanner scanner;
+
+    /** end of range */
+    private final long end;
+
+    /** absolute position of next byte */
+    private long position;
+
+    private boolean finished;
+
+    /** end of range has been checked against start of next one */
+    private boolean checked;
+
+    private final byte[] single = new byte[1];
+
+    private ChunkInputStream(InputStream source, SplittableSource origin, long firstRecord, RecordBoundaryScanner scanner,
+            long position, long end) {
+        this.source = source;
+        this.origin = origin;
+        this.firstRecord = firstRecord;
+        this.scanner = scanner;
+        this.position = position;
+        this.end = end;
+        this.finished = position >= end;
+    }
+
+    /**
+     * Open stream on records of range.
+     *
+     * @param source : whole source.
+     * @param scanner : record boundary scanner (owned by this stream).
+     * @param range : range.
+     * @param firstRecord : offset of first readable record (after headers).
+     * @return stream, positioned on first record owned by range.
+     */
+    static ChunkInputStream open(SplittableSource source, RecordBoundaryScanner scanner, ByteRange range, long firstRecord)
+            throws IOException {
+        scanner.reset();
+        if (range.getStart() <= firstRecord) {
+            // range start is a known record start.
+            final long start = range.getStart() == 0L ? 0L : firstRecord;
+            return new ChunkInputStream(source.open(start), source, firstRecord, scanner, start, range.getEnd());
+        }
+        // read from just before range start to find end of record that contains range start.
+        final long from = Math.max(firstRecord, range.getStart() - scanner.getSeparatorLength());
+        final InputStream input = source.open(from);
+        final byte[] window = new byte[RESYNC_WINDOW];
+        final int length = ChunkInputStream.readFully(input, window);
+        final int known = from > firstRecord ? scanner.guessState(window, length) : 0;
+
+        long position = from + known;
+        for (int i = known; i < length; i++) {
+            position++;
+            if (scanner.next(window[i] & 0xFF) && position >= range.getStart()) {
+                final InputStream rest = new SequenceInputStream(new ByteArrayInputStream(window, i + 1, length - i - 1),
+                        input);
+                return new ChunkInputStream(rest, source, firstRecord, scanner, position, range.getEnd());
+            }
+        }
+        final InputStream rest = new BufferedInputStream(input);
+        int value = rest.read();
+        while (value >= 0) {
+            position++;
+            if (scanner.next(value) && position >= range.getStart()) {
+                break;
+            }
+            value = rest.read();
+        }
+        return new ChunkInputStream(rest, source, firstRecord, scanner, position, range.getEnd());
+    }
+
+    private static int readFully(InputStream input, byte[] buffer) throws IOException {
+        int length = 0;
+        int read = 0;
+        while (read >= 0 && length < buffer.length) {
+            read = input.read(buffer, length, buffer.length - length);
+            if (read > 0) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int read = this.read(this.single, 0, 1);
+        return read < 0 ? -1 : this.single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (this.finished) {
+            this.checkNextRange();
+            return -1;
+        }
+        final int read = this.source.read(buffer, offset, length);
+        if (read < 0) {
+            this.finished = true;
+            this.checkNextRange();
+            return -1;
+        }
+        for (int i = 0; i < read; i++) {
+            this.position++;
+            if (this.scanner.next(buffer[offset + i] & 0xFF) && this.position >= this.end) {
+                this.finished = true;
+                return i + 1;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Check that this range ends where next range starts, as found by a reader of next range.
+     */
+    private void checkNextRange() throws IOException {
+        if (this.checked) {
+            return;
+        }
+        this.checked = true;
+        if (this.end >= this.origin.length()) {
+            return;
+        }
+        final long next;
+        try (ChunkInputStream nextRange = ChunkInputStream.open(this.origin, this.scanner, new ByteRange(this.end, this.end),
+                this.firstRecord)) {
+            next = nextRange.position;
+        }
+        if (next != this.position) {
+            throw new IllegalStateException("Range ending at byte " + this.end + " is read until byte " + this.position
+                    + " but next range starts at byte " + next + ", quoted values can't be split at this offset, "
+                    + "read source without splitting it.");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.source.close();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.split;
+
+import java.nio.charset.Charset;
+
+/**
+ * Byte level state machine that detects record ends (record separator outside quoted values).
+ * Works with encodings where separators, quote and escape are single ASCII bytes (UTF-8, ISO-8859-x ...),
+ * multi-bytes chars of these encodings never contain ASCII bytes.
+ */
+public class RecordBoundaryScanner {
+
+    private static final int NONE = -1;
+
+    /** record separator bytes */
+    private final byte[] separator;
+
+    /** partial match table of separator */
+    private final int[] failure;
+
+    /** quote byte, NONE for non quoted format */
+    private final int quote;
+
+    /** escape byte, NONE if not set */
+    private final int escape;
+
+    /** field separator byte, NONE if not set */
+    private final int fieldSeparator;
+
+    /** number of separator bytes currently matched */
+    private int matched;
+
+    private boolean inQuotes;
+
+    /** previous byte closed a quoted value (could be a doubled quote) */
+    private boolean afterQuote;
+
+    private boolean fieldStart;
+
+    /** previous byte is escape char */
+    private boolean escaped;
+
+    public RecordBoundaryScanner(byte[] separator, int quote, int escape, int fieldSeparator) {
+        if (separator == null || separator.length == 0) {
+            throw new IllegalArgumentException("record separator can't be empty");
+        }
+        this.separator = separator.clone();
+        this.quote = quote;
+        this.escape = escape == quote ? NONE : escape;
+        this.fieldSeparator = fieldSeparator;
+        this.failure = new int[separator.length];
+        for (int i = 1, length = 0; i < separator.length; i++) {
+            while (length > 0 && separator[i] != separator[length]) {
+                length = this.failure[length - 1];
+            }
+            if (separator[i] == separator[length]) {
+                length++;
+            }
+            this.failure[i] = length;
+        }
+        this.reset();
+    }
+
+    /**
+     * Build scanner for a line format.
+     *
+     * @param recordSeparator : record separator.
+     * @param charset : source charset.
+     * @param quote : quote char (null if none).
+     * @param escape : escape char (null if none).
+     * @param fieldSeparator : field separator (null if none).
+     * @return scanner.
+     */
+    public static RecordBoundaryScanner of(String recordSeparator, Charset charset, Character quote, Character escape,
+            Character fieldSeparator) {
+        final byte[] separator = recordSeparator.getBytes(charset);
+        if (separator.length != recordSeparator.length()) {
+            throw new IllegalArgumentException("Can't split source with encoding " + charset.name());
+        }
+        return new RecordBoundaryScanner(separator, RecordBoundaryScanner.toByte(quote, charset),
+                RecordBoundaryScanner.toByte(escape, charset), RecordBoundaryScanner.toByte(fieldSeparator, charset));
+    }
+
+    private static int toByte(Character value, Charset charset) {
+        if (value == null) {
+            return NONE;
+        }
+        final byte[] bytes = String.valueOf(value).getBytes(charset);
+        if (bytes.length != 1) {
+            throw new IllegalArgumentException("Can't split source on char '" + value + "' with encoding " + charset.name());
+        }
+        return bytes[0] & 0xFF;
+    }
+
+    public int getSeparatorLength() {
+        return this.separator.length;
+    }
+
+    /**
+     * Reset state to start of record.
+     */
+    public void reset() {
+        this.matched = 0;
+        this.inQuotes = false;
+        this.afterQuote = false;
+        this.fieldStart = true;
+        this.escaped = false;
+    }
+
+    /**
+     * Treat next byte.
+     *
+     * @param value : byte (0-255).
+     * @return true if this byte ends a record.
+     */
+    public boolean next(int value) {
+        if (this.escaped) {
+            this.escaped = false;
+            this.matched = 0;
+            return false;
+        }
+        if (this.inQuotes) {
+            if (value == this.escape) {
+                this.escaped = true;
+            } else if (value == this.quote) {
+                this.inQuotes = false;
+                this.afterQuote = true;
+            }
+            return false;
+        }
+        if (this.afterQuote) {
+            this.afterQuote = false;
+            if (value == this.quote) {
+                // doubled quote.
+                this.inQuotes = true;
+                return false;
+            }
+        }
+        if (this.matchSeparator(value)) {
+            this.fieldStart = true;
+            return true;
+        }
+        if (value == this.quote && this.fieldStart) {
+            this.inQuotes = true;
+            this.matched = 0;
+        } else if (value == this.escape) {
+            this.escaped = true;
+        }
+        this.fieldStart = value == this.fieldSeparator;
+        return false;
+    }
+
+    private boolean matchSeparator(int value) {
+        final byte current = (byte) value;
+        while (this.matched > 0 && this.separator[this.matched] != current) {
+            this.matched = this.failure[this.matched - 1];
+        }
+        if (this.separator[this.matched] == current) {
+            this.matched++;
+        }
+        if (this.matched == this.separator.length) {
+            this.matched = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Guess state in a window taken from middle of source.
+     * Leading quotes of window are skipped (they can't be qualified without previous byte), state is guessed just after.
+     * Without quote, there is nothing to guess; otherwise, look for first run of an odd number of quotes that is
+     * obviously an opening one (after a separator, before a value) or a closing one (after a value, before a
+     * separator); quotes parity before it gives the state.
+     * State is considered as unquoted if no such quote run exists.
+     *
+     * @param window : bytes.
+     * @param length : number of bytes in window.
+     * @return index of first byte of window to scan with guessed state.
+     */
+    public int guessState(byte[] window, int length) {
+        this.reset();
+        if (this.quote == NONE) {
+            return 0;
+        }
+        int start = 0;
+        while (start < length && (window[start] & 0xFF) == this.quote) {
+            start++;
+        }
+        this.fieldStart = false;
+        int quotes = 0;
+        int index = start;
+        while (index < length) {
+            if ((window[index] & 0xFF) != this.quote) {
+                index++;
+                continue;
+            }
+            final int previous = window[index - 1] & 0xFF;
+            if (previous == this.escape) {
+                // escaped quote.
+                index++;
+                continue;
+            }
+            int end = index;
+            while (end < length && (window[end] & 0xFF) == this.quote) {
+                end++;
+            }
+            if ((end - index) % 2 == 1 && end < length) {
+                final boolean afterSeparator = this.isSeparatorEnd(previous);
+                final boolean beforeSeparator = this.isSeparatorStart(window[end] & 0xFF);
+                if (afterSeparator && !beforeSeparator) {
+                    // opening quote, so unquoted state just before.
+                    this.inQuotes = quotes % 2 == 1;
+                    return start;
+                }
+                if (!afterSeparator && beforeSeparator) {
+                    // closing quote, so quoted state just before.
+                    this.inQuotes = quotes % 2 == 0;
+                    return start;
+                }
+            }
+            quotes += end - index;
+            index = end;
+        }
+        return start;
+    }
+
+    private boolean isSeparatorEnd(int value) {
+        return value == this.fieldSeparator || value == (this.separator[this.separator.length - 1] & 0xFF);
+    }
+
+    private boolean isSeparatorStart(int value) {
+        return value == this.fieldSeparator || value == (this.separator[0] & 0xFF);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.split;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.talend.components.common.collections.CloseableIterator;
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.api.input.RecordReaderSupplier;
+import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.fixed.FixedConfiguration;
+import org.talend.components.common.stream.input.line.TypedRecordReader;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read line formats (csv, fixed) by byte ranges.
+ * Each range is resynchronized on first record that starts inside it, so ranges can be read by different workers
+ * (one range each) or concurrently by this reader.
+ * Reading of a range fails if it doesn't end where next range starts (quote state wrongly guessed at range start).
+ * Headers are read once and given to readers of all ranges so all produce same schema;
+ * with type inference, types are inferred once from first lines of source and given to readers of all ranges too.
+ */
+public class SplitRecordReader {
+
+    /** max records buffered by range for parallel read */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /** end of range marker */
+    private static final Object END = new Object();
+
+    private final LineConfiguration lineConfiguration;
+
+    private final Character quote;
+
+    private final Character escape;
+
+    private final Character fieldSeparator;
+
+    /** build a new reader for each range */
+    private final Supplier<RecordReader> readers;
+
+    public SplitRecordReader(ContentFormat format, Supplier<RecordReader> readers) {
+        if (format instanceof CSVConfiguration) {
+            final CSVConfiguration csv = (CSVConfiguration) format;
+            this.lineConfiguration = csv.getLineConfiguration();
+            this.quote = csv.getQuotedValue();
+            this.escape = csv.getEscape();
+            this.fieldSeparator = csv.findFieldSeparator();
+        } else if (format instanceof FixedConfiguration) {
+            this.lineConfiguration = ((FixedConfiguration) format).getLineConfiguration();
+            this.quote = null;
+            this.escape = null;
+            this.fieldSeparator = null;
+        } else {
+            throw new IllegalArgumentException("Can't split source of format " + format.getClass().getName());
+        }
+        this.readers = readers;
+        this.newScanner(); // check encoding & separators.
+    }
+
+    public static SplitRecordReader of(RecordReaderSupplier supplier, RecordBuilderFactory factory, ContentFormat format) {
+        // byte ranges are ranges of plain content, format reader reads them as is.
+        final RecordReaderSupplier formatSupplier = supplier instanceof CompressedReaderSupplier
+                ? ((CompressedReaderSupplier) supplier).getSupplier()
+                : supplier;
+        return new SplitRecordReader(format, () -> formatSupplier.getReader(factory, format));
+    }
+
+    /**
+     * Read records owned by one range (for a worker that has been assigned this range).
+     *
+     * @param source : source.
+     * @param range : range to read.
+     * @return records.
+     */
+    public CloseableIterator<Record> read(SplittableSource source, ByteRange range) {
+        try {
+            final byte[] headers = this.readHeaders(source);
+            final RecordReader reader = this.newReader(this.inferTypes(source));
+            final InputStream input = this.open(source, range, headers);
+            return new CloseableIterator<>(reader.read(input), () -> {
+                reader.close();
+                input.close();
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Can't read range " + range, ex);
+        }
+    }
+
+    /**
+     * Read ranges concurrently.
+     *
+     * @param source : source.
+     * @param ranges : ranges, usually contiguous ones from {@link ByteRange#split(long, int)}.
+     * @param executor : executor for ranges reading.
+     * @param ordered : true to get records in source order, false to get them as soon as they're read.
+     * @return records (closing it stops reading).
+     */
+    public CloseableIterator<Record> read(SplittableSource source, List<ByteRange> ranges, ExecutorService executor,
+            boolean ordered) {
+        final byte[] headers;
+        final List<Schema.Type> types;
+        try {
+            headers = this.readHeaders(source);
+            types = this.inferTypes(source);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Can't read headers", ex);
+        }
+        final ParallelIterator iterator = new ParallelIterator(ranges.size(), ordered);
+        for (int i = 0; i < ranges.size(); i++) {
+            final ByteRange range = ranges.get(i);
+            final BlockingQueue<Object> queue = iterator.queue(i);
+            iterator.futures.add(executor.submit(() -> this.readRange(source, range, headers, types, queue)));
+        }
+        return new CloseableIterator<>(iterator, iterator::close);
+    }
+
+    private void readRange(SplittableSource source, ByteRange range, byte[] headers, List<Schema.Type> types,
+            BlockingQueue<Object> queue) {
+        try {
+            try (RecordReader reader = this.newReader(types); InputStream input = this.open(source, range, headers)) {
+                final Iterator<Record> records = reader.read(input);
+                while (records.hasNext()) {
+                    queue.put(records.next());
+                }
+            } catch (IOException | RuntimeException ex) {
+                queue.put(new Failure(ex));
+                return;
+            }
+            queue.put(END);
+        } catch (InterruptedException ex) {
+            // reading stopped.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private InputStream open(SplittableSource source, ByteRange range, byte[] headers) throws IOException {
+        final InputStream chunk = ChunkInputStream.open(source, this.newScanner(), range, headers.length);
+        if (range.getStart() == 0L || headers.length == 0) {
+            return chunk;
+        }
+        return new SequenceInputStream(new ByteArrayInputStream(headers), chunk);
+    }
+
+    /**
+     * Read header records bytes.
+     *
+     * @param source : source.
+     * @return header bytes (empty if no header).
+     */
+    private byte[] readHeaders(SplittableSource source) throws IOException {
+        return this.readFirstRecords(source, this.lineConfiguration.calcHeader());
+    }
+
+    /**
+     * Infer fields types from first lines of source, as a reader of whole source would do.
+     *
+     * @param source : source.
+     * @return types of fields, null if type inference is not active or source is empty.
+     */
+    private List<Schema.Type> inferTypes(SplittableSource source) throws IOException {
+        final int sampleLines = this.lineConfiguration.calcTypeInference();
+        if (sampleLines <= 0) {
+            return null;
+        }
+        final byte[] sample = this.readFirstRecords(source, Math.max(this.lineConfiguration.calcHeader(), 0) + sampleLines);
+        try (RecordReader reader = this.readers.get()) {
+            final Iterator<Record> records = reader.read(new ByteArrayInputStream(sample));
+            if (!records.hasNext()) {
+                return null;
+            }
+            final List<Schema.Type> types = new ArrayList<>();
+            records.next().getSchema().getEntries().forEach((Schema.Entry entry) -> types.add(entry.getType()));
+            return types;
+        }
+    }
+
+    /**
+     * Read bytes of first records of source.
+     *
+     * @param source : source.
+     * @param count : number of records.
+     * @return records bytes (empty if count is 0).
+     */
+    private byte[] readFirstRecords(SplittableSource source, int count) throws IOException {
+        if (count <= 0) {
+            return new byte[0];
+        }
+        final RecordBoundaryScanner scanner = this.newScanner();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream input = new BufferedInputStream(source.open(0L))) {
+            int records = 0;
+            int value = input.read();
+            while (value >= 0 && records < count) {
+                bytes.write(value);
+                if (scanner.next(value)) {
+                    records++;
+                }
+                value = input.read();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private RecordReader newReader(List<Schema.Type> types) {
+        final RecordReader reader = this.readers.get();
+        if (types != null && reader instanceof TypedRecordReader) {
+            ((TypedRecordReader) reader).withTypes(types);
+        }
+        return reader;
+    }
+
+    private RecordBoundaryScanner newScanner() {
+        final Charset charset = Charset.forName(this.lineConfiguration.getEncoding().getEncoding());
+        return RecordBoundaryScanner.of(this.lineConfiguration.getLineSeparator(), charset, this.quote, this.escape,
+                this.fieldSeparator);
+    }
+
+    @RequiredArgsConstructor
+    private static class Failure {
+
+        private final Exception error;
+    }
+
+    /**
+     * Iterator on records read by ranges readers.
+     */
+    private static class ParallelIterator implements Iterator<Record> {
+
+        private final List<BlockingQueue<Object>> queues = new ArrayList<>();
+
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private final int ranges;
+
+        private final boolean ordered;
+
+        private int finished = 0;
+
+        private Record next = null;
+
+        ParallelIterator(int ranges, boolean ordered) {
+            this.ranges = ranges;
+            this.ordered = ordered;
+            if (ordered) {
+                for (int i = 0; i < ranges; i++) {
+                    this.queues.add(new ArrayBlockingQueue<>(QUEUE_CAPACITY));
+                }
+            } else {
+                this.queues.add(new ArrayBlockingQueue<>(QUEUE_CAPACITY * Math.max(ranges, 1)));
+            }
+        }
+
+        BlockingQueue<Object> queue(int range) {
+            return this.queues.get(this.ordered ? range : 0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null && this.finished < this.ranges) {
+                final Object element = this.take();
+                if (element == END) {
+                    this.finished++;
+                } else if (element instanceof Failure) {
+                    this.close();
+                    final Exception error = ((Failure) element).error;
+                    if (error instanceof IOException) {
+                        throw new UncheckedIOException("Error while reading range", (IOException) error);
+                    }
+                    throw (RuntimeException) error;
+                } else {
+                    this.next = (Record) element;
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Record next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("no more record");
+            }
+            final Record current = this.next;
+            this.next = null;
+            return current;
+        }
+
+        private Object take() {
+            try {
+                return this.queue(this.finished).take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                this.close();
+                throw new IllegalStateException("Interrupted while waiting for records", ex);
+            }
+        }
+
+        void close() {
+            this.futures.forEach((Future<?> future) -> future.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.split;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Source that can be read from any byte offset (local file, blob with range request ...).
+ */
+public interface SplittableSource {
+
+    /**
+     * @return length of source in bytes.
+     */
+    long length() throws IOException;
+
+    /**
+     * Open source from offset to its end.
+     *
+     * @param offset : first byte to read.
+     * @return stream.
+     */
+    InputStream open(long offset) throws IOException;
+
+    static SplittableSource of(Path file) {
+        return new SplittableSource() {
+
+            @Override
+            public long length() throws IOException {
+                return Files.size(file);
+            }
+
+            @Override
+            public InputStream open(long offset) throws IOException {
+                final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                channel.position(offset);
+                return Channels.newInputStream(channel);
+            }
+        };
+    }
+}
@@ -14,11 +14,13 @@ package org.talend.components.common.stream.input.line;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 
@@ -52,4 +54,63 @@ class LineToRecordTest {
         Assertions.assertEquals("Hello", record.getString("greetings"));
         Assertions.assertEquals("World", record.getString("who"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void translateWithTypeInference() {
+        final LineSplitter splitter = (String line) -> Arrays.asList(line.split(";", -1));
+
+        LineToRecord toRecord = new LineToRecord(factory, splitter, 2);
+        toRecord.withHeaders("id;amount;active;code;created");
+
+        final Iterator<String> lines = Arrays
+                .asList("1;10;true;007;2021-03-04", "2;;false;123;2021-03-05 10:00:00", "3000000000;1.5;true;9;")
+                .iterator();
+        final Iterator<Record> records = toRecord.translate(lines);
+
+        Record record = records.next();
+        final Schema schema = record.getSchema();
+        Assertions.assertEquals(Schema.Type.LONG, schema.getEntries().get(0).getType());
+        Assertions.assertEquals(Schema.Type.LONG, schema.getEntries().get(1).getType());
+        Assertions.assertEquals(Schema.Type.BOOLEAN, schema.getEntries().get(2).getType());
+        Assertions.assertEquals(Schema.Type.STRING, schema.getEntries().get(3).getType());
+        Assertions.assertEquals(Schema.Type.DATETIME, schema.getEntries().get(4).getType());
+        Assertions.assertEquals(1L, record.getLong("id"));
+        Assertions.assertEquals("007", record.getString("code"));
+
+        record = records.next();
+        Assertions.assertFalse(record.getOptionalLong("amount").isPresent());
+        Assertions.assertFalse(record.getBoolean("active"));
+
+        // values read after sample widen inferred types: 3000000000 fits id long column, 1.5 widens amount one to double.
+        record = records.next();
+        Assertions.assertEquals(3000000000L, record.getLong("id"));
+        Assertions.assertEquals(Schema.Type.DOUBLE, record.getSchema().getEntries().get(1).getType());
+        Assertions.assertEquals(1.5d, record.getDouble("amount"));
+        Assertions.assertTrue(record.getBoolean("active"));
+    }
+
+    @Test
+    void widenToString() {
+        final LineSplitter splitter = (String line) -> Arrays.asList(line.split(";", -1));
+
+        LineToRecord toRecord = new LineToRecord(factory, splitter, 1);
+        toRecord.withHeaders("id;active");
+
+        final Iterator<Record> records = toRecord.translate(Arrays.asList("1;true", "x2;yes", "3;false").iterator());
+
+        Record record = records.next();
+        Assertions.assertEquals(1L, record.getLong("id"));
+        Assertions.assertTrue(record.getBoolean("active"));
+
+        record = records.next();
+        Assertions.assertEquals(Schema.Type.STRING, record.getSchema().getEntries().get(0).getType());
+        Assertions.assertEquals(Schema.Type.STRING, record.getSchema().getEntries().get(1).getType());
+        Assertions.assertEquals("x2", record.getString("id"));
+        Assertions.assertEquals("yes", record.getString("active"));
+
+        // following records keep the widened schema.
+        record = records.next();
+        Assertions.assertEquals("3", record.getString("id"));
+        Assertions.assertEquals("false", record.getString("active"));
+    }
+}
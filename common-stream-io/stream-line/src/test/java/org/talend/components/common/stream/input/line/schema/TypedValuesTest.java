@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.schema;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Schema;
+
+class TypedValuesTest {
+
+    @Test
+    void detect() {
+        Assertions.assertNull(TypedValues.detect(" "));
+        Assertions.assertEquals(Schema.Type.BOOLEAN, TypedValues.detect("True"));
+        Assertions.assertEquals(Schema.Type.LONG, TypedValues.detect("-123"));
+        Assertions.assertEquals(Schema.Type.LONG, TypedValues.detect("  42"));
+        Assertions.assertEquals(Schema.Type.LONG, TypedValues.detect("3000000000"));
+        Assertions.assertEquals(Schema.Type.DOUBLE, TypedValues.detect("1.5e-3"));
+        Assertions.assertEquals(Schema.Type.DOUBLE, TypedValues.detect(".5"));
+        Assertions.assertEquals(Schema.Type.DATETIME, TypedValues.detect("2021-03-04"));
+        Assertions.assertEquals(Schema.Type.DATETIME, TypedValues.detect("2021-03-04 10:11:12.5"));
+        Assertions.assertEquals(Schema.Type.DATETIME, TypedValues.detect("2021-03-04T10:11:12+02:00"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.detect("007"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.detect("12345678901234567890123"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.detect("2021-13-04"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.detect("NaN"));
+    }
+
+    @Test
+    void merge() {
+        Assertions.assertEquals(Schema.Type.INT, TypedValues.merge(null, Schema.Type.INT));
+        Assertions.assertEquals(Schema.Type.INT, TypedValues.merge(Schema.Type.INT, null));
+        Assertions.assertEquals(Schema.Type.LONG, TypedValues.merge(Schema.Type.INT, Schema.Type.LONG));
+        Assertions.assertEquals(Schema.Type.DOUBLE, TypedValues.merge(Schema.Type.LONG, Schema.Type.DOUBLE));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.merge(Schema.Type.BOOLEAN, Schema.Type.INT));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.merge(Schema.Type.DATETIME, Schema.Type.DOUBLE));
+    }
+
+    @Test
+    void widen() {
+        Assertions.assertEquals(Schema.Type.DOUBLE, TypedValues.widen(Schema.Type.LONG, "1.5"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.widen(Schema.Type.LONG, "007"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.widen(Schema.Type.DOUBLE, "abc"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.widen(Schema.Type.BOOLEAN, "1"));
+        Assertions.assertEquals(Schema.Type.STRING, TypedValues.widen(Schema.Type.DATETIME, "2021-13-04"));
+    }
+
+    @Test
+    void parse() {
+        Assertions.assertEquals(Long.MIN_VALUE, TypedValues.parseLong(Long.toString(Long.MIN_VALUE)));
+        Assertions.assertEquals(-1234L, TypedValues.parseLong("-1234"));
+        Assertions.assertThrows(NumberFormatException.class, () -> TypedValues.parseLong("12a"));
+
+        for (String value : new String[] { "0.1", "-3.14159", "1e22", "2.5E-7", "123456789.123456789", "1e300", ".5" }) {
+            Assertions.assertEquals(Double.parseDouble(value), TypedValues.parseDouble(value), value);
+        }
+        Assertions.assertThrows(NumberFormatException.class, () -> TypedValues.parseDouble("1,5"));
+
+        Assertions.assertEquals(ZonedDateTime.of(2021, 3, 4, 10, 11, 12, 0, ZoneOffset.UTC),
+                TypedValues.parseDateTime("2021-03-04 10:11:12"));
+        Assertions.assertEquals(ZonedDateTime.of(2021, 3, 4, 0, 0, 0, 0, ZoneOffset.UTC),
+                TypedValues.parseDateTime("2021-03-04"));
+    }
+}
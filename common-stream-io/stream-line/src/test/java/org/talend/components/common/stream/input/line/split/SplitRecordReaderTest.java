@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.line.split;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.components.common.collections.CloseableIterator;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.OptionalLine;
+import org.talend.components.common.stream.format.fixed.FixedConfiguration;
+import org.talend.components.common.stream.input.line.DefaultRecordReader;
+import org.talend.components.common.stream.input.line.LineSplitter;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class SplitRecordReaderTest {
+
+    private static final int LINES = 2000;
+
+    @TempDir
+    Path folder;
+
+    private ExecutorService executor;
+
+    private SplitRecordReader reader;
+
+    private SplittableSource source;
+
+    @BeforeEach
+    void init() throws IOException {
+        final FixedConfiguration configuration = new FixedConfiguration();
+        configuration.setLineConfiguration(new LineConfiguration());
+        configuration.getLineConfiguration().setHeader(new OptionalLine());
+        configuration.getLineConfiguration().getHeader().setActive(true);
+        configuration.getLineConfiguration().getHeader().setSize(1);
+        configuration.setLengthFields("5;4");
+
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        final LineSplitter splitter = (String line) -> Stream.of(line.substring(0, 5), line.substring(5))
+                .collect(Collectors.toList());
+        this.reader = new SplitRecordReader(configuration,
+                () -> DefaultRecordReader.of(factory, configuration.getLineConfiguration(), splitter));
+
+        final StringBuilder content = new StringBuilder("ident name\n");
+        for (int i = 0; i < LINES; i++) {
+            content.append(String.format("%05d", i)).append("n").append(i % 1000).append('\n');
+        }
+        final Path file = this.folder.resolve("data.txt");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        this.source = SplittableSource.of(file);
+
+        this.executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void stop() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void readRanges() throws IOException {
+        for (int count : new int[] { 1, 3, 17, 500 }) {
+            final List<String> identifiers = new ArrayList<>();
+            for (ByteRange range : ByteRange.split(this.source.length(), count)) {
+                try (CloseableIterator<Record> records = this.reader.read(this.source, range)) {
+                    records.forEachRemaining((Record rec) -> identifiers.add(rec.getString("ident")));
+                }
+            }
+            this.checkIdentifiers(identifiers);
+        }
+    }
+
+    @Test
+    void readParallel() throws IOException {
+        final List<ByteRange> ranges = ByteRange.split(this.source.length(), 13);
+
+        final List<String> ordered = new ArrayList<>();
+        try (CloseableIterator<Record> records = this.reader.read(this.source, ranges, this.executor, true)) {
+            records.forEachRemaining((Record rec) -> ordered.add(rec.getString("ident")));
+        }
+        this.checkIdentifiers(ordered);
+
+        final List<String> unordered = new ArrayList<>();
+        try (CloseableIterator<Record> records = this.reader.read(this.source, ranges, this.executor, false)) {
+            records.forEachRemaining((Record rec) -> unordered.add(rec.getString("ident")));
+        }
+        Collections.sort(unordered);
+        this.checkIdentifiers(unordered);
+    }
+
+    @Test
+    void sameTypesForAllRanges() throws IOException {
+        final FixedConfiguration configuration = new FixedConfiguration();
+        configuration.setLineConfiguration(new LineConfiguration());
+        configuration.getLineConfiguration().setHeader(new OptionalLine());
+        configuration.getLineConfiguration().getHeader().setActive(true);
+        configuration.getLineConfiguration().getHeader().setSize(1);
+        configuration.getLineConfiguration().setTypeInference(new OptionalLine());
+        configuration.getLineConfiguration().getTypeInference().setActive(true);
+        configuration.getLineConfiguration().getTypeInference().setSize(5);
+        configuration.setLengthFields("5;4");
+
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        final LineSplitter splitter = (String line) -> Stream.of(line.substring(0, 5), line.substring(5))
+                .collect(Collectors.toList());
+        final SplitRecordReader typedReader = new SplitRecordReader(configuration,
+                () -> DefaultRecordReader.of(factory, configuration.getLineConfiguration(), splitter));
+
+        // value column is a string in first lines, only numbers after.
+        final StringBuilder content = new StringBuilder("identvalue\n");
+        for (int i = 0; i < LINES; i++) {
+            content.append(String.format("%5d", i)).append(i == 0 ? "none" : String.format("%4d", i % 1000)).append('\n');
+        }
+        final Path file = this.folder.resolve("typed.txt");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        final SplittableSource typedSource = SplittableSource.of(file);
+
+        final List<Schema.Type> expected = Arrays.asList(Schema.Type.LONG, Schema.Type.STRING);
+        int count = 0;
+        for (ByteRange range : ByteRange.split(typedSource.length(), 17)) {
+            try (CloseableIterator<Record> records = typedReader.read(typedSource, range)) {
+                while (records.hasNext()) {
+                    final List<Schema.Type> types = records.next().getSchema().getEntries().stream().map(Schema.Entry::getType)
+                            .collect(Collectors.toList());
+                    Assertions.assertEquals(expected, types);
+                    count++;
+                }
+            }
+        }
+        Assertions.assertEquals(LINES, count);
+    }
+
+    @Test
+    void quotedRecordsAcrossRanges() throws IOException {
+        final StringBuilder content = new StringBuilder("id,text\n");
+        for (int i = 0; i < LINES; i++) {
+            content.append(i).append(",\"multi\nline, \"\"quoted\"\"\"\n");
+        }
+        final SplittableSource csv = this.write("quoted.csv", content.toString());
+        for (int count : new int[] { 1, 3, 17, 500 }) {
+            Assertions.assertEquals(content.toString(), this.readChunks(csv, count));
+        }
+    }
+
+    @Test
+    void wrongQuoteGuess() throws IOException {
+        // quote inside unquoted value, before a field separator, looks like a closing quote.
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            content.append(i).append(",12,5\",3\n");
+        }
+        final SplittableSource csv = this.write("literal.csv", content.toString());
+        Assertions.assertThrows(IllegalStateException.class, () -> this.readChunks(csv, 4));
+    }
+
+    private SplittableSource write(String name, String content) throws IOException {
+        final Path file = this.folder.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return SplittableSource.of(file);
+    }
+
+    private String readChunks(SplittableSource csv, int count) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (ByteRange range : ByteRange.split(csv.length(), count)) {
+            final RecordBoundaryScanner scanner = RecordBoundaryScanner.of("\n", StandardCharsets.UTF_8, '"', null, ',');
+            try (InputStream input = ChunkInputStream.open(csv, scanner, range, 0L)) {
+                final byte[] buffer = new byte[100];
+                int read = input.read(buffer);
+                while (read >= 0) {
+                    content.write(buffer, 0, read);
+                    read = input.read(buffer);
+                }
+            }
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void checkIdentifiers(List<String> identifiers) {
+        Assertions.assertEquals(LINES, identifiers.size());
+        for (int i = 0; i < LINES; i++) {
+            Assertions.assertEquals(String.format("%05d", i), identifiers.get(i));
+        }
+    }
+}
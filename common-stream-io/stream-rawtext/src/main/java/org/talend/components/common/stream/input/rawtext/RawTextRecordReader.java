@@ -12,14 +12,19 @@
  */
 package org.talend.components.common.stream.input.rawtext;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.format.rawtext.ExtendedRawTextConfiguration;
@@ -28,10 +33,16 @@ import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 public class RawTextRecordReader implements RecordReader {
 
+    /** size in chars of read buffer */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final RecordBuilderFactory recordFactory;
 
     private final ExtendedRawTextConfiguration extendedConfiguration;
 
+    /** reader of current text, closed when all records are read */
+    private Reader textReader;
+
     public RawTextRecordReader(final RecordBuilderFactory recordFactory,
             final ExtendedRawTextConfiguration extendedConfiguration) {
         this.recordFactory = recordFactory;
@@ -49,31 +60,147 @@ public class RawTextRecordReader implements RecordReader {
             }
         }
 
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.textReader = new InputStreamReader(reader, this.charset());
+        final ExtendedRawTextConfiguration.Split split = this.extendedConfiguration.getSplit();
+        if (split == ExtendedRawTextConfiguration.Split.LINES) {
+            final BufferedReader lines = new BufferedReader(this.textReader, BUFFER_SIZE);
+            this.textReader = lines;
+            return this.records(new TextIterator(lines) {
+
+                @Override
+                protected String readText() throws IOException {
+                    return lines.readLine();
+                }
+            });
+        }
+        if (split == ExtendedRawTextConfiguration.Split.CHUNKS) {
+            final char[] chunk = new char[Math.max(1, this.extendedConfiguration.getChunkSize())];
+            return this.records(new TextIterator(this.textReader) {
+
+                @Override
+                protected String readText() throws IOException {
+                    final int size = RawTextRecordReader.fill(this.reader, chunk);
+                    return size > 0 ? new String(chunk, 0, size) : null;
+                }
+            });
+        }
+
+        return Collections.singletonList(this.buildRecord(this.readAll())).iterator();
+    }
+
+    @Override
+    public void close() {
+        if (this.textReader != null) {
+            try {
+                this.textReader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can't close raw text reader.", e);
+            }
+            this.textReader = null;
+        }
+    }
+
+    private Charset charset() {
+        final String charsetName = this.extendedConfiguration.getCharset();
+        if (charsetName == null) {
+            return Charset.defaultCharset();
+        }
         try {
-            final byte[] buffer = new byte[512];
-            int nbe = reader.read(buffer);
-            while (nbe > 0) {
-                out.write(buffer, 0, nbe);
-                nbe = reader.read(buffer);
+            return Charset.forName(charsetName);
+        } catch (UnsupportedCharsetException | IllegalCharsetNameException e) {
+            throw new RuntimeException("Unknown encoding for RawTextRecordReader '" + charsetName + "'", e);
+        }
+    }
+
+    private String readAll() {
+        final StringBuilder content = new StringBuilder();
+        try {
+            final char[] buffer = new char[BUFFER_SIZE];
+            int nbe = this.textReader.read(buffer);
+            while (nbe >= 0) {
+                content.append(buffer, 0, nbe);
+                nbe = this.textReader.read(buffer);
             }
         } catch (IOException e) {
             throw new UncheckedIOException("Can't build raw text record.", e);
+        } finally {
+            this.close();
         }
+        return content.toString();
+    }
 
-        try {
-            Record record = recordFactory.newRecordBuilder()
-                    .withString("content", out.toString(this.extendedConfiguration.getCharset())).build();
-            return Collections.singletonList(record).iterator();
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(
-                    "Unknown encoding for RawTextRecordReader '" + this.extendedConfiguration.getCharset() + "'", e);
+    private Iterator<Record> records(final TextIterator texts) {
+        if (!texts.hasNext() && this.extendedConfiguration.isForceOneRow()) {
+            return Collections.singletonList(this.buildRecord("")).iterator();
         }
+        return texts;
+    }
 
+    private Record buildRecord(final String content) {
+        return recordFactory.newRecordBuilder().withString("content", content).build();
     }
 
-    @Override
-    public void close() {
-        // Nothing to do
+    /**
+     * Read chars until array is full or end of text is reached.
+     *
+     * @return number of read chars.
+     */
+    private static int fill(final Reader reader, final char[] target) throws IOException {
+        int size = 0;
+        while (size < target.length) {
+            final int nbe = reader.read(target, size, target.length - size);
+            if (nbe < 0) {
+                break;
+            }
+            size += nbe;
+        }
+        return size;
+    }
+
+    /**
+     * Lazy iterator on records built from successive pieces of text, so records are available while text is downloading.
+     */
+    private abstract class TextIterator implements Iterator<Record> {
+
+        protected final Reader reader;
+
+        /** next piece of text, null at the end */
+        private String next;
+
+        private boolean nextRead = false;
+
+        TextIterator(final Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return next piece of text, null at end of text.
+         */
+        protected abstract String readText() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (!this.nextRead) {
+                try {
+                    this.next = this.readText();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Can't build raw text record.", e);
+                }
+                this.nextRead = true;
+                if (this.next == null) {
+                    RawTextRecordReader.this.close();
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Record next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No more raw text record.");
+            }
+            this.nextRead = false;
+            return RawTextRecordReader.this.buildRecord(this.next);
+        }
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.collections;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Close propagation between composed iterators.
+ */
+@Slf4j
+final class Closeables {
+
+    private Closeables() {
+    }
+
+    /**
+     * Close an inner-iterator if it's closeable, so closing last stage of a composition closes all previous ones.
+     *
+     * @param iterator : inner-iterator.
+     */
+    static void close(Object iterator) {
+        if (iterator instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) iterator).close();
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                log.error("Close error : " + ex.getMessage(), ex);
+                throw new RuntimeException("Close error : " + ex.getMessage(), ex);
+            }
+        }
+    }
+}
@@ -22,7 +22,7 @@ import java.util.Queue;
  * Iterator that give all records of inner-iterator except n last-one.
  * Usefull when reading source with footer.
  */
-public class DelayedIterator<T> implements Iterator<T> {
+public class DelayedIterator<T> implements Iterator<T>, AutoCloseable {
 
     private final Iterator<T> wrapped;
 
@@ -59,6 +59,11 @@ public class DelayedIterator<T> implements Iterator<T> {
         return null;
     }
 
+    @Override
+    public void close() {
+        Closeables.close(this.wrapped);
+    }
+
     private void init() {
         for (int i = 0; i < this.sizeTempElement; i++) {
             if (this.wrapped.hasNext()) {
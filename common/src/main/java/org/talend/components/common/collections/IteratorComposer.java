@@ -14,6 +14,7 @@ package org.talend.components.common.collections;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -62,8 +63,44 @@ public class IteratorComposer<T> {
         return IteratorComposer.of(delayedIterator);
     }
 
+    /**
+     * Read ahead elements on a dedicated daemon thread.
+     * 
+     * @param size : max number of elements read ahead.
+     * @return iterator composer.
+     */
+    public IteratorComposer<T> prefetch(int size) {
+        return this.async(PrefetchIterator.daemonExecutor(), size);
+    }
+
+    /**
+     * Read ahead elements with an executor (reading of all previous stages run on executor thread);
+     * built iterator is closeable to stop reading.
+     * 
+     * @param executor : executor for reading task.
+     * @param size : max number of elements read ahead.
+     * @return iterator composer.
+     */
+    public IteratorComposer<T> async(Executor executor, int size) {
+        final Iterator<T> prefetchIterator = new PrefetchIterator<>(this.iterator, size, executor);
+        return IteratorComposer.of(prefetchIterator);
+    }
+
+    /**
+     * Add a close function, called before closing previous stages.
+     * 
+     * @param closeFunction : close function.
+     * @return iterator composer.
+     */
     public IteratorComposer<T> closeable(AutoCloseable closeFunction) {
-        final Iterator<T> closeableIterator = new CloseableIterator<>(this.iterator, closeFunction);
+        final Iterator<T> upstream = this.iterator;
+        final Iterator<T> closeableIterator = new CloseableIterator<>(upstream, () -> {
+            try {
+                closeFunction.close();
+            } finally {
+                Closeables.close(upstream);
+            }
+        });
         return IteratorComposer.of(closeableIterator);
     }
 
@@ -110,6 +147,12 @@ public class IteratorComposer<T> {
         };
     }
 
+    /**
+     * Composed iterator; each stage is {@link AutoCloseable} and closing it closes all previous stages
+     * (so stops prefetch reading thread, whatever stages follow it).
+     * 
+     * @return iterator.
+     */
     public Iterator<T> build() {
         return this.iterator;
     }
@@ -16,7 +16,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 
-public class IteratorFilter<T> implements Iterator<T> {
+public class IteratorFilter<T> implements Iterator<T>, AutoCloseable {
 
     private final Iterator<T> primaryIterator;
 
@@ -45,6 +45,11 @@ public class IteratorFilter<T> implements Iterator<T> {
         return result;
     }
 
+    @Override
+    public void close() {
+        Closeables.close(this.primaryIterator);
+    }
+
     private T searchNext() {
         while (this.primaryIterator.hasNext()) {
             final T next = this.primaryIterator.next();
@@ -15,7 +15,7 @@ package org.talend.components.common.collections;
 import java.util.Iterator;
 import java.util.function.Function;
 
-public class IteratorFlatmap<T, U> implements Iterator<U> {
+public class IteratorFlatmap<T, U> implements Iterator<U>, AutoCloseable {
 
     /** primary iterator */
     private final Iterator<T> primaryIterator;
@@ -48,6 +48,15 @@ public class IteratorFlatmap<T, U> implements Iterator<U> {
         return this.subIterator.next();
     }
 
+    @Override
+    public void close() {
+        try {
+            Closeables.close(this.subIterator);
+        } finally {
+            Closeables.close(this.primaryIterator);
+        }
+    }
+
     private void nextSub() {
         if (this.primaryIterator.hasNext()) {
             final T source = this.primaryIterator.next();
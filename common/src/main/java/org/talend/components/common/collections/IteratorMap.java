@@ -21,7 +21,7 @@ import java.util.function.Function;
  * @param <T> : type of primary iterator.
  * @param <U> : target type of this iterator.
  */
-public class IteratorMap<T, U> implements Iterator<U> {
+public class IteratorMap<T, U> implements Iterator<U>, AutoCloseable {
 
     /**
      * primary iterator
@@ -63,4 +63,9 @@ public class IteratorMap<T, U> implements Iterator<U> {
 
         return this.mapFunction.apply(primaryObject);
     }
+
+    @Override
+    public void close() {
+        Closeables.close(this.primaryIterator);
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Iterator that read ahead elements of inner-iterator on another thread (bounded queue),
+ * so reading/decoding next elements overlap with processing of current one.
+ * Inner-iterator is only used by reading thread (started on first access), even on close that waits this thread end;
+ * its errors are thrown back to consumer by hasNext/next.
+ * If reading thread is stuck in inner-iterator (not interruptible read), close doesn't wait more than
+ * {@link #CLOSE_TIMEOUT_MS} and inner-iterator is closed by reading thread when it returns.
+ */
+@Slf4j
+public class PrefetchIterator<T> implements Iterator<T>, AutoCloseable {
+
+    /** end of inner-iterator marker */
+    private static final Object END = new Object();
+
+    /** null element marker */
+    private static final Object NULL = new Object();
+
+    /** delay between checks of close while queue is full */
+    private static final long OFFER_TIMEOUT_MS = 100L;
+
+    /** max wait of reading thread end on close */
+    static final long CLOSE_TIMEOUT_MS = 1000L;
+
+    private final Iterator<T> wrapped;
+
+    private final Executor executor;
+
+    private final BlockingQueue<Object> queue;
+
+    private boolean started = false;
+
+    /** next queued element (or marker), null if not yet taken */
+    private Object current;
+
+    private volatile boolean closed = false;
+
+    /** reading thread, while reading */
+    private Thread reader;
+
+    /** guard reading thread interruption */
+    private final Object readerLock = new Object();
+
+    /** released when reading thread stops using inner-iterator */
+    private final CountDownLatch readerDone = new CountDownLatch(1);
+
+    /** reading thread has stopped using inner-iterator (guarded by readerLock) */
+    private boolean readerStopped = false;
+
+    /** close timed out, reading thread closes inner-iterator when it stops (guarded by readerLock) */
+    private boolean closeOnReaderStop = false;
+
+    public PrefetchIterator(Iterator<T> wrapped, int size, Executor executor) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Prefetch size must be positive, was " + size);
+        }
+        this.wrapped = wrapped;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Executor that run each task on a new daemon thread.
+     *
+     * @return executor.
+     */
+    public static Executor daemonExecutor() {
+        return (Runnable task) -> {
+            final Thread thread = new Thread(task, "iterator-prefetch");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        final Object element = this.current();
+        if (element instanceof Failure) {
+            throw ((Failure) element).toException();
+        }
+        return element != END;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("No more element");
+        }
+        final Object element = this.current;
+        this.current = null;
+        @SuppressWarnings("unchecked")
+        final T value = element == NULL ? null : (T) element;
+        return value;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return; // run once.
+        }
+        this.closed = true;
+        synchronized (this.readerLock) {
+            if (this.reader != null) {
+                this.reader.interrupt();
+            }
+        }
+        this.queue.clear();
+        if (this.started && !this.awaitReader()) {
+            synchronized (this.readerLock) {
+                if (!this.readerStopped) {
+                    this.closeOnReaderStop = true;
+                    log.warn("Prefetch reading thread still running after {} ms, it will close inner iterator",
+                            CLOSE_TIMEOUT_MS);
+                    return;
+                }
+            }
+        }
+        Closeables.close(this.wrapped);
+    }
+
+    /**
+     * Wait reading thread stops, so inner-iterator is not closed while it's still in use.
+     *
+     * @return true if reading thread stopped.
+     */
+    private boolean awaitReader() {
+        try {
+            return this.readerDone.await(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting end of prefetch reading thread");
+            return false;
+        }
+    }
+
+    private Object current() {
+        if (this.current == null) {
+            if (this.closed) {
+                this.current = END;
+                return END;
+            }
+            if (!this.started) {
+                this.executor.execute(this::read);
+                this.started = true;
+            }
+            try {
+                this.current = this.queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for next element", ex);
+            }
+            if (this.current == END) {
+                this.close();
+            }
+        }
+        return this.current;
+    }
+
+    /**
+     * Reading thread : iterate on inner-iterator while there is room in queue.
+     */
+    private void read() {
+        synchronized (this.readerLock) {
+            if (this.closed) {
+                this.readerStopped = true;
+                this.readerDone.countDown();
+                return;
+            }
+            this.reader = Thread.currentThread();
+        }
+        try {
+            while (!this.closed && this.wrapped.hasNext()) {
+                final T element = this.wrapped.next();
+                this.put(element == null ? NULL : element);
+            }
+            this.put(END);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error ex) {
+            if (!this.closed) {
+                this.putFailure(ex);
+            }
+        } finally {
+            final boolean closeWrapped;
+            synchronized (this.readerLock) {
+                this.reader = null;
+                this.readerStopped = true;
+                closeWrapped = this.closeOnReaderStop;
+                Thread.interrupted(); // don't leave interruption flag on executor thread.
+            }
+            this.readerDone.countDown();
+            if (closeWrapped) {
+                this.closeAfterTimeout();
+            }
+        }
+    }
+
+    private void closeAfterTimeout() {
+        try {
+            Closeables.close(this.wrapped);
+        } catch (RuntimeException ex) {
+            log.error("Close error : " + ex.getMessage(), ex); // no consumer left to report it.
+        }
+    }
+
+    private void put(Object element) throws InterruptedException {
+        while (!this.closed && !this.queue.offer(element, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            // queue full, wait consumer.
+        }
+    }
+
+    private void putFailure(Throwable error) {
+        try {
+            this.put(new Failure(error));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Error of reading thread.
+     */
+    private static class Failure {
+
+        private final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+
+        RuntimeException toException() {
+            if (this.error instanceof Error) {
+                throw (Error) this.error;
+            }
+            if (this.error instanceof RuntimeException) {
+                return (RuntimeException) this.error;
+            }
+            return new RuntimeException("Prefetch error : " + this.error.getMessage(), this.error);
+        }
+    }
+}
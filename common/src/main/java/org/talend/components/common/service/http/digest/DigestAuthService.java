@@ -13,6 +13,7 @@
 package org.talend.components.common.service.http.digest;
 
 import org.talend.components.common.service.http.common.BasicHeader;
+import org.talend.components.common.service.http.common.UserNamePassword;
 import org.talend.sdk.component.api.service.http.HttpException;
 import org.talend.sdk.component.api.service.http.Response;
 
@@ -20,16 +21,27 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 public class DigestAuthService {
 
+    /** digest sessions by host, port and credentials */
+    private final Map<String, DigestSession> sessions = new ConcurrentHashMap<>();
+
     public Response call(DigestAuthContext context, Supplier<Response> supplier) {
 
         int status = -1;
         Map<String, List<String>> headers = Collections.emptyMap();
         Response response = null;
+        final String sessionKey = sessionKey(context);
         try {
+            DigestSession session = this.sessions.get(sessionKey);
+            if (session != null) {
+                // Authenticate pre-emptively with the last challenge of this host
+                context.setDigestAuthHeader(session.authorize(context));
+            }
+
             try {
                 response = supplier.get();
                 if (response != null) {
@@ -47,17 +59,23 @@ public class DigestAuthService {
                 List<String> lwa = Optional.ofNullable(headers.get("WWW-Authenticate")).orElse(Collections.emptyList());
                 if (lwa.size() > 0) {
                     // if WWW-Authenticate exists
+                    // replayed once with the new challenge, even with the same nonce: the pre-emptive nonce count
+                    // may have been rejected as out of order by concurrent requests.
                     BasicHeader authChallenge = new BasicHeader("WWW-Authenticate", lwa.get(0));
-                    DigestScheme scheme = new DigestScheme();
-                    String digest = scheme.createDigestResponse(context.getCredentials().getUser(),
-                            context.getCredentials().getPassword(), authChallenge, context); // compute header
-                    context.setDigestAuthHeader(digest);
+                    session = new DigestSession(authChallenge);
+                    context.setDigestAuthHeader(session.authorize(context)); // compute header
 
                     response = supplier.get();
 
+                    if (response != null && response.status() != 401) {
+                        this.sessions.put(sessionKey, session);
+                    } else {
+                        this.sessions.remove(sessionKey);
+                    }
                 }
             }
         } catch (DigestScheme.AuthenticationException e) {
+            this.sessions.remove(sessionKey);
             throw new RuntimeException(e.getMessage(), e);
         } finally {
             context.setDigestAuthHeader(null);
@@ -66,4 +84,10 @@ public class DigestAuthService {
         return response;
     }
 
+    private static String sessionKey(final DigestAuthContext context) {
+        final UserNamePassword credentials = context.getCredentials();
+        final String user = credentials == null ? "" : credentials.getUser() + '#' + credentials.hashCode();
+        return context.getHost() + ':' + context.getPort() + ':' + user;
+    }
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.service.http.digest;
+
+import org.talend.components.common.service.http.common.BasicHeader;
+
+/**
+ * Digest authentication state shared by requests to a same host with same credentials.
+ * The last challenge of the server is kept, so next requests are authenticated pre-emptively
+ * with the same nonce and an incremented nonce count, without waiting for a 401 answer.
+ */
+public class DigestSession {
+
+    /** keep nonce, nonce count and cnonce between requests */
+    private final DigestScheme scheme = new DigestScheme();
+
+    private final BasicHeader challenge;
+
+    public DigestSession(final BasicHeader challenge) {
+        this.challenge = challenge;
+    }
+
+    /**
+     * Compute authorization header for a request.
+     *
+     * @param context : request to authenticate.
+     * @return value of authorization header.
+     */
+    public synchronized String authorize(final DigestAuthContext context) throws DigestScheme.AuthenticationException {
+        return this.scheme.createDigestResponse(context.getCredentials().getUser(), context.getCredentials().getPassword(),
+                this.challenge, context);
+    }
+
+}
@@ -12,10 +12,13 @@
  */
 package org.talend.components.common.text;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -64,9 +67,15 @@ public class Substitutor {
     /** key finder for a String */
     public static class KeyFinder {
 
+        /** maximum number of compiled templates kept by a finder */
+        private static final int MAX_TEMPLATES = 1024;
+
         /** regular expression for search. */
         private final Pattern pattern;
 
+        /** compiled templates by source string */
+        private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
         public KeyFinder(String prefix, String suffix) {
             String aPrefix = escapeChars(prefix);
             String aSuffix = escapeChars(suffix);
@@ -104,6 +113,48 @@ public class Substitutor {
             };
         }
 
+        /**
+         * Compile a string into a template, searching placeholders only the first time a string is given.
+         * 
+         * @param source : string with placeholders.
+         * @return template to render with a place holder function.
+         */
+        public Template compile(String source) {
+            Template template = this.templates.get(source);
+            if (template == null) {
+                template = this.parse(source);
+                if (this.templates.size() < MAX_TEMPLATES) {
+                    this.templates.putIfAbsent(source, template);
+                }
+            }
+            return template;
+        }
+
+        private Template parse(String source) {
+            final List<Segment> segments = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+            final Iterator<FindResult> results = this.search(source);
+
+            int curr = 0;
+            while (results.hasNext()) {
+                final FindResult result = results.next();
+
+                if (result.start == 0 || source.charAt(result.start - 1) != ESCAPE) {
+                    literal.append(source, curr, result.start);
+                    Segment.addLiteral(segments, literal);
+                    segments.add(Segment.placeholder(result.key));
+                    curr = result.end;
+                } else { // escaped placeholder
+                    literal.append(source, curr, result.start - 1);
+                    curr = result.start;
+                }
+            }
+            literal.append(source, curr, source.length());
+            Segment.addLiteral(segments, literal);
+
+            return new Template(source, segments.toArray(new Segment[0]));
+        }
+
         /**
          * Refine prefix and suffix for regular expression.
          * 
@@ -124,6 +175,9 @@ public class Substitutor {
     /** key finder with defined prefix / suffix */
     private final KeyFinder finder;
 
+    /** reused to render templates, so a substitutor must not be shared between threads */
+    private final StringBuilder buffer = new StringBuilder();
+
     /**
      * Constructor
      * 
@@ -154,47 +208,113 @@ public class Substitutor {
             return null;
         }
 
-        final Iterator<FindResult> results = this.finder.search(source);
+        final Template template = this.finder.compile(source);
+        if (template.isConstant()) {
+            return template.getSource();
+        }
 
-        StringBuilder sb = new StringBuilder();
-        int curr = 0;
-        while (results.hasNext()) {
-            final FindResult result = results.next();
+        this.buffer.setLength(0);
+        template.render(this.placeholderProvider, this.buffer);
+        return this.buffer.toString();
+    }
 
-            if (result.start == 0 || source.charAt(result.start - 1) != ESCAPE) {
-                sb.append(source.substring(curr, result.start)).append(findOrDefault(result.key));
-                curr = result.end;
-            } else { // escaped placeholder
-                sb.append(source.substring(curr, result.start - 1));
-                curr = result.start;
-            }
+    /**
+     * String with placeholders, splitted once in literal parts and placeholders.
+     * Immutable, so it can be shared between threads and rendered for each record.
+     */
+    public static class Template {
+
+        /** compiled string */
+        private final String source;
+
+        private final Segment[] segments;
+
+        /** true if there is nothing to replace */
+        private final boolean constant;
+
+        private Template(String source, Segment[] segments) {
+            this.source = source;
+            this.segments = segments;
+            this.constant = segments.length == 0
+                    || (segments.length == 1 && segments[0].key == null && segments[0].text.equals(source));
         }
 
-        if (curr < source.length()) {
-            sb.append(source.substring(curr));
+        public String getSource() {
+            return source;
         }
 
-        return sb.toString();
+        /**
+         * @return true if template has no placeholder (escaped ones excepted).
+         */
+        public boolean isConstant() {
+            return this.constant;
+        }
+
+        /**
+         * Render template.
+         * 
+         * @param placeholderProvider : give value of a key, null if unknown.
+         * @return rendered string.
+         */
+        public String render(UnaryOperator<String> placeholderProvider) {
+            if (this.isConstant()) {
+                return this.source;
+            }
+            final StringBuilder target = new StringBuilder(this.source.length() + 16);
+            this.render(placeholderProvider, target);
+            return target.toString();
+        }
+
+        /**
+         * Render template at the end of target.
+         * 
+         * @param placeholderProvider : give value of a key, null if unknown.
+         * @param target : builder to append to.
+         */
+        public void render(UnaryOperator<String> placeholderProvider, StringBuilder target) {
+            for (Segment segment : this.segments) {
+                if (segment.key == null) {
+                    target.append(segment.text);
+                } else {
+                    final String value = placeholderProvider.apply(segment.key);
+                    target.append(value == null ? segment.text : value);
+                }
+            }
+        }
     }
 
     /**
-     * Find value for key in place holder or give default.
-     * 
-     * @param key : simple key 'hello' or with default 'hello:-hi'
-     * @return give value for key with function or default if it's unknown for function.
+     * Part of a template : literal text if key is null, placeholder with its default value as text otherwise.
      */
-    private String findOrDefault(String key) {
-        String defaultValue = "";
+    private static class Segment {
+
+        private final String key;
+
+        private final String text;
+
+        private Segment(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
 
-        Matcher matcher = DELIMITER.matcher(key);
-        if (matcher.matches()) {
-            // there's a default value.
-            key = matcher.group(1);
-            defaultValue = matcher.group(2);
+        /**
+         * @param key : simple key 'hello' or with default 'hello:-hi'
+         */
+        static Segment placeholder(String key) {
+            final Matcher matcher = DELIMITER.matcher(key);
+            if (matcher.matches()) {
+                // there's a default value.
+                return new Segment(matcher.group(1), matcher.group(2));
+            }
+            return new Segment(key, "");
         }
 
-        final String s = placeholderProvider.apply(key);
-        return Optional.ofNullable(s).orElse(defaultValue);
+        static void addLiteral(List<Segment> segments, StringBuilder literal) {
+            if (literal.length() > 0) {
+                segments.add(new Segment(null, literal.toString()));
+                literal.setLength(0);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PrefetchIteratorTest {
+
+    @Test
+    void keepOrder() {
+        final List<Integer> source = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        final PrefetchIterator<Integer> iterator = new PrefetchIterator<>(source.iterator(), 7,
+                PrefetchIterator.daemonExecutor());
+        final List<Integer> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        Assertions.assertEquals(source, result);
+        Assertions.assertFalse(iterator.hasNext());
+        Assertions.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void nullElements() {
+        final PrefetchIterator<String> iterator = new PrefetchIterator<>(Arrays.asList("a", null, "b", null).iterator(), 2,
+                PrefetchIterator.daemonExecutor());
+        final List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        Assertions.assertEquals(Arrays.asList("a", null, "b", null), result);
+    }
+
+    @Test
+    void error() {
+        final Iterator<Integer> failing = new Iterator<Integer>() {
+
+            private int count = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (count == 3) {
+                    throw new IllegalStateException("read error");
+                }
+                return count++;
+            }
+        };
+        final PrefetchIterator<Integer> iterator = new PrefetchIterator<>(failing, 10, PrefetchIterator.daemonExecutor());
+        Assertions.assertEquals(Arrays.asList(0, 1, 2), Arrays.asList(iterator.next(), iterator.next(), iterator.next()));
+        final IllegalStateException error = Assertions.assertThrows(IllegalStateException.class, iterator::hasNext);
+        Assertions.assertEquals("read error", error.getMessage());
+    }
+
+    @Test
+    void closeAfterReader() throws InterruptedException {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final AtomicBoolean inNext = new AtomicBoolean(false);
+        final AtomicBoolean closedWhileReading = new AtomicBoolean(false);
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final SlowIterator source = new SlowIterator(reading, inNext, closedWhileReading, closed);
+
+        final PrefetchIterator<Integer> iterator = new PrefetchIterator<>(source, 1, PrefetchIterator.daemonExecutor());
+        Assertions.assertTrue(iterator.hasNext());
+        Assertions.assertTrue(reading.await(5, TimeUnit.SECONDS));
+        iterator.close();
+
+        Assertions.assertTrue(closed.get());
+        Assertions.assertFalse(closedWhileReading.get());
+        iterator.close(); // run once.
+    }
+
+    @Test
+    void closeComposed() throws Exception {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final AtomicBoolean inNext = new AtomicBoolean(false);
+        final AtomicBoolean closedWhileReading = new AtomicBoolean(false);
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final SlowIterator source = new SlowIterator(reading, inNext, closedWhileReading, closed);
+
+        final Iterator<String> iterator = IteratorComposer.of(source) //
+                .prefetch(1) //
+                .map(String::valueOf) //
+                .filter((String value) -> !value.isEmpty()) //
+                .build();
+        Assertions.assertEquals("0", iterator.next());
+        Assertions.assertTrue(reading.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(iterator instanceof AutoCloseable);
+        ((AutoCloseable) iterator).close();
+
+        Assertions.assertTrue(closed.get());
+        Assertions.assertFalse(closedWhileReading.get());
+    }
+
+    @Test
+    void closeWithBlockedReader() throws InterruptedException {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final AtomicBoolean closedWhileReading = new AtomicBoolean(false);
+        final BlockedIterator source = new BlockedIterator(reading, release, closed, closedWhileReading);
+
+        final PrefetchIterator<Integer> iterator = new PrefetchIterator<>(source, 1, PrefetchIterator.daemonExecutor());
+        Assertions.assertTrue(iterator.hasNext());
+        Assertions.assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        final long start = System.currentTimeMillis();
+        iterator.close();
+        Assertions.assertTrue(System.currentTimeMillis() - start < PrefetchIterator.CLOSE_TIMEOUT_MS + 2000L);
+        Assertions.assertEquals(1L, closed.getCount()); // still in use by reading thread.
+
+        release.countDown();
+        Assertions.assertTrue(closed.await(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(closedWhileReading.get());
+    }
+
+    /**
+     * Iterator whose second element blocks, ignoring interruptions, until released.
+     */
+    private static class BlockedIterator implements Iterator<Integer>, AutoCloseable {
+
+        private final CountDownLatch reading;
+
+        private final CountDownLatch release;
+
+        private final CountDownLatch closed;
+
+        private final AtomicBoolean closedWhileReading;
+
+        private volatile boolean inNext = false;
+
+        private int count = 0;
+
+        BlockedIterator(CountDownLatch reading, CountDownLatch release, CountDownLatch closed,
+                AtomicBoolean closedWhileReading) {
+            this.reading = reading;
+            this.release = release;
+            this.closed = closed;
+            this.closedWhileReading = closedWhileReading;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Integer next() {
+            this.inNext = true;
+            try {
+                if (this.count > 0) {
+                    this.reading.countDown();
+                    this.awaitRelease();
+                }
+                return this.count++;
+            } finally {
+                this.inNext = false;
+            }
+        }
+
+        private void awaitRelease() {
+            boolean released = false;
+            while (!released) {
+                try {
+                    released = this.release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    // not interruptible read.
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.inNext) {
+                this.closedWhileReading.set(true);
+            }
+            this.closed.countDown();
+        }
+    }
+
+    /**
+     * Infinite iterator, slow to give its elements, that records if it's closed during a call to next.
+     */
+    private static class SlowIterator implements Iterator<Integer>, AutoCloseable {
+
+        private final CountDownLatch reading;
+
+        private final AtomicBoolean inNext;
+
+        private final AtomicBoolean closedWhileReading;
+
+        private final AtomicBoolean closed;
+
+        private int count = 0;
+
+        SlowIterator(CountDownLatch reading, AtomicBoolean inNext, AtomicBoolean closedWhileReading, AtomicBoolean closed) {
+            this.reading = reading;
+            this.inNext = inNext;
+            this.closedWhileReading = closedWhileReading;
+            this.closed = closed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Integer next() {
+            this.inNext.set(true);
+            try {
+                if (this.count > 0) {
+                    this.reading.countDown();
+                    final long end = System.currentTimeMillis() + 200L;
+                    while (System.currentTimeMillis() < end) {
+                        // busy read, not interruptible.
+                    }
+                }
+                return this.count++;
+            } finally {
+                this.inNext.set(false);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.inNext.get()) {
+                this.closedWhileReading.set(true);
+            }
+            if (!this.closed.compareAndSet(false, true)) {
+                throw new IllegalStateException("closed twice");
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.service.http.digest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.service.http.common.UserNamePassword;
+import org.talend.sdk.component.api.service.http.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class DigestAuthServiceTest {
+
+    private static final Pattern NC = Pattern.compile("nc=(\\w+)");
+
+    private static final Pattern NONCE = Pattern.compile("nonce=\"(\\w+)\"");
+
+    @Test
+    void preemptiveAuthentication() {
+        final DigestAuthService service = new DigestAuthService();
+        final FakeServer server = new FakeServer("nonce1");
+
+        for (int i = 0; i < 3; i++) {
+            final DigestAuthContext context = newContext();
+            final Response response = service.call(context, () -> server.answer(context));
+            Assertions.assertEquals(200, response.status());
+        }
+
+        // one challenge, then each request is authenticated at first try with an incremented nonce count
+        Assertions.assertEquals(4, server.requests.size());
+        Assertions.assertNull(server.requests.get(0));
+        Assertions.assertEquals("00000001", nc(server.requests.get(1)));
+        Assertions.assertEquals("00000002", nc(server.requests.get(2)));
+        Assertions.assertEquals("00000003", nc(server.requests.get(3)));
+    }
+
+    @Test
+    void staleNonce() {
+        final DigestAuthService service = new DigestAuthService();
+        final FakeServer server = new FakeServer("nonce1");
+
+        final DigestAuthContext first = newContext();
+        Assertions.assertEquals(200, service.call(first, () -> server.answer(first)).status());
+
+        server.nonce = "nonce2";
+        final DigestAuthContext second = newContext();
+        Assertions.assertEquals(200, service.call(second, () -> server.answer(second)).status());
+
+        // challenge, authenticated, stale, authenticated with new nonce
+        Assertions.assertEquals(4, server.requests.size());
+        Assertions.assertTrue(server.requests.get(2).contains("nonce=\"nonce1\""));
+        Assertions.assertTrue(server.requests.get(3).contains("nonce=\"nonce2\""));
+        Assertions.assertEquals("00000001", nc(server.requests.get(3)));
+    }
+
+    @Test
+    void rejectedCredentials() {
+        final DigestAuthService service = new DigestAuthService();
+        final FakeServer server = new FakeServer("nonce1");
+
+        final DigestAuthContext first = newContext();
+        Assertions.assertEquals(200, service.call(first, () -> server.answer(first)).status());
+
+        server.rejectAll = true;
+        final DigestAuthContext second = newContext();
+        Assertions.assertEquals(401, service.call(second, () -> server.answer(second)).status());
+        // replayed once with the new challenge, then the session is dropped
+        Assertions.assertEquals(4, server.requests.size());
+
+        server.rejectAll = false;
+        final DigestAuthContext third = newContext();
+        Assertions.assertEquals(200, service.call(third, () -> server.answer(third)).status());
+        Assertions.assertNull(server.requests.get(4));
+    }
+
+    @Test
+    void rejectedNonceCount() {
+        final DigestAuthService service = new DigestAuthService();
+        final FakeServer server = new FakeServer("nonce1");
+
+        final DigestAuthContext first = newContext();
+        Assertions.assertEquals(200, service.call(first, () -> server.answer(first)).status());
+
+        // same nonce without stale flag, as a server checking nonce count order would answer
+        server.rejectNext = true;
+        final DigestAuthContext second = newContext();
+        Assertions.assertEquals(200, service.call(second, () -> server.answer(second)).status());
+        Assertions.assertEquals(4, server.requests.size());
+        Assertions.assertTrue(server.requests.get(3).contains("nonce=\"nonce1\""));
+
+        // session is kept for next requests
+        final DigestAuthContext third = newContext();
+        Assertions.assertEquals(200, service.call(third, () -> server.answer(third)).status());
+        Assertions.assertEquals(5, server.requests.size());
+        Assertions.assertNotNull(server.requests.get(4));
+    }
+
+    private DigestAuthContext newContext() {
+        return new DigestAuthContext("/digest", "GET", "localhost", 8080, null, new UserNamePassword("user", "pwd"));
+    }
+
+    private static String nc(final String header) {
+        final Matcher matcher = NC.matcher(header);
+        Assertions.assertTrue(matcher.find(), header);
+        return matcher.group(1);
+    }
+
+    private static class FakeServer {
+
+        private final List<String> requests = new ArrayList<>();
+
+        private String nonce;
+
+        private boolean rejectAll = false;
+
+        private boolean rejectNext = false;
+
+        FakeServer(final String nonce) {
+            this.nonce = nonce;
+        }
+
+        Response answer(final DigestAuthContext context) {
+            final String authorization = context.getDigestAuthHeader();
+            requests.add(authorization);
+            if (authorization == null || rejectAll || rejectNext) {
+                rejectNext = false;
+                return challenge(false);
+            }
+            final Matcher matcher = NONCE.matcher(authorization);
+            if (!matcher.find() || !nonce.equals(matcher.group(1))) {
+                return challenge(true);
+            }
+            return new FakeResponse(200, Collections.emptyMap());
+        }
+
+        private Response challenge(final boolean stale) {
+            final String challenge = "Digest realm=\"test\", nonce=\"" + nonce + "\", qop=\"auth\", algorithm=MD5, stale="
+                    + (stale ? "TRUE" : "FALSE");
+            return new FakeResponse(401, Collections.singletonMap("WWW-Authenticate", Collections.singletonList(challenge)));
+        }
+    }
+
+    private static class FakeResponse implements Response<String> {
+
+        private final int status;
+
+        private final Map<String, List<String>> headers;
+
+        FakeResponse(final int status, final Map<String, List<String>> headers) {
+            this.status = status;
+            this.headers = headers;
+        }
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return headers;
+        }
+
+        @Override
+        public String body() {
+            return null;
+        }
+
+        @Override
+        public <E> E error(final Class<E> type) {
+            return null;
+        }
+    }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.talend.components.common.text;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -65,4 +66,25 @@ class SubstitutorTest {
         Assertions.assertFalse(res.hasNext());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testCompiledTemplate() {
+        final Substitutor.KeyFinder finder = new Substitutor.KeyFinder("{", "}");
+        final Substitutor.Template template = finder.compile("/users/{/id}/items?name={/name:-none}&raw=\\{/id}");
+        Assertions.assertSame(template, finder.compile("/users/{/id}/items?name={/name:-none}&raw=\\{/id}"));
+        Assertions.assertFalse(template.isConstant());
+
+        final Map<String, String> first = new HashMap<>();
+        first.put("/id", "1");
+        first.put("/name", "joe");
+        Assertions.assertEquals("/users/1/items?name=joe&raw={/id}", template.render(first::get));
+
+        final StringBuilder target = new StringBuilder("> ");
+        template.render(Collections.singletonMap("/id", "2")::get, target);
+        Assertions.assertEquals("> /users/2/items?name=none&raw={/id}", target.toString());
+
+        final Substitutor.Template constant = finder.compile("no placeholder");
+        Assertions.assertTrue(constant.isConstant());
+        Assertions.assertSame("no placeholder", constant.render(k -> "unused"));
+    }
+
+}
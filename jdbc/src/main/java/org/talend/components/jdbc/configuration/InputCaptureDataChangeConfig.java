@@ -15,11 +15,13 @@ package org.talend.components.jdbc.configuration;
 import lombok.Data;
 import org.talend.components.jdbc.dataset.ChangeDataCaptureDataset;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
 @Data
 @GridLayout({ @GridLayout.Row({ "dataSet" }), @GridLayout.Row("changeOffsetOnRead") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }), @GridLayout.Row("pollInterval") })
 @Documentation("Stream table input configuration")
 public class InputCaptureDataChangeConfig implements InputConfig {
 
@@ -31,6 +33,11 @@ public class InputCaptureDataChangeConfig implements InputConfig {
     @Documentation("Change offset on read")
     private ChangeOffsetOnReadStrategy changeOffsetOnRead = ChangeOffsetOnReadStrategy.NO;
 
+    @Option
+    @Min(0)
+    @Documentation("Minimum delay in milliseconds between two reads of the stream when the previous read returned no change.")
+    private long pollInterval = 2000;
+
     public enum ChangeOffsetOnReadStrategy {
         YES,
         NO
@@ -12,15 +12,20 @@
  */
 package org.talend.components.jdbc.configuration;
 
+import static org.talend.components.jdbc.service.UIActionService.ACTION_SUGGESTION_TABLE_COLUMNS_NAMES;
+
 import lombok.Data;
 import org.talend.components.jdbc.dataset.TableNameDataset;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.action.Suggestable;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
 @Data
 @GridLayout(value = { @GridLayout.Row({ "dataSet" }) })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }), @GridLayout.Row("partitionCount"),
+        @GridLayout.Row("partitionColumn") })
 @Documentation("Table name input configuration")
 public class InputTableNameConfig implements InputConfig {
 
@@ -28,4 +33,16 @@ public class InputTableNameConfig implements InputConfig {
     @Documentation("table name dataset")
     private TableNameDataset dataSet;
 
+    @Option
+    @Min(1)
+    @Documentation("Number of partitions the table is split into to be read in parallel.\n"
+            + "1 means that the table is read by a single worker.")
+    private int partitionCount = 1;
+
+    @Option
+    @Suggestable(value = ACTION_SUGGESTION_TABLE_COLUMNS_NAMES, parameters = { "../dataSet" })
+    @Documentation("Numeric column used to split the table in ranges.\n"
+            + "If empty, the primary key of the table is used when it is a single numeric column.")
+    private String partitionColumn;
+
 }
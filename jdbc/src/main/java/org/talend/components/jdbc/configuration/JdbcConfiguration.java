@@ -75,6 +75,11 @@ public class JdbcConfiguration implements Serializable {
         @Documentation("Fixed jdbc url parameters")
         private List<KeyVal> fixedParameters = new ArrayList<>();
 
+        @Option
+        @Documentation("Whether the jdbc objects are wrapped to run each call with the driver classloader as context classloader. "
+                + "Drivers which don't rely on the context classloader can disable it to avoid a reflective call per jdbc call.")
+        private boolean contextualClassLoader = true;
+
         public String getDisplayName() {
             return ofNullable(displayName).filter(d -> !d.isEmpty()).orElse(id);
         }
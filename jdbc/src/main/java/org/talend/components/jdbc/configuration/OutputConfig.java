@@ -22,6 +22,7 @@ import org.talend.sdk.component.api.configuration.action.Suggestable;
 import org.talend.sdk.component.api.configuration.action.Validable;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -41,7 +42,8 @@ import static org.talend.sdk.component.api.configuration.condition.ActiveIfs.Ope
         @GridLayout.Row("varcharLength"), @GridLayout.Row("keys"), @GridLayout.Row("sortStrategy"), @GridLayout.Row("sortKeys"),
         @GridLayout.Row("distributionStrategy"), @GridLayout.Row("distributionKeys"), @GridLayout.Row("ignoreUpdate") })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"),
-        @GridLayout.Row("rewriteBatchedStatements") })
+        @GridLayout.Row("rewriteBatchedStatements"), @GridLayout.Row({ "batchSize", "commitEvery" }),
+        @GridLayout.Row("stageFormat") })
 @Documentation("Those properties define an output data set for the JDBC output component")
 public class OutputConfig implements Serializable {
 
@@ -116,6 +118,26 @@ public class OutputConfig implements Serializable {
     @Documentation("Rewrite batched statements, to execute one statement per batch combining values in the sql query")
     private boolean rewriteBatchedStatements = true;
 
+    @Option
+    @Min(1)
+    @Documentation("Number of records sent to the database in a single batch")
+    private int batchSize = 1000;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "../dataset.connection.dbType", value = { "Snowflake" }, negate = true)
+    @Documentation("Number of records after which the transaction is committed.\n"
+            + "Records are buffered until this limit is reached, which bounds the memory used by the output.\n"
+            + "Snowflake output ignores it and loads each group of records at once.")
+    private int commitEvery = 10000;
+
+    @Option
+    @ActiveIf(target = "../dataset.connection.dbType", value = { "Snowflake" })
+    @Documentation("Format of the files staged to load the records with a COPY INTO.\n"
+            + "PARQUET files are typed and compressed by column, they also allow to load records and arrays in VARIANT columns.\n"
+            + "PARQUET requires the optional parquet and hadoop libraries in the dependencies of the component.")
+    private SnowflakeStageFormat stageFormat = SnowflakeStageFormat.CSV;
+
     public ActionOnData getActionOnData() {
         if (actionOnData == null || actionOnData.isEmpty()) {
             throw new IllegalArgumentException("label on data is required");
@@ -81,6 +81,11 @@ public class ChangeDataCaptureDataset implements BaseDataSet {
                 + getQN(streamTableName);
     }
 
+    // Snowflake CDC specific !!!
+    public String createStatementStreamOffsetTimestamp() {
+        return "select SYSTEM$STREAM_GET_TABLE_TIMESTAMP('" + getQN(streamTableName) + "')";
+    }
+
     private String getCounterTableName(String streamTableName) {
         return streamTableName + "_COUNTER";
     }
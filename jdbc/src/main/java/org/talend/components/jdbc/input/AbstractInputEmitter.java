@@ -13,15 +13,12 @@
 package org.talend.components.jdbc.input;
 
 import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
-import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
 
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.stream.IntStream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -29,9 +26,9 @@ import javax.annotation.PreDestroy;
 import org.talend.components.jdbc.configuration.InputConfig;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
+import org.talend.components.jdbc.service.RecordReader;
 import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.record.Record;
-import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import lombok.extern.slf4j.Slf4j;
@@ -55,7 +52,7 @@ public abstract class AbstractInputEmitter implements Serializable {
 
     private JdbcService.JdbcDatasource dataSource;
 
-    private transient Schema schema;
+    private transient RecordReader recordReader;
 
     AbstractInputEmitter(final InputConfig inputConfig, final JdbcService jdbcDriversService,
             final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage) {
@@ -67,7 +64,7 @@ public abstract class AbstractInputEmitter implements Serializable {
 
     @PostConstruct
     public void init() {
-        String query = inputConfig.getDataSet().getQuery();
+        final String query = getQuery();
         if (query == null || query.trim().isEmpty()) {
             throw new IllegalArgumentException(i18n.errorEmptyQuery());
         }
@@ -86,6 +83,13 @@ public abstract class AbstractInputEmitter implements Serializable {
         }
     }
 
+    /**
+     * @return the query to be executed by this emitter
+     */
+    protected String getQuery() {
+        return inputConfig.getDataSet().getQuery();
+    }
+
     @Producer
     public Record next() {
         try {
@@ -93,18 +97,10 @@ public abstract class AbstractInputEmitter implements Serializable {
                 return null;
             }
 
-            final ResultSetMetaData metaData = resultSet.getMetaData();
-            if (schema == null) {
-                final Schema.Builder schemaBuilder = recordBuilderFactory.newSchemaBuilder(RECORD);
-                IntStream.rangeClosed(1, metaData.getColumnCount())
-                        .forEach(index -> jdbcDriversService.addField(schemaBuilder, metaData, index));
-                schema = schemaBuilder.build();
+            if (recordReader == null) {
+                recordReader = jdbcDriversService.newRecordReader(resultSet.getMetaData());
             }
-
-            final Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder(schema);
-            IntStream.rangeClosed(1, metaData.getColumnCount())
-                    .forEach(index -> jdbcDriversService.addColumn(recordBuilder, metaData, index, resultSet));
-            return recordBuilder.build();
+            return recordReader.read(resultSet);
         } catch (final SQLException e) {
             throw toIllegalStateException(e);
         }
@@ -13,15 +13,12 @@
 package org.talend.components.jdbc.input;
 
 import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
-import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
 
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.stream.IntStream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -30,11 +27,11 @@ import org.talend.components.jdbc.configuration.InputCaptureDataChangeConfig;
 import org.talend.components.jdbc.dataset.ChangeDataCaptureDataset;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
+import org.talend.components.jdbc.service.RecordReader;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.record.Record;
-import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import lombok.extern.slf4j.Slf4j;
@@ -52,27 +49,31 @@ public class ChangeDataCaptureInputEmitter implements Serializable {
 
     private final I18nMessage i18n;
 
+    private final boolean consume;
+
     protected Connection connection;
 
-    private static Statement statement;
+    private Statement statement;
+
+    private ResultSet resultSet;
 
-    private Statement statementUpdate;
+    private JdbcService.JdbcDatasource dataSource;
 
-    private static ResultSet resultSet;
+    private ChangeDataCaptureDataset cdcDataset;
 
-    private static int resultSetSize;
+    private transient RecordReader recordReader;
 
-    private static JdbcService.JdbcDatasource dataSource;
+    private boolean completed;
 
-    private ChangeDataCaptureDataset cdcDataset;
+    private long lastFetchTime;
 
-    private transient Schema schema;
+    private long batchRecords;
 
-    private static int nbRecords = 0;
+    private long totalRecords;
 
-    private static int nbIterations = 0;
+    private long batches;
 
-    private static long lastFetchTime = 0;
+    private long totalReadTime;
 
     ChangeDataCaptureInputEmitter(@Option("configuration") final InputCaptureDataChangeConfig config,
             final JdbcService jdbcDriversService, final RecordBuilderFactory recordBuilderFactory,
@@ -82,6 +83,7 @@ public class ChangeDataCaptureInputEmitter implements Serializable {
         this.jdbcDriversService = jdbcDriversService;
         this.i18n = i18nMessage;
         this.cdcDataset = ((ChangeDataCaptureDataset) config.getDataSet());
+        this.consume = config.getChangeOffsetOnRead() == InputCaptureDataChangeConfig.ChangeOffsetOnReadStrategy.YES;
     }
 
     @PostConstruct
@@ -94,14 +96,18 @@ public class ChangeDataCaptureInputEmitter implements Serializable {
             throw new IllegalArgumentException(i18n.errorUnauthorizedQuery());
         }
 
-        String createStreamStatement = this.cdcDataset.createStreamTableIfNotExist();
-
         try {
             dataSource = jdbcDriversService.createDataSource(inputConfig.getDataSet().getConnection());
             connection = dataSource.getConnection();
-            // first statement to create stream table if needed
-            statementUpdate = connection.createStatement();
-            int result = statementUpdate.executeUpdate(createStreamStatement);
+            connection.setAutoCommit(true);
+            try (final Statement statementUpdate = connection.createStatement()) {
+                statementUpdate.executeUpdate(cdcDataset.createStreamTableIfNotExist());
+                if (consume) {
+                    statementUpdate.executeUpdate(cdcDataset.createCounterTableIfNotExist());
+                }
+            }
+            // the stream is read and consumed in the same transaction, both see the same offset
+            connection.setAutoCommit(false);
             fetchData();
         } catch (final SQLException e) {
             throw toIllegalStateException(e);
@@ -110,172 +116,118 @@ public class ChangeDataCaptureInputEmitter implements Serializable {
 
     @Producer
     public Record next() {
-        log.debug("Next is called; nbRecords: " + nbRecords + ",nbIterations: " + nbIterations);
-        boolean commit = (inputConfig.getChangeOffsetOnRead() == InputCaptureDataChangeConfig.ChangeOffsetOnReadStrategy.YES);
         try {
-            boolean resultSetIsNull = (resultSet == null);
-            boolean noNext = resultSetIsNull || (resultSetSize == 0) || (resultSet.getRow() == resultSetSize);
-
-            if (noNext && commit) {
-                if (resultSet != null)
-                    resultSet.close();
-                fetchData();
-                if (resultSetSize == 0) {
-                    return null;
-                }
+            if (resultSet == null && (completed || !fetchData())) {
+                return null;
             }
-
-            if (!resultSet.next())
-                if (!commit)
-                    return null;
-            final ResultSetMetaData metaData = resultSet.getMetaData();
-
-            if (schema == null) {
-                final Schema.Builder schemaBuilder = recordBuilderFactory.newSchemaBuilder(RECORD);
-                IntStream.rangeClosed(1, metaData.getColumnCount())
-                        .forEach(index -> jdbcDriversService.addField(schemaBuilder, metaData, index));
-                schema = schemaBuilder.build();
+            if (!resultSet.next()) {
+                completeBatch();
+                return null;
             }
-
-            final Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder(schema);
-            IntStream.rangeClosed(1, metaData.getColumnCount())
-                    .forEach(index -> jdbcDriversService.addColumn(recordBuilder, metaData, index, resultSet));
-
-            if (nbRecords == resultSetSize)
-                log.info("Last record of series emitted: " + getRowAsString());
-
-            nbRecords++;
-            return recordBuilder.build();
+            if (recordReader == null) {
+                recordReader = jdbcDriversService.newRecordReader(resultSet.getMetaData());
+            }
+            batchRecords++;
+            return recordReader.read(resultSet);
         } catch (final SQLException e) {
             log.error("Exception found in next() ", e);
             throw toIllegalStateException(e);
-        } catch (final Exception e) {
-            log.error("Exception found in next() ", e);
-            throw toIllegalStateException(e);
         }
     }
 
-    private int getSize(ResultSet rs) {
-        int rowscount = 0;
-        try {
-            if (rs == null || rs.isClosed())
-                return 0;
-            while (rs.next()) {
-                log.debug("advance cursor");
-            }
-            rowscount = rs.getRow();
-        } catch (final SQLException e) {
-            log.error("Exception found in next() ", e);
-            return 0;
+    /**
+     * Opens a new read of the stream, a read returning no change is only retried after the poll interval.
+     *
+     * @return true if the stream query has been executed
+     */
+    private boolean fetchData() throws SQLException {
+        final long time = System.currentTimeMillis();
+        if (batches > 0 && batchRecords == 0 && time - lastFetchTime < inputConfig.getPollInterval()) {
+            return false;
         }
-        return rowscount;
+        log.debug("Fetch data with query: {}", inputConfig.getDataSet().getQuery());
+        lastFetchTime = time;
+        batchRecords = 0;
+        statement = connection.createStatement();
+        statement.setFetchSize(inputConfig.getDataSet().getFetchSize());
+        resultSet = statement.executeQuery(inputConfig.getDataSet().getQuery());
+        return true;
     }
 
-    private void fetchData() {
-        ResultSet resultSetCopy;
-        boolean commit = (inputConfig.getChangeOffsetOnRead() == InputCaptureDataChangeConfig.ChangeOffsetOnReadStrategy.YES);
-        log.info("Fetch data attempt, commmit: " + commit);
-        nbIterations++;
-        try {
-            long time = System.currentTimeMillis();
-
-            if ((time - lastFetchTime < 2000) && (resultSetSize == 0))
-                return;
-
-            resultSetSize = 0;
-
-            log.info("------------Fetch data------------------");
-            log.info("Fetch data with query: " + inputConfig.getDataSet().getQuery());
-
-            lastFetchTime = time;
-            connection.setAutoCommit(false);
-            // then read from stream table to compute size
-            statement = connection.createStatement();
-            statement.setFetchSize(inputConfig.getDataSet().getFetchSize());
-            resultSetCopy = statement.executeQuery(inputConfig.getDataSet().getQuery());
-            resultSetSize = getSize(resultSetCopy);
-            resultSetCopy.close();
-            // then read from stream table to compute size
-            statement = connection.createStatement();
-            statement.setFetchSize(inputConfig.getDataSet().getFetchSize());
-            resultSet = statement.executeQuery(inputConfig.getDataSet().getQuery());
-            connection.commit();
-            connection.setAutoCommit(true);
-
-            // move the offset
-            if (commit && (resultSetSize != 0)) {
-                log.info("Result set size: " + resultSetSize);
-                connection.setAutoCommit(false);
-                statementUpdate = connection.createStatement();
-                String createStreamCounterStatement = this.cdcDataset.createCounterTableIfNotExist();
-                statementUpdate = connection.createStatement();
-                int resultCreateCounter = statementUpdate.executeUpdate(createStreamCounterStatement);
-                log.debug("Update statement changed records: " + resultCreateCounter);
-                String consumeRecordsStreamStatement = this.cdcDataset.createStatementConsumeStreamTable();
-                statementUpdate = connection.createStatement();
-                int resultConsumeRecordsStream = statementUpdate.executeUpdate(consumeRecordsStreamStatement);
-                connection.commit();
-                connection.setAutoCommit(true);
-            } else {
-                log.debug("consumption=no");
+    /**
+     * Moves the stream offset after the changes which have been read, then ends the read transaction.
+     */
+    private void completeBatch() throws SQLException {
+        closeResultSet();
+        final Long offsetTimestamp = consume && batchRecords > 0 ? getStreamOffsetTimestamp() : null;
+        if (consume && batchRecords > 0) {
+            try (final Statement statementUpdate = connection.createStatement()) {
+                statementUpdate.executeUpdate(cdcDataset.createStatementConsumeStreamTable());
             }
+        }
+        connection.commit();
+        final long now = System.currentTimeMillis();
+        batches++;
+        totalRecords += batchRecords;
+        totalReadTime += now - lastFetchTime;
+        if (batchRecords > 0) {
+            log.info("Stream {}: {} changes read in {} ms ({} records/s), {} changes in {} batches{}",
+                    cdcDataset.getStreamTableName(), batchRecords, now - lastFetchTime,
+                    throughput(batchRecords, now - lastFetchTime), totalRecords, batches,
+                    offsetTimestamp == null ? "" : ", lag " + (now - offsetTimestamp) + " ms");
+        } else {
+            log.debug("Stream {}: no change, average throughput {} records/s", cdcDataset.getStreamTableName(),
+                    throughput(totalRecords, totalReadTime));
+        }
+        // without consumption the next reads would return the same changes
+        completed = !consume;
+    }
 
+    /**
+     * @return the timestamp in milliseconds of the oldest change not consumed yet, null if it can't be read
+     */
+    private Long getStreamOffsetTimestamp() {
+        try (final Statement offsetStatement = connection.createStatement();
+                final ResultSet offset = offsetStatement.executeQuery(cdcDataset.createStatementStreamOffsetTimestamp())) {
+            return offset.next() ? offset.getLong(1) / 1_000_000 : null;
         } catch (final SQLException e) {
-            log.error("Exception found in next() ", e);
-            throw toIllegalStateException(e);
-        } catch (final Exception e) {
-            log.error("Exception found in next() ", e);
-            throw toIllegalStateException(e);
+            log.debug("Can't read the offset of stream {}", cdcDataset.getStreamTableName(), e);
+            return null;
         }
     }
 
-    private String getRowAsString() throws Exception {
-        if (resultSet == null) {
-            return "Cannot print ResultSet is null";
-        }
-        final ResultSetMetaData metaData = resultSet.getMetaData();
-        final int current = resultSet.getRow();
-        String res = "Row " + current + ": ";
-
-        for (int index = 1; index <= metaData.getColumnCount(); index++) {
-            final String columnName = metaData.getColumnName(index);
-            final Object value = resultSet.getObject(index);
-            res = res + columnName + ":" + value + ", ";
-        }
-        return res;
+    private static long throughput(final long records, final long duration) {
+        return duration <= 0 ? records : records * 1000 / duration;
     }
 
-    @PreDestroy
-    public void release() {
-        /**
-         * Avoid closing resultSet - at least temporary - to be able to have more than 1 record
-         */
-        /*
-         * if (resultSet != null) {
-         * try {
-         * resultSet.close();
-         * } catch (SQLException e) {
-         * log.warn(i18n.warnResultSetCantBeClosed(), e);
-         * }
-         * }
-         */
+    private void closeResultSet() {
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            } catch (SQLException e) {
+                log.warn(i18n.warnResultSetCantBeClosed(), e);
+            }
+            resultSet = null;
+        }
         if (statement != null) {
             try {
                 statement.close();
             } catch (SQLException e) {
                 log.warn(i18n.warnStatementCantBeClosed(), e);
             }
+            statement = null;
         }
+    }
+
+    @PreDestroy
+    public void release() {
+        closeResultSet();
         if (connection != null) {
             try {
-                connection.commit();
+                // changes read but not consumed yet are read again by the next run
+                connection.rollback();
             } catch (final SQLException e) {
                 log.error(i18n.errorSQL(e.getErrorCode(), e.getMessage()), e);
-                try {
-                    connection.rollback();
-                } catch (final SQLException rollbackError) {
-                    log.error(i18n.errorSQL(rollbackError.getErrorCode(), rollbackError.getMessage()), rollbackError);
-                }
             }
             try {
                 connection.close();
@@ -287,4 +239,4 @@ public class ChangeDataCaptureInputEmitter implements Serializable {
             dataSource.close();
         }
     }
-}
\ No newline at end of file
+}
@@ -15,28 +15,42 @@ package org.talend.components.jdbc.input;
 import java.io.Serializable;
 
 import org.talend.components.jdbc.configuration.InputTableNameConfig;
-import org.talend.components.jdbc.dataset.TableNameDataset;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
-import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@Version
-@Icon(value = Icon.IconType.DATASTORE)
-@Emitter(name = "TableNameInput")
 @Documentation("JDBC input using table name")
 public class TableNameInputEmitter extends AbstractInputEmitter implements Serializable {
 
+    /**
+     * Range condition of the partition read by this emitter, null to read the whole table
+     */
+    private final String partitionFilter;
+
     public TableNameInputEmitter(@Option("configuration") final InputTableNameConfig config, final JdbcService jdbcDriversService,
             final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage) {
+        this(config, jdbcDriversService, recordBuilderFactory, i18nMessage, null);
+    }
+
+    TableNameInputEmitter(final InputTableNameConfig config, final JdbcService jdbcDriversService,
+            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage, final String partitionFilter) {
         super(config, jdbcDriversService, recordBuilderFactory, i18nMessage);
+        this.partitionFilter = partitionFilter;
+    }
+
+    @Override
+    protected String getQuery() {
+        final String query = super.getQuery();
+        if (partitionFilter == null) {
+            return query;
+        }
+        log.debug("Reading partition {}", partitionFilter);
+        return query + " where " + partitionFilter;
     }
 
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.talend.components.jdbc.configuration.InputTableNameConfig;
+import org.talend.components.jdbc.dataset.TableNameDataset;
+import org.talend.components.jdbc.output.platforms.Platform;
+import org.talend.components.jdbc.output.platforms.PlatformFactory;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JdbcService;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Version
+@Icon(value = Icon.IconType.DATASTORE)
+@PartitionMapper(name = "TableNameInput")
+@Documentation("JDBC input using table name. The table can be split in numeric column ranges to be read in parallel.")
+public class TableNameInputMapper implements Serializable {
+
+    private final InputTableNameConfig config;
+
+    private final JdbcService jdbcDriversService;
+
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private final I18nMessage i18n;
+
+    /**
+     * Range condition of this partition, null until the mapper is split
+     */
+    private final String partitionFilter;
+
+    public TableNameInputMapper(@Option("configuration") final InputTableNameConfig config,
+            final JdbcService jdbcDriversService, final RecordBuilderFactory recordBuilderFactory,
+            final I18nMessage i18nMessage) {
+        this(config, jdbcDriversService, recordBuilderFactory, i18nMessage, null);
+    }
+
+    private TableNameInputMapper(final InputTableNameConfig config, final JdbcService jdbcDriversService,
+            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage, final String partitionFilter) {
+        this.config = config;
+        this.jdbcDriversService = jdbcDriversService;
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.i18n = i18nMessage;
+        this.partitionFilter = partitionFilter;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        if (!isPartitioned()) {
+            return 1L;
+        }
+        final TableNameDataset dataSet = config.getDataSet();
+        final Platform platform = PlatformFactory.get(dataSet.getConnection(), i18n);
+        try (final JdbcService.JdbcDatasource dataSource = jdbcDriversService.createDataSource(dataSet.getConnection());
+                final Connection connection = dataSource.getConnection();
+                final Statement statement = connection.createStatement();
+                final ResultSet resultSet = statement
+                        .executeQuery("select count(*) from " + platform.identifier(dataSet.getTableName()))) {
+            return resultSet.next() ? resultSet.getLong(1) : 0L;
+        } catch (final SQLException e) {
+            throw toIllegalStateException(e);
+        }
+    }
+
+    @Split
+    public List<TableNameInputMapper> split(@PartitionSize final long bundles) {
+        if (!isPartitioned() || partitionFilter != null) {
+            return singletonList(this);
+        }
+
+        final TableNameDataset dataSet = config.getDataSet();
+        final Platform platform = PlatformFactory.get(dataSet.getConnection(), i18n);
+        try (final JdbcService.JdbcDatasource dataSource = jdbcDriversService.createDataSource(dataSet.getConnection());
+                final Connection connection = dataSource.getConnection()) {
+            final PartitionColumn column = findPartitionColumn(connection, dataSet.getTableName());
+            if (column == null) {
+                log.warn("No numeric partition column found for table {}, it will be read by a single worker.",
+                        dataSet.getTableName());
+                return singletonList(this);
+            }
+
+            final List<String> filters = computePartitionFilters(connection, platform, column);
+            log.info("Table {} is split in {} partitions on column {}.", dataSet.getTableName(), filters.size(),
+                    column.getName());
+            return filters.size() < 2 ? singletonList(this)
+                    : filters.stream()
+                            .map(filter -> new TableNameInputMapper(config, jdbcDriversService, recordBuilderFactory, i18n,
+                                    filter))
+                            .collect(toList());
+        } catch (final SQLException e) {
+            throw toIllegalStateException(e);
+        }
+    }
+
+    @Emitter
+    public TableNameInputEmitter createWorker() {
+        return new TableNameInputEmitter(config, jdbcDriversService, recordBuilderFactory, i18n, partitionFilter);
+    }
+
+    private boolean isPartitioned() {
+        return config.getPartitionCount() > 1;
+    }
+
+    private PartitionColumn findPartitionColumn(final Connection connection, final String tableName) throws SQLException {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        final String catalog = connection.getCatalog();
+        final String schema = JdbcService.getSchema(connection);
+
+        String columnName = config.getPartitionColumn();
+        if (columnName == null || columnName.trim().isEmpty()) {
+            final List<String> primaryKeys = new ArrayList<>();
+            try (final ResultSet keys = metaData.getPrimaryKeys(catalog, schema, tableName)) {
+                while (keys.next()) {
+                    primaryKeys.add(keys.getString("COLUMN_NAME"));
+                }
+            }
+            if (primaryKeys.size() != 1) {
+                return null;
+            }
+            columnName = primaryKeys.get(0);
+        }
+
+        try (final ResultSet columns = metaData.getColumns(catalog, schema, tableName, null)) {
+            while (columns.next()) {
+                if (columnName.equals(columns.getString("COLUMN_NAME"))) {
+                    final int sqlType = columns.getInt("DATA_TYPE");
+                    if (!isNumeric(sqlType)) {
+                        throw new IllegalArgumentException(i18n.errorInvalidPartitionColumn(columnName, tableName));
+                    }
+                    return new PartitionColumn(columnName, isIntegral(sqlType));
+                }
+            }
+        }
+        throw new IllegalArgumentException(i18n.errorInvalidPartitionColumn(columnName, tableName));
+    }
+
+    private List<String> computePartitionFilters(final Connection connection, final Platform platform,
+            final PartitionColumn column) throws SQLException {
+        final String identifier = platform.identifier(column.getName());
+        final BigDecimal min;
+        final BigDecimal max;
+        try (final Statement statement = connection.createStatement();
+                final ResultSet bounds = statement.executeQuery("select min(" + identifier + "), max(" + identifier + ") from "
+                        + platform.identifier(config.getDataSet().getTableName()))) {
+            if (!bounds.next()) {
+                return singletonList(null);
+            }
+            min = bounds.getBigDecimal(1);
+            max = bounds.getBigDecimal(2);
+        }
+        if (min == null || max == null || min.compareTo(max) == 0) {
+            return singletonList(null);
+        }
+
+        final BigDecimal count = BigDecimal.valueOf(config.getPartitionCount());
+        final BigDecimal stride = max.subtract(min).divide(count, MathContext.DECIMAL64);
+        final List<BigDecimal> boundaries = IntStream.range(1, config.getPartitionCount())
+                .mapToObj(i -> min.add(stride.multiply(BigDecimal.valueOf(i))))
+                .map(boundary -> column.isIntegral() ? boundary.setScale(0, RoundingMode.CEILING) : boundary)
+                .filter(boundary -> boundary.compareTo(min) > 0 && boundary.compareTo(max) <= 0).distinct().collect(toList());
+        if (boundaries.isEmpty()) {
+            return singletonList(null);
+        }
+
+        // null values are read with the first range, the last range is open to include the max value
+        final List<String> filters = new ArrayList<>();
+        filters.add(identifier + " < " + boundaries.get(0).toPlainString() + " or " + identifier + " is null");
+        for (int i = 1; i < boundaries.size(); i++) {
+            filters.add(identifier + " >= " + boundaries.get(i - 1).toPlainString() + " and " + identifier + " < "
+                    + boundaries.get(i).toPlainString());
+        }
+        filters.add(identifier + " >= " + boundaries.get(boundaries.size() - 1).toPlainString());
+        return filters;
+    }
+
+    private static boolean isIntegral(final int sqlType) {
+        switch (sqlType) {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean isNumeric(final int sqlType) {
+        switch (sqlType) {
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+        case Types.FLOAT:
+        case Types.REAL:
+        case Types.DOUBLE:
+            return true;
+        default:
+            return isIntegral(sqlType);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PartitionColumn {
+
+        private final String name;
+
+        private final boolean integral;
+    }
+}
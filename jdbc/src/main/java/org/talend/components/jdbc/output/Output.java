@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
+import static org.talend.components.jdbc.output.platforms.SnowflakePlatform.SNOWFLAKE;
 import static org.talend.components.jdbc.service.JdbcService.checkTableExistence;
 
 @Slf4j
@@ -80,6 +81,10 @@ public abstract class Output implements Serializable {
             lazyInit();
         }
         records.add(record);
+        if (records.size() >= configuration.getCommitEvery() && !SNOWFLAKE.equals(getPlatform().name())) {
+            // snowflake loads the whole group with a few PUT and COPY round trips, so it's only flushed at group end.
+            flush();
+        }
     }
 
     private void lazyInit() throws SQLException {
@@ -96,6 +101,16 @@ public abstract class Output implements Serializable {
 
     @AfterGroup
     public void afterGroup() throws SQLException {
+        flush();
+    }
+
+    /**
+     * Send the buffered records to the database, the buffer never exceeds the commit size of the configuration.
+     */
+    private void flush() throws SQLException {
+        if (records.isEmpty()) {
+            return;
+        }
         if (!tableExistsCheck && !tableCreated && configuration.isCreateTableIfNotExists()) {
             try (final Connection connection = datasource.getConnection()) {
                 getPlatform().createTableIfNotExist(connection, configuration.getDataset().getTableName(),
@@ -113,6 +128,8 @@ public abstract class Output implements Serializable {
         } catch (final SQLException | IOException e) {
             records.stream().map(r -> new Reject(e.getMessage(), r)).map(Reject::toString).forEach(log::error);
             throw toIllegalStateException(e);
+        } finally {
+            records.clear();
         }
     }
 
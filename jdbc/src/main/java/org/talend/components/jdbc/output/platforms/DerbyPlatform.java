@@ -14,7 +14,9 @@ package org.talend.components.jdbc.output.platforms;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.talend.components.jdbc.service.I18nMessage;
@@ -63,6 +65,29 @@ public class DerbyPlatform extends Platform {
         return sql.toString();
     }
 
+    /**
+     * Derby merge source can't be a values clause, so the statement is built against a single row dummy table and the
+     * record values are bound in the on, update and insert clauses.
+     */
+    @Override
+    public Optional<UpsertStatement> upsertStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns) {
+        final StringBuilder sql = new StringBuilder("MERGE INTO ").append(identifier(table))
+                .append(" T USING SYSIBM.SYSDUMMY1 ON ")
+                .append(keys.stream().map(this::identifier).map(k -> "T." + k + " = ?").collect(joining(" AND ")));
+        if (!updateColumns.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ")
+                    .append(updateColumns.stream().map(this::identifier).map(c -> c + " = ?").collect(joining(",")));
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT ")
+                .append(columns.stream().map(this::identifier).collect(joining(",", "(", ")"))).append(" VALUES ")
+                .append(columns.stream().map(c -> "?").collect(joining(",", "(", ")")));
+        final List<String> parameters = new ArrayList<>(keys);
+        parameters.addAll(updateColumns);
+        parameters.addAll(columns);
+        return Optional.of(new UpsertStatement(sql.toString(), parameters));
+    }
+
     @Override
     protected boolean isTableExistsCreationError(final Throwable e) {
         return e instanceof SQLException && "X0Y32".equals(((SQLException) e).getSQLState());
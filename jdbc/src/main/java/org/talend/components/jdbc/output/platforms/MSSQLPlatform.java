@@ -15,6 +15,7 @@ package org.talend.components.jdbc.output.platforms;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.talend.components.jdbc.service.I18nMessage;
@@ -68,6 +69,15 @@ public class MSSQLPlatform extends Platform {
         return sql.toString();
     }
 
+    @Override
+    public Optional<UpsertStatement> upsertStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns) {
+        final String source = columns.stream().map(c -> "?").collect(Collectors.joining(",", "(VALUES (", ")) AS S"))
+                + columns.stream().map(this::identifier).collect(Collectors.joining(",", " (", ")"));
+        // sql server requires the merge statement to be terminated by a semicolon
+        return Optional.of(mergeStatement(table, columns, keys, updateColumns, source, ";"));
+    }
+
     @Override
     protected boolean isTableExistsCreationError(final Throwable e) {
         return e instanceof SQLException && "S0001".equalsIgnoreCase(((SQLException) e).getSQLState())
@@ -14,7 +14,10 @@ package org.talend.components.jdbc.output.platforms;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.talend.components.jdbc.service.I18nMessage;
@@ -63,6 +66,30 @@ public class MariaDbPlatform extends Platform {
         return sql.toString();
     }
 
+    @Override
+    public Optional<UpsertStatement> upsertStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns) {
+        // when there is nothing to update, a no-op assignment keeps the existing row untouched
+        final String sql = "INSERT INTO " + identifier(table)
+                + columns.stream().map(this::identifier).collect(Collectors.joining(",", "(", ")")) + " VALUES "
+                + columns.stream().map(c -> "?").collect(Collectors.joining(",", "(", ")")) + " ON DUPLICATE KEY UPDATE "
+                + (updateColumns.isEmpty() ? identifier(keys.get(0)) + " = " + identifier(keys.get(0))
+                        : updateColumns.stream().map(this::identifier).map(c -> c + " = VALUES(" + c + ")")
+                                .collect(Collectors.joining(",")));
+        return Optional.of(new UpsertStatement(sql, columns));
+    }
+
+    /**
+     * ON DUPLICATE KEY matches a row on any of its unique indexes, whatever the keys are,
+     * so the keys must be the columns of all of them.
+     */
+    @Override
+    public boolean isNativeUpsertKey(final Connection connection, final String table, final List<String> keys)
+            throws SQLException {
+        final Collection<Set<String>> indexes = uniqueIndexes(connection, table);
+        return !indexes.isEmpty() && indexes.stream().allMatch(index -> sameColumns(index, keys));
+    }
+
     @Override
     protected boolean isTableExistsCreationError(Throwable e) {
         return false;
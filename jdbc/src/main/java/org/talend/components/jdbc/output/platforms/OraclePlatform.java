@@ -15,6 +15,7 @@ package org.talend.components.jdbc.output.platforms;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.talend.components.jdbc.service.I18nMessage;
@@ -77,6 +78,14 @@ public class OraclePlatform extends Platform {
         dataSource.addDataSourceProperty("oracle.jdbc.J2EE13Compliant", "TRUE");
     }
 
+    @Override
+    public Optional<UpsertStatement> upsertStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns) {
+        final String source = columns.stream().map(c -> "? AS " + identifier(c))
+                .collect(Collectors.joining(",", "(SELECT ", " FROM DUAL) S"));
+        return Optional.of(mergeStatement(table, columns, keys, updateColumns, source, ""));
+    }
+
     @Override
     protected boolean isTableExistsCreationError(final Throwable e) {
         return e instanceof SQLException && "42000".equals(((SQLException) e).getSQLState())
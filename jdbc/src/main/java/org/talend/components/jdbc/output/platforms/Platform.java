@@ -15,9 +15,17 @@ package org.talend.components.jdbc.output.platforms;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import org.talend.components.jdbc.configuration.DistributionStrategy;
@@ -135,6 +143,90 @@ public abstract class Platform implements Serializable {
                 .collect(toList())).build();
     }
 
+    /**
+     * Build a single statement upsert, inserting the row or updating it when a row with the same keys already exists.
+     *
+     * @param table the table name
+     * @param columns all the columns of the incoming records
+     * @param keys the columns identifying a row
+     * @param updateColumns the columns to update when the row already exists
+     * @return the upsert statement or empty if the platform has no native upsert support
+     */
+    public Optional<UpsertStatement> upsertStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns) {
+        return Optional.empty();
+    }
+
+    /**
+     * Check the keys can drive the native upsert statement of the platform.
+     * A MERGE statement matches the rows on the keys in its ON clause, so any keys do.
+     * Without {@link #upsertStatement} the keys are always probed, whatever this check returns.
+     *
+     * @param connection a connection to the database
+     * @param table the table name
+     * @param keys the columns identifying a row
+     * @return true if the statement of {@link #upsertStatement} matches the existing rows on the keys
+     */
+    public boolean isNativeUpsertKey(final Connection connection, final String table, final List<String> keys)
+            throws SQLException {
+        return true;
+    }
+
+    /**
+     * @return the column sets of the unique indexes of the table, primary key included, partial indexes excluded.
+     */
+    protected Collection<Set<String>> uniqueIndexes(final Connection connection, final String table) throws SQLException {
+        final Map<String, Set<String>> indexes = new HashMap<>();
+        try (final ResultSet result = connection.getMetaData().getIndexInfo(connection.getCatalog(),
+                JdbcService.getSchema(connection), table, true, true)) {
+            while (result.next()) {
+                final String index = result.getString("INDEX_NAME");
+                final String column = result.getString("COLUMN_NAME");
+                if (index == null || column == null || result.getBoolean("NON_UNIQUE")) {
+                    continue;
+                }
+                indexes.computeIfAbsent(index, name -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER)).add(column);
+                if (result.getString("FILTER_CONDITION") != null) {
+                    // a partial index doesn't guarantee the uniqueness of all the rows
+                    indexes.put(index, null);
+                }
+            }
+        }
+        return indexes.values().stream().filter(Objects::nonNull).collect(toList());
+    }
+
+    /**
+     * @return true if the index columns are exactly the keys.
+     */
+    protected static boolean sameColumns(final Set<String> index, final List<String> keys) {
+        final Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        columns.addAll(keys);
+        return index.size() == columns.size() && index.containsAll(columns);
+    }
+
+    /**
+     * Build a standard sql MERGE statement using the records values as source.
+     *
+     * @param source the source clause binding all the columns values and aliased as S
+     * @param terminator the statement terminator, if required by the platform
+     */
+    protected UpsertStatement mergeStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns, final String source, final String terminator) {
+        final StringBuilder sql = new StringBuilder("MERGE INTO ").append(identifier(table)).append(" T USING ").append(source)
+                .append(" ON (")
+                .append(keys.stream().map(this::identifier).map(k -> "T." + k + " = S." + k).collect(joining(" AND ")))
+                .append(")");
+        if (!updateColumns.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ").append(
+                    updateColumns.stream().map(this::identifier).map(c -> "T." + c + " = S." + c).collect(joining(",")));
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT ")
+                .append(columns.stream().map(this::identifier).collect(joining(",", "(", ")"))).append(" VALUES ")
+                .append(columns.stream().map(this::identifier).map(c -> "S." + c).collect(joining(",", "(", ")")))
+                .append(terminator);
+        return new UpsertStatement(sql.toString(), columns);
+    }
+
     /**
      * Add platform related properties to jdbc connections
      * 
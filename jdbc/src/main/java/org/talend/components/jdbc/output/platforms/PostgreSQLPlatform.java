@@ -15,6 +15,7 @@ package org.talend.components.jdbc.output.platforms;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.talend.components.jdbc.service.I18nMessage;
@@ -67,6 +68,28 @@ public class PostgreSQLPlatform extends Platform {
         return sql.toString();
     }
 
+    @Override
+    public Optional<UpsertStatement> upsertStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns) {
+        final String sql = "INSERT INTO " + identifier(table)
+                + columns.stream().map(this::identifier).collect(Collectors.joining(",", "(", ")")) + " VALUES "
+                + columns.stream().map(c -> "?").collect(Collectors.joining(",", "(", ")")) + " ON CONFLICT "
+                + keys.stream().map(this::identifier).collect(Collectors.joining(",", "(", ")"))
+                + (updateColumns.isEmpty() ? " DO NOTHING"
+                        : " DO UPDATE SET " + updateColumns.stream().map(this::identifier).map(c -> c + " = EXCLUDED." + c)
+                                .collect(Collectors.joining(",")));
+        return Optional.of(new UpsertStatement(sql, columns));
+    }
+
+    /**
+     * ON CONFLICT requires a unique index on exactly the keys, it fails otherwise.
+     */
+    @Override
+    public boolean isNativeUpsertKey(final Connection connection, final String table, final List<String> keys)
+            throws SQLException {
+        return uniqueIndexes(connection, table).stream().anyMatch(index -> sameColumns(index, keys));
+    }
+
     @Override
     protected boolean isTableExistsCreationError(final Throwable e) {
         // name space creation issue in distributed exectution is not handled by "IF NOT EXISTS"
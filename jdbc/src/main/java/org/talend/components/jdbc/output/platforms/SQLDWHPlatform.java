@@ -16,6 +16,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.talend.components.jdbc.configuration.DistributionStrategy;
@@ -57,6 +58,15 @@ public class SQLDWHPlatform extends MSSQLPlatform {
         }
     }
 
+    /**
+     * Merge support depends on the data warehouse version, the default key probe is used.
+     */
+    @Override
+    public Optional<UpsertStatement> upsertStatement(final String table, final List<String> columns, final List<String> keys,
+            final List<String> updateColumns) {
+        return Optional.empty();
+    }
+
     @Override
     protected String buildQuery(final Connection connection, final Table table) throws SQLException {
         // keep the string builder for readability
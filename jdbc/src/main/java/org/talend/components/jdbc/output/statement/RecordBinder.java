@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.output.statement;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static java.util.Map.Entry.comparingByKey;
+
+/**
+ * Binding plan of the query parameters.
+ * The converter and the parameter index of each column are resolved once and reused for all the records of a batch.
+ */
+public final class RecordBinder {
+
+    private final ColumnBinder[] binders;
+
+    private RecordBinder(final ColumnBinder[] binders) {
+        this.binders = binders;
+    }
+
+    public static RecordBinder of(final Map<Integer, Schema.Entry> queryParams) {
+        return new RecordBinder(queryParams.entrySet().stream().sorted(comparingByKey())
+                .map(param -> RecordToSQLTypeConverter.of(param.getValue().getType()).binder(param.getKey(), param.getValue()))
+                .toArray(ColumnBinder[]::new));
+    }
+
+    public void bind(final PreparedStatement statement, final Record record) throws SQLException {
+        for (final ColumnBinder binder : binders) {
+            binder.bind(statement, record);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ColumnBinder {
+
+        void bind(PreparedStatement statement, Record record) throws SQLException;
+    }
+}
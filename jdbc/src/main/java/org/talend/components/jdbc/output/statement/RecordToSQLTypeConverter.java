@@ -19,8 +19,8 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Optional;
 
 public enum RecordToSQLTypeConverter {
     RECORD {
@@ -47,9 +47,9 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            Optional<String> value = record.getOptionalString(entry.getName());
-            if (value.isPresent()) {
-                statement.setString(index, value.get());
+            final String value = record.get(String.class, entry.getName());
+            if (value != null) {
+                statement.setString(index, value);
             } else {
                 statement.setNull(index, Types.VARCHAR);
             }
@@ -61,7 +61,7 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            statement.setBytes(index, record.getOptionalBytes(entry.getName()).orElse(null));
+            statement.setBytes(index, record.get(byte[].class, entry.getName()));
         }
 
     },
@@ -70,8 +70,9 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            if (record.getOptionalInt(entry.getName()).isPresent()) {
-                statement.setInt(index, record.getInt(entry.getName()));
+            final Integer value = record.get(Integer.class, entry.getName());
+            if (value != null) {
+                statement.setInt(index, value);
             } else {
                 statement.setNull(index, Types.INTEGER);
             }
@@ -83,8 +84,9 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            if (record.getOptionalLong(entry.getName()).isPresent()) {
-                statement.setLong(index, record.getLong(entry.getName()));
+            final Long value = record.get(Long.class, entry.getName());
+            if (value != null) {
+                statement.setLong(index, value);
             } else {
                 statement.setNull(index, Types.BIGINT);
             }
@@ -96,8 +98,9 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            if (record.getOptionalFloat(entry.getName()).isPresent()) {
-                statement.setFloat(index, record.getFloat(entry.getName()));
+            final Float value = record.get(Float.class, entry.getName());
+            if (value != null) {
+                statement.setFloat(index, value);
             } else {
                 statement.setNull(index, Types.FLOAT);
             }
@@ -109,8 +112,9 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            if (record.getOptionalDouble(entry.getName()).isPresent()) {
-                statement.setDouble(index, record.getDouble(entry.getName()));
+            final Double value = record.get(Double.class, entry.getName());
+            if (value != null) {
+                statement.setDouble(index, value);
             } else {
                 statement.setNull(index, Types.DOUBLE);
             }
@@ -122,8 +126,9 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            if (record.getOptionalBoolean(entry.getName()).isPresent()) {
-                statement.setBoolean(index, record.getBoolean(entry.getName()));
+            final Boolean value = record.get(Boolean.class, entry.getName());
+            if (value != null) {
+                statement.setBoolean(index, value);
             } else {
                 statement.setNull(index, Types.BOOLEAN);
             }
@@ -135,8 +140,8 @@ public enum RecordToSQLTypeConverter {
         @Override
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry, final Record record)
                 throws SQLException {
-            statement.setTimestamp(index, record.getOptionalDateTime(entry.getName())
-                    .map(d -> new Timestamp(d.toInstant().toEpochMilli())).orElse(null));
+            final ZonedDateTime value = record.getDateTime(entry.getName());
+            statement.setTimestamp(index, value == null ? null : new Timestamp(value.toInstant().toEpochMilli()));
         }
 
     };
@@ -144,4 +149,14 @@ public enum RecordToSQLTypeConverter {
     public abstract void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry,
             final Record record) throws SQLException;
 
+    /**
+     * @return a binder setting the value of this entry to the given query parameter index
+     */
+    public RecordBinder.ColumnBinder binder(final int index, final Schema.Entry entry) {
+        return (statement, record) -> setValue(statement, index, entry, record);
+    }
+
+    public static RecordToSQLTypeConverter of(final Schema.Type type) {
+        return valueOf(type.name());
+    }
 }
@@ -18,7 +18,7 @@ import org.talend.components.jdbc.configuration.OutputConfig;
 import org.talend.components.jdbc.output.Reject;
 import org.talend.components.jdbc.output.platforms.Platform;
 import org.talend.components.jdbc.output.statement.QueryManager;
-import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
+import org.talend.components.jdbc.output.statement.RecordBinder;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
 import org.talend.sdk.component.api.record.Record;
@@ -30,16 +30,17 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
 
 @Data
 @Slf4j
@@ -55,6 +56,10 @@ public abstract class QueryManagerImpl implements QueryManager {
 
     private Integer retryCount = 0;
 
+    private transient Schema binderSchema;
+
+    private transient RecordBinder binder;
+
     abstract protected String buildQuery(List<Record> records);
 
     abstract protected Map<Integer, Schema.Entry> getQueryParams();
@@ -71,59 +76,83 @@ public abstract class QueryManagerImpl implements QueryManager {
         }
     }
 
-    private List<Reject> processRecords(final List<Record> records, final Connection connection, final String query)
+    /**
+     * Execute the records in sub batches of the configured batch size using a single prepared statement.
+     * When a sub batch fails, its failing records are rejected and the other records of the transaction are replayed, so
+     * a bad record doesn't reject the whole transaction.
+     */
+    protected List<Reject> processRecords(final List<Record> records, final Connection connection, final String query)
             throws SQLException {
-        List<Reject> rejects;
-        do {
-            rejects = new ArrayList<>();
-            try (final PreparedStatement statement = connection.prepareStatement(query)) {
-                final Map<Integer, Integer> batchOrder = new HashMap<>();
-                int recordIndex = -1;
-                int batchNumber = -1;
-                for (final Record record : records) {
-                    recordIndex++;
-                    statement.clearParameters();
-                    if (!validateQueryParam(record)) {
-                        rejects.add(new Reject("missing required query param in this record", record));
-                        continue;
-                    }
-                    for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
-                        RecordToSQLTypeConverter.valueOf(entry.getValue().getType().name()).setValue(statement, entry.getKey(),
-                                entry.getValue(), record);
-                    }
-                    statement.addBatch();
-                    batchNumber++;
-                    batchOrder.put(batchNumber, recordIndex);
-                }
+        final RecordBinder recordBinder = getRecordBinder(records.get(0).getSchema());
+        final int batchSize = Math.max(1, configuration.getBatchSize());
+        final List<Reject> rejects = new ArrayList<>();
+        List<Record> pending = new ArrayList<>(records.size());
+        for (final Record record : records) {
+            if (validateQueryParam(record)) {
+                pending.add(record);
+            } else {
+                rejects.add(new Reject("missing required query param in this record", record));
+            }
+        }
 
+        try (final PreparedStatement statement = connection.prepareStatement(query)) {
+            while (!pending.isEmpty()) {
+                final boolean autoCommit = connection.getAutoCommit();
+                int chunkStart = 0;
                 try {
-                    statement.executeBatch();
-                    if (!connection.getAutoCommit()) {
+                    for (; chunkStart < pending.size(); chunkStart += batchSize) {
+                        for (final Record record : pending.subList(chunkStart, Math.min(pending.size(), chunkStart + batchSize))) {
+                            statement.clearParameters();
+                            recordBinder.bind(statement, record);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                    if (!autoCommit) {
                         connection.commit();
                     }
                     break;
                 } catch (final SQLException e) {
-                    if (!connection.getAutoCommit()) {
+                    statement.clearBatch();
+                    if (!autoCommit) {
                         connection.rollback();
                     }
-                    if (!retry(e) || retryCount > maxRetry) {
-                        rejects.addAll(handleRejects(records, batchOrder, e));
-                        break;
-                    }
-                    retryCount++;
-                    log.warn("Deadlock detected. retrying for the " + retryCount + " time", e);
-                    try {
-                        Thread.sleep((long) Math.exp(retryCount) * 2000);
-                    } catch (InterruptedException e1) {
-                        Thread.currentThread().interrupt();
+                    if (retry(e) && retryCount <= maxRetry) {
+                        retryCount++;
+                        log.warn("Deadlock detected. retrying for the " + retryCount + " time", e);
+                        try {
+                            Thread.sleep((long) Math.exp(retryCount) * 2000);
+                        } catch (InterruptedException e1) {
+                            Thread.currentThread().interrupt();
+                        }
+                        if (autoCommit) {
+                            // executed sub batches are already committed
+                            pending = new ArrayList<>(pending.subList(chunkStart, pending.size()));
+                        }
+                        continue;
                     }
+                    pending = handleRejects(pending, chunkStart, Math.min(pending.size(), chunkStart + batchSize), autoCommit, e,
+                            rejects);
                 }
             }
-        } while (true);
+        }
 
         return rejects;
     }
 
+    /**
+     * The query params are rebuilt from the schema of the records on each flush, so the binding plan is kept by schema.
+     *
+     * @return the binding plan of the current query params, rebuilt only when the schema of the records changes
+     */
+    private RecordBinder getRecordBinder(final Schema schema) {
+        if (binder == null || !schema.equals(binderSchema)) {
+            binder = RecordBinder.of(getQueryParams());
+            binderSchema = schema;
+        }
+        return binder;
+    }
+
     /**
      * A default retry strategy. We try to detect deadl lock by testing the sql state code.
      * 40001 is the state code used by almost all database to rise a dead lock issue
@@ -132,34 +161,58 @@ public abstract class QueryManagerImpl implements QueryManager {
         return "40001".equals(ofNullable(e.getNextException()).orElse(e).getSQLState());
     }
 
-    private List<Reject> handleRejects(final List<Record> records, Map<Integer, Integer> batchOrder, final SQLException e)
-            throws SQLException {
+    /**
+     * Reject the failing records of a sub batch.
+     *
+     * @return the records remaining to be executed, the whole transaction without the rejected records when it was rolled
+     * back, or only the records following the failure when the connection is in auto commit mode
+     */
+    private List<Record> handleRejects(final List<Record> pending, final int chunkStart, final int chunkEnd,
+            final boolean autoCommit, final SQLException e, final List<Reject> rejects) throws SQLException {
         if (!(e instanceof BatchUpdateException)) {
             throw e;
         }
-        final List<Reject> discards = new ArrayList<>();
+        final int chunkSize = chunkEnd - chunkStart;
         final int[] result = ((BatchUpdateException) e).getUpdateCounts();
-        SQLException error = e;
-        if (result.length == records.size()) {
+        final Set<Integer> failures = new HashSet<>();
+        if (result.length == chunkSize) {
             for (int i = 0; i < result.length; i++) {
                 if (result[i] == Statement.EXECUTE_FAILED) {
-                    error = ofNullable(error.getNextException()).orElse(error);
-                    discards.add(new Reject(error.getMessage(), error.getSQLState(), error.getErrorCode(),
-                            records.get(batchOrder.get(i))));
+                    failures.add(chunkStart + i);
                 }
             }
         } else {
-            int failurePoint = result.length;
-            error = ofNullable(error.getNextException()).orElse(error);
-            discards.add(new Reject(error.getMessage(), error.getSQLState(), error.getErrorCode(),
-                    records.get(batchOrder.get(failurePoint))));
-            // todo we may retry for this sub list
-            discards.addAll(records.subList(batchOrder.get(failurePoint) + 1, records.size()).stream()
-                    .map(r -> new Reject("rejected due to error in previous elements error in this transaction", r))
-                    .collect(toList()));
+            // the driver stopped at the first failure of the sub batch
+            failures.add(chunkStart + Math.min(result.length, chunkSize - 1));
+        }
+        if (failures.isEmpty()) {
+            // can't identify the failing record, reject the whole sub batch to make sure we progress
+            IntStream.range(chunkStart, chunkEnd).forEach(failures::add);
         }
 
-        return discards;
+        SQLException error = e;
+        for (int i = chunkStart; i < chunkEnd; i++) {
+            if (failures.contains(i)) {
+                error = ofNullable(error.getNextException()).orElse(error);
+                rejects.add(new Reject(error.getMessage(), error.getSQLState(), error.getErrorCode(), pending.get(i)));
+            }
+        }
+
+        final List<Record> remaining = new ArrayList<>();
+        final int replayFrom;
+        if (!autoCommit) {
+            replayFrom = 0;
+        } else if (result.length == chunkSize) {
+            replayFrom = chunkEnd;
+        } else {
+            replayFrom = chunkStart + result.length;
+        }
+        for (int i = replayFrom; i < pending.size(); i++) {
+            if (!failures.contains(i)) {
+                remaining.add(pending.get(i));
+            }
+        }
+        return remaining;
     }
 
     public String namespace(final Connection connection) throws SQLException {
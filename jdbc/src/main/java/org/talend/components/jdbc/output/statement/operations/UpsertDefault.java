@@ -17,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.talend.components.jdbc.configuration.OutputConfig;
 import org.talend.components.jdbc.output.Reject;
 import org.talend.components.jdbc.output.platforms.Platform;
+import org.talend.components.jdbc.output.platforms.UpsertStatement;
 import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
@@ -29,29 +30,55 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.*;
 
+/**
+ * Upsert using the native single statement upsert of the platform when available.
+ * Otherwise the existing keys are probed by chunks of records to split the records in an insert and an update batch.
+ */
 @Slf4j
 @Getter
 public class UpsertDefault extends QueryManagerImpl {
 
+    /**
+     * Max number of parameters bound to a single key probe query
+     */
+    private static final int MAX_PROBE_PARAMETERS = 500;
+
     private final Insert insert;
 
     private final Update update;
 
     private final List<String> keys;
 
+    private final List<String> ignoreColumns;
+
     private Map<Integer, Schema.Entry> queryParams;
 
+    private List<Schema.Entry> keyEntries;
+
+    /**
+     * Does the platform native upsert match the rows on the keys, null until checked on the table
+     */
+    private Boolean nativeUpsert;
+
+    /**
+     * Is the last built query the platform native upsert statement, or the key probe when the platform has none
+     */
+    private boolean upsertQuery;
+
     public UpsertDefault(final Platform platform, final OutputConfig configuration, final I18nMessage i18n) {
         super(platform, configuration, i18n);
         this.keys = new ArrayList<>(ofNullable(configuration.getKeys()).orElse(emptyList()));
         if (this.keys.isEmpty()) {
             throw new IllegalArgumentException(i18n.errorNoKeyForUpdateQuery());
         }
+        this.ignoreColumns = new ArrayList<>(ofNullable(configuration.getIgnoreUpdate()).orElse(emptyList()));
         insert = new Insert(platform, configuration, i18n);
         update = new Update(platform, configuration, i18n);
     }
@@ -60,16 +87,27 @@ public class UpsertDefault extends QueryManagerImpl {
     public String buildQuery(final List<Record> records) {
         this.queryParams = new HashMap<>();
         final AtomicInteger index = new AtomicInteger(0);
-        final List<Schema.Entry> entries = records.stream().flatMap(r -> r.getSchema().getEntries().stream()).distinct()
+        final Map<String, Schema.Entry> entries = records.stream().flatMap(r -> r.getSchema().getEntries().stream())
+                .collect(toMap(Schema.Entry::getName, identity(), (first, second) -> first, LinkedHashMap::new));
+        this.keyEntries = keys.stream().map(key -> ofNullable(entries.get(key))
+                .orElseThrow(() -> new IllegalStateException(getI18n().errorNoFieldForQueryParam(key)))).collect(toList());
+
+        final String table = getConfiguration().getDataset().getTableName();
+        final List<String> columns = new ArrayList<>(entries.keySet());
+        final List<String> updateColumns = columns.stream().filter(c -> !keys.contains(c) && !ignoreColumns.contains(c))
                 .collect(toList());
+        final Optional<UpsertStatement> upsert = Boolean.TRUE.equals(nativeUpsert)
+                ? getPlatform().upsertStatement(table, columns, keys, updateColumns)
+                : Optional.empty();
+        upsertQuery = upsert.isPresent();
+        if (upsertQuery) {
+            upsert.get().getParameters().forEach(name -> queryParams.put(index.incrementAndGet(), entries.get(name)));
+            return upsert.get().getQuery();
+        }
 
-        return "SELECT COUNT(*) AS RECORD_EXIST FROM " + getPlatform().identifier(getConfiguration().getDataset().getTableName())
-                + " WHERE "
-                + getConfiguration().getKeys().stream()
-                        .peek(key -> queryParams.put(index.incrementAndGet(),
-                                entries.stream().filter(e -> e.getName().equals(key)).findFirst()
-                                        .orElseThrow(() -> new IllegalStateException(getI18n().errorNoFieldForQueryParam(key)))))
-                        .map(c -> getPlatform().identifier(c)).map(c -> c + " = ?").collect(joining(" AND "));
+        keyEntries.forEach(entry -> queryParams.put(index.incrementAndGet(), entry));
+        return " FROM " + getPlatform().identifier(table) + " WHERE "
+                + keys.stream().map(c -> getPlatform().identifier(c) + " = ?").collect(joining(" AND "));
     }
 
     @Override
@@ -90,27 +128,40 @@ public class UpsertDefault extends QueryManagerImpl {
         if (records.isEmpty()) {
             return emptyList();
         }
+        final String query;
+        try (final Connection connection = dataSource.getConnection()) {
+            if (nativeUpsert == null) {
+                nativeUpsert = this.isNativeUpsertKey(connection);
+            }
+            query = buildQuery(records);
+            if (upsertQuery) {
+                return processRecords(records, connection, query);
+            }
+        }
+
+        final List<Reject> discards = new ArrayList<>();
+        final List<Record> candidates = new ArrayList<>();
+        for (final Record record : records) {
+            if (validateQueryParam(record)) {
+                candidates.add(record);
+            } else {
+                discards.add(new Reject("missing required query param in this record", record));
+            }
+        }
+
         final List<Record> needUpdate = new ArrayList<>();
         final List<Record> needInsert = new ArrayList<>();
-        final String query = buildQuery(records);
-        final List<Reject> discards = new ArrayList<>();
+        final int chunkSize = Math.max(1, MAX_PROBE_PARAMETERS / keys.size());
         try (final Connection connection = dataSource.getConnection()) {
-            try (final PreparedStatement statement = connection.prepareStatement(query)) {
-                for (final Record record : records) {
-                    statement.clearParameters();
-                    if (!validateQueryParam(record)) {
-                        discards.add(new Reject("missing required query param in this record", record));
-                        continue;
-                    }
-                    for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
-                        RecordToSQLTypeConverter.valueOf(entry.getValue().getType().name()).setValue(statement, entry.getKey(),
-                                entry.getValue(), record);
-                    }
-                    try (final ResultSet result = statement.executeQuery()) {
-                        if (result.next() && result.getInt("RECORD_EXIST") > 0) {
-                            needUpdate.add(record);
+            try {
+                for (int start = 0; start < candidates.size(); start += chunkSize) {
+                    final List<Record> chunk = candidates.subList(start, Math.min(candidates.size(), start + chunkSize));
+                    final Set<Integer> existing = findExisting(connection, query, chunk);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (existing.contains(i)) {
+                            needUpdate.add(chunk.get(i));
                         } else {
-                            needInsert.add(record);
+                            needInsert.add(chunk.get(i));
                         }
                     }
                 }
@@ -137,4 +188,46 @@ public class UpsertDefault extends QueryManagerImpl {
 
         return discards;
     }
+
+    /**
+     * The platform native upsert is used only when it matches the rows on the configured keys,
+     * otherwise the keys are probed.
+     */
+    private boolean isNativeUpsertKey(final Connection connection) {
+        final String table = getConfiguration().getDataset().getTableName();
+        try {
+            return getPlatform().isNativeUpsertKey(connection, table, keys);
+        } catch (final SQLException e) {
+            log.warn("Can't read the unique indexes of table '{}', upsert will probe the existing keys.", table, e);
+            return false;
+        }
+    }
+
+    /**
+     * Probe the keys of a chunk of records in a single query.
+     * The keys are compared by the database, so its collation, padding and type conversions apply as in the update.
+     *
+     * @param query the FROM and WHERE clauses matching the keys of one record
+     * @return the positions in the chunk of the records that already exist in the table
+     */
+    private Set<Integer> findExisting(final Connection connection, final String query, final List<Record> records)
+            throws SQLException {
+        final String probe = IntStream.range(0, records.size()).mapToObj(i -> "SELECT " + i + query)
+                .collect(joining(" UNION ALL "));
+        final Set<Integer> existing = new HashSet<>();
+        try (final PreparedStatement statement = connection.prepareStatement(probe)) {
+            int index = 0;
+            for (final Record record : records) {
+                for (final Schema.Entry entry : keyEntries) {
+                    RecordToSQLTypeConverter.of(entry.getType()).setValue(statement, ++index, entry, record);
+                }
+            }
+            try (final ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    existing.add(result.getInt(1));
+                }
+            }
+        }
+        return existing;
+    }
 }
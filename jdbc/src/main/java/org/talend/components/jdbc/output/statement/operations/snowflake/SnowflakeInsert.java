@@ -29,10 +29,11 @@ import java.util.List;
 
 public class SnowflakeInsert extends Insert {
 
-    SnowflakeCopyService snowflakeCopy = new SnowflakeCopyService();
+    final SnowflakeCopyService snowflakeCopy;
 
     public SnowflakeInsert(Platform platform, OutputConfig configuration, I18nMessage i18n) {
         super(platform, configuration, i18n);
+        snowflakeCopy = new SnowflakeCopyService(configuration.getStageFormat());
     }
 
     @Override
@@ -43,7 +44,7 @@ public class SnowflakeInsert extends Insert {
             final String tableName = getConfiguration().getDataset().getTableName();
             final String fqTableName = namespace(connection) + "." + getPlatform().identifier(tableName);
             final String fqStageName = namespace(connection) + ".%" + getPlatform().identifier(tableName);
-            rejects.addAll(snowflakeCopy.putAndCopy(connection, records, fqStageName, fqTableName));
+            rejects.addAll(snowflakeCopy.putAndCopy(dataSource, connection, records, fqStageName, fqTableName));
             if (rejects.isEmpty()) {
                 connection.commit();
             } else {
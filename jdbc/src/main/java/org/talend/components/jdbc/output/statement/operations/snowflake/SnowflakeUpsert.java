@@ -32,10 +32,11 @@ import static java.util.stream.Collectors.joining;
 
 public class SnowflakeUpsert extends UpsertDefault {
 
-    SnowflakeCopyService snowflakeCopy = new SnowflakeCopyService();
+    final SnowflakeCopyService snowflakeCopy;
 
     public SnowflakeUpsert(Platform platform, OutputConfig configuration, I18nMessage i18n) {
         super(platform, configuration, i18n);
+        snowflakeCopy = new SnowflakeCopyService(configuration.getStageFormat());
     }
 
     @Override
@@ -50,7 +51,7 @@ public class SnowflakeUpsert extends UpsertDefault {
             final String fqTableName = namespace(connection) + "." + getPlatform().identifier(tableName);
             final String fqTmpTableName = namespace(connection) + "." + getPlatform().identifier(tmpTableName);
             final String fqStageName = namespace(connection) + ".%" + getPlatform().identifier(tmpTableName);
-            rejects.addAll(snowflakeCopy.putAndCopy(connection, records, fqStageName, fqTableName, fqTmpTableName));
+            rejects.addAll(snowflakeCopy.putAndCopy(dataSource, connection, records, fqStageName, fqTableName, fqTmpTableName));
             if (records.size() != rejects.size()) {
                 try (final Statement statement = connection.createStatement()) {
                     statement.execute("merge into " + fqTableName + " target using " + fqTmpTableName + " as source on "
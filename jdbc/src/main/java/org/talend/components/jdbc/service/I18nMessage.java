@@ -77,6 +77,8 @@ public interface I18nMessage {
 
     String errorUnsupportedBooleanType4Oracle(String field);
 
+    String errorInvalidPartitionColumn(String column, String tableName);
+
     //
     String actionOnDataInsert();
 
@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.talend.components.jdbc.configuration.JdbcConfiguration;
+import org.talend.components.jdbc.datastore.JdbcConnection;
+import org.talend.sdk.component.api.service.dependency.Resolver;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reference counted registry of the connection pools shared by the jdbc components running in the same jvm.
+ * A pool is kept open for a retention delay after its last release, so short lived components, like the ones of a
+ * micro batch, reuse the already opened connections. The driver class loaders are shared by all the pools of a driver.
+ */
+@Slf4j
+class JdbcDataSourceRegistry {
+
+    private final Map<PoolKey, PooledDataSource> pools = new HashMap<>();
+
+    private final Map<JdbcConfiguration.Driver, DriverClassLoader> classLoaders = new HashMap<>();
+
+    private ScheduledExecutorService evictor;
+
+    /**
+     * @param key the pool key, null for a pool that can't be shared
+     * @param retention how long in milliseconds an unused pool is kept open
+     */
+    synchronized PooledDataSource acquire(final PoolKey key, final JdbcConfiguration.Driver driver,
+            final Supplier<Resolver.ClassLoaderDescriptor> classLoaderFactory,
+            final Function<ClassLoader, HikariDataSource> dataSourceFactory, final int maximumPoolSize, final long retention) {
+        PooledDataSource pool = key == null ? null : pools.get(key);
+        if (pool == null) {
+            final DriverClassLoader classLoader = classLoaders.computeIfAbsent(driver,
+                    d -> new DriverClassLoader(classLoaderFactory.get()));
+            classLoader.references++;
+            final HikariDataSource dataSource;
+            try {
+                dataSource = dataSourceFactory.apply(classLoader.getDescriptor().asClassLoader());
+            } catch (final RuntimeException e) {
+                releaseClassLoader(driver);
+                throw e;
+            }
+            pool = new PooledDataSource(key, driver, classLoader.getDescriptor().asClassLoader(), dataSource, maximumPoolSize,
+                    key == null ? 0 : retention);
+            if (key != null) {
+                pools.put(key, pool);
+            }
+        }
+        pool.acquire();
+        return pool;
+    }
+
+    private synchronized void evictIdlePools() {
+        final long now = System.currentTimeMillis();
+        final Iterator<PooledDataSource> iterator = pools.values().iterator();
+        while (iterator.hasNext()) {
+            final PooledDataSource pool = iterator.next();
+            if (pool.references == 0 && now - pool.releasedAt >= pool.retention) {
+                iterator.remove();
+                pool.close();
+            }
+        }
+        if (pools.isEmpty() && evictor != null) {
+            evictor.shutdown();
+            evictor = null;
+        }
+    }
+
+    private void scheduleEviction(final long retention) {
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "talend-jdbc-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            evictor.scheduleWithFixedDelay(this::evictIdlePools, retention, Math.max(1000, retention / 2),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void releaseClassLoader(final JdbcConfiguration.Driver driver) {
+        final DriverClassLoader classLoader = classLoaders.get(driver);
+        if (classLoader != null && --classLoader.references == 0) {
+            classLoaders.remove(driver);
+            try {
+                classLoader.getDescriptor().close();
+            } catch (final Exception e) {
+                log.error("can't close driver classloader properly", e);
+            }
+        }
+    }
+
+    @Data
+    static class PoolKey {
+
+        private final JdbcConnection connection;
+
+        private final JdbcConfiguration.Driver driver;
+
+        private final boolean autoCommit;
+
+        private final boolean rewriteBatchedStatements;
+    }
+
+    @Getter
+    private static class DriverClassLoader {
+
+        private final Resolver.ClassLoaderDescriptor descriptor;
+
+        private int references;
+
+        private DriverClassLoader(final Resolver.ClassLoaderDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+    }
+
+    class PooledDataSource {
+
+        private final PoolKey key;
+
+        private final JdbcConfiguration.Driver driver;
+
+        @Getter
+        private final ClassLoader classLoader;
+
+        @Getter
+        private final HikariDataSource dataSource;
+
+        private final int maximumPoolSize;
+
+        private final long retention;
+
+        private int references;
+
+        private long releasedAt;
+
+        private PooledDataSource(final PoolKey key, final JdbcConfiguration.Driver driver, final ClassLoader classLoader,
+                final HikariDataSource dataSource, final int maximumPoolSize, final long retention) {
+            this.key = key;
+            this.driver = driver;
+            this.classLoader = classLoader;
+            this.dataSource = dataSource;
+            this.maximumPoolSize = maximumPoolSize;
+            this.retention = retention;
+        }
+
+        private void acquire() {
+            references++;
+            resize();
+            logStatistics("acquired");
+        }
+
+        /**
+         * @return this pool with one more reference
+         */
+        PooledDataSource retain() {
+            synchronized (JdbcDataSourceRegistry.this) {
+                acquire();
+                return this;
+            }
+        }
+
+        void release() {
+            synchronized (JdbcDataSourceRegistry.this) {
+                references--;
+                logStatistics("released");
+                if (references > 0) {
+                    resize();
+                } else if (retention <= 0) {
+                    if (key != null) {
+                        pools.remove(key, this);
+                    }
+                    close();
+                } else {
+                    releasedAt = System.currentTimeMillis();
+                    scheduleEviction(retention);
+                }
+            }
+        }
+
+        /**
+         * Each component holds at most one connection at a time, the pool grows with the number of components sharing it
+         * so none of them waits for a connection.
+         */
+        private void resize() {
+            final int size = Math.max(maximumPoolSize, references);
+            if (dataSource.getMaximumPoolSize() != size) {
+                dataSource.getHikariConfigMXBean().setMaximumPoolSize(size);
+            }
+        }
+
+        private void logStatistics(final String event) {
+            if (!log.isDebugEnabled()) {
+                return;
+            }
+            final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                log.debug("Pool {} {}, {} references", dataSource.getPoolName(), event, references);
+            } else {
+                log.debug("Pool {} {}, {} references, {} active, {} idle, {} waiting connections", dataSource.getPoolName(),
+                        event, references, pool.getActiveConnections(), pool.getIdleConnections(),
+                        pool.getThreadsAwaitingConnection());
+            }
+        }
+
+        private void close() {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader prev = thread.getContextClassLoader();
+            try {
+                thread.setContextClassLoader(classLoader);
+                dataSource.close();
+            } finally {
+                thread.setContextClassLoader(prev);
+                releaseClassLoader(driver);
+            }
+        }
+    }
+}
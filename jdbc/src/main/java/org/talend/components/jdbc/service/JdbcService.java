@@ -23,6 +23,7 @@ import static org.talend.sdk.component.api.record.Schema.Type.DOUBLE;
 import static org.talend.sdk.component.api.record.Schema.Type.FLOAT;
 import static org.talend.sdk.component.api.record.Schema.Type.INT;
 import static org.talend.sdk.component.api.record.Schema.Type.LONG;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
 import static org.talend.sdk.component.api.record.Schema.Type.STRING;
 
 import java.lang.reflect.InvocationHandler;
@@ -35,10 +36,11 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -48,7 +50,6 @@ import org.talend.components.jdbc.configuration.JdbcConfiguration;
 import org.talend.components.jdbc.datastore.AuthenticationType;
 import org.talend.components.jdbc.datastore.JdbcConnection;
 import org.talend.components.jdbc.output.platforms.PlatformFactory;
-import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.configuration.Configuration;
@@ -70,8 +71,18 @@ public class JdbcService {
             "^SELECT\\s+((?!((\\bINTO\\b)|(\\bFOR\\s+UPDATE\\b)|(\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b))).)+$",
             Pattern.CASE_INSENSITIVE | Pattern.DOTALL | Pattern.MULTILINE);
 
+    private static final String POOL_MAXIMUM_SIZE = "jdbc.pool.maximumPoolSize";
+
+    private static final String POOL_RETENTION = "jdbc.pool.idleTimeout";
+
+    private static final String POOL_REGISTER_MBEANS = "jdbc.pool.registerMbeans";
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
     private final Map<JdbcConfiguration.Driver, URL[]> drivers = new HashMap<>();
 
+    private final JdbcDataSourceRegistry dataSourceRegistry = new JdbcDataSourceRegistry();
+
     @Service
     private Resolver resolver;
 
@@ -134,118 +145,161 @@ public class JdbcService {
     }
 
     public JdbcDatasource createDataSource(final JdbcConnection connection) {
-        return new JdbcDatasource(resolver, i18n, tokenClient, connection, getDriver(connection), false, false);
+        return createDataSource(connection, false, false);
     }
 
     public JdbcDatasource createDataSource(final JdbcConnection connection, final boolean rewriteBatchedStatements) {
-        return new JdbcDatasource(resolver, i18n, tokenClient, connection, getDriver(connection), false,
-                rewriteBatchedStatements);
+        return createDataSource(connection, false, rewriteBatchedStatements);
     }
 
     public JdbcDatasource createDataSource(final JdbcConnection connection, boolean isAutoCommit,
             final boolean rewriteBatchedStatements) {
         final JdbcConfiguration.Driver driver = getDriver(connection);
-        return new JdbcDatasource(resolver, i18n, tokenClient, connection, driver, isAutoCommit, rewriteBatchedStatements);
+        // oauth tokens expire, such a pool can't outlive the component which created it
+        final JdbcDataSourceRegistry.PoolKey key = SNOWFLAKE_DATABASE_NAME.equals(connection.getDbType())
+                && AuthenticationType.OAUTH == connection.getAuthenticationType() ? null
+                        : new JdbcDataSourceRegistry.PoolKey(connection, driver, isAutoCommit, rewriteBatchedStatements);
+        return new JdbcDatasource(driver.getId(), driver.isContextualClassLoader(),
+                dataSourceRegistry.acquire(key, driver, () -> loadDriver(driver),
+                        classLoader -> newDataSource(classLoader, connection, driver, isAutoCommit, rewriteBatchedStatements),
+                        getPoolConfiguration(POOL_MAXIMUM_SIZE, 1), getPoolConfiguration(POOL_RETENTION, 60_000)));
+    }
+
+    private int getPoolConfiguration(final String key, final int defaultValue) {
+        return ofNullable(localConfiguration.get(key)).map(String::trim).filter(v -> !v.isEmpty()).map(Integer::valueOf)
+                .orElse(defaultValue);
+    }
+
+    private Resolver.ClassLoaderDescriptor loadDriver(final JdbcConfiguration.Driver driver) {
+        final Resolver.ClassLoaderDescriptor classLoaderDescriptor = resolver.mapDescriptorToClassLoader(driver.getPaths());
+        if (!classLoaderDescriptor.resolvedDependencies().containsAll(driver.getPaths())) {
+            String missingJars = driver.getPaths().stream()
+                    .filter(p -> classLoaderDescriptor.resolvedDependencies().contains(p)).collect(joining("\n"));
+            try {
+                classLoaderDescriptor.close();
+            } catch (final Exception e) {
+                log.error("can't close driver classloader properly", e);
+            }
+            throw new IllegalStateException(i18n.errorDriverLoad(driver.getId(), missingJars));
+        }
+        return classLoaderDescriptor;
     }
 
+    private HikariDataSource newDataSource(final ClassLoader classLoader, final JdbcConnection connection,
+            final JdbcConfiguration.Driver driver, final boolean isAutoCommit, final boolean rewriteBatchedStatements) {
+        final String driverId = driver.getId();
+        final Thread thread = Thread.currentThread();
+        final ClassLoader prev = thread.getContextClassLoader();
+        try {
+            thread.setContextClassLoader(classLoader);
+            final HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("talend-jdbc-" + driverId + "-" + POOL_COUNTER.incrementAndGet());
+            if ("MSSQL_JTDS".equals(driverId)) {
+                dataSource.setConnectionTestQuery("SELECT 1");
+            }
+            if (!SNOWFLAKE_DATABASE_NAME.equals(connection.getDbType())
+                    || AuthenticationType.BASIC == connection.getAuthenticationType()) {
+                dataSource.setUsername(connection.getUserId());
+                dataSource.setPassword(connection.getPassword());
+            } else if (AuthenticationType.KEY_PAIR == connection.getAuthenticationType()) {
+                dataSource.setUsername(connection.getUserId());
+                dataSource.addDataSourceProperty("privateKey",
+                        PrivateKeyUtils.getPrivateKey(connection.getPrivateKey(), connection.getPrivateKeyPassword(), i18n));
+            } else if (AuthenticationType.OAUTH == connection.getAuthenticationType()) {
+                dataSource.addDataSourceProperty("authenticator", "oauth");
+                dataSource.addDataSourceProperty("token", OAuth2Utils.getAccessToken(connection, tokenClient, i18n));
+            }
+            dataSource.setDriverClassName(driver.getClassName());
+            dataSource.setJdbcUrl(connection.getJdbcUrl());
+            if ("DeltaLake".equalsIgnoreCase(driverId)) {
+                // do nothing, DeltaLake default don't allow set auto commit to false
+            } else {
+                dataSource.setAutoCommit(isAutoCommit);
+            }
+            // the registry grows the pool with the number of components sharing it
+            dataSource.setMinimumIdle(1);
+            dataSource.setMaximumPoolSize(getPoolConfiguration(POOL_MAXIMUM_SIZE, 1));
+            dataSource.setIdleTimeout(Math.max(10_000, getPoolConfiguration(POOL_RETENTION, 60_000)));
+            dataSource.setRegisterMbeans(Boolean.parseBoolean(localConfiguration.get(POOL_REGISTER_MBEANS)));
+            dataSource.setConnectionTimeout(connection.getConnectionTimeOut() * 1000);
+            dataSource.setValidationTimeout(connection.getConnectionValidationTimeOut() * 1000);
+            PlatformFactory.get(connection, i18n).addDataSourceProperties(dataSource);
+            dataSource.addDataSourceProperty("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
+            // dataSource.addDataSourceProperty("cachePrepStmts", "true");
+            // dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
+            // dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            // dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+
+            // Security Issues with LOAD DATA LOCAL https://jira.talendforge.org/browse/TDI-42001
+            dataSource.addDataSourceProperty("allowLoadLocalInfile", "false"); // MySQL
+            dataSource.addDataSourceProperty("allowLocalInfile", "false"); // MariaDB
+
+            driver.getFixedParameters().stream().forEach(kv -> dataSource.addDataSourceProperty(kv.getKey(), kv.getValue()));
+            return dataSource;
+        } finally {
+            thread.setContextClassLoader(prev);
+        }
+    }
+
+    /**
+     * Handle on a pool of the {@link JdbcDataSourceRegistry}, closing it releases the pool which is shared with the
+     * other datasources of the same connection.
+     */
     public static class JdbcDatasource implements AutoCloseable {
 
-        private final Resolver.ClassLoaderDescriptor classLoaderDescriptor;
+        private final JdbcDataSourceRegistry.PooledDataSource pool;
 
-        private HikariDataSource dataSource;
+        private final ClassLoader classLoader;
 
-        @Getter
-        private final String driverId;
+        private final HikariDataSource dataSource;
 
-        public JdbcDatasource(final Resolver resolver, final I18nMessage i18n, final TokenClient tokenClient,
-                final JdbcConnection connection, final JdbcConfiguration.Driver driver, final boolean isAutoCommit,
-                final boolean rewriteBatchedStatements) {
-            this.driverId = driver.getId();
-            final Thread thread = Thread.currentThread();
-            final ClassLoader prev = thread.getContextClassLoader();
+        private final boolean contextualClassLoader;
 
-            classLoaderDescriptor = resolver.mapDescriptorToClassLoader(driver.getPaths());
-            if (!classLoaderDescriptor.resolvedDependencies().containsAll(driver.getPaths())) {
-                String missingJars = driver.getPaths().stream()
-                        .filter(p -> classLoaderDescriptor.resolvedDependencies().contains(p)).collect(joining("\n"));
-                throw new IllegalStateException(i18n.errorDriverLoad(driverId, missingJars));
-            }
+        private final AtomicBoolean closed = new AtomicBoolean();
 
-            try {
-                thread.setContextClassLoader(classLoaderDescriptor.asClassLoader());
-                dataSource = new HikariDataSource();
-                if ("MSSQL_JTDS".equals(driverId)) {
-                    dataSource.setConnectionTestQuery("SELECT 1");
-                }
-                if (!SNOWFLAKE_DATABASE_NAME.equals(connection.getDbType())
-                        || AuthenticationType.BASIC == connection.getAuthenticationType()) {
-                    dataSource.setUsername(connection.getUserId());
-                    dataSource.setPassword(connection.getPassword());
-                } else if (AuthenticationType.KEY_PAIR == connection.getAuthenticationType()) {
-                    dataSource.setUsername(connection.getUserId());
-                    dataSource.addDataSourceProperty("privateKey",
-                            PrivateKeyUtils.getPrivateKey(connection.getPrivateKey(), connection.getPrivateKeyPassword(), i18n));
-                } else if (AuthenticationType.OAUTH == connection.getAuthenticationType()) {
-                    dataSource.addDataSourceProperty("authenticator", "oauth");
-                    dataSource.addDataSourceProperty("token", OAuth2Utils.getAccessToken(connection, tokenClient, i18n));
-                }
-                dataSource.setDriverClassName(driver.getClassName());
-                dataSource.setJdbcUrl(connection.getJdbcUrl());
-                if ("DeltaLake".equalsIgnoreCase(driverId)) {
-                    // do nothing, DeltaLake default don't allow set auto commit to false
-                } else {
-                    dataSource.setAutoCommit(isAutoCommit);
-                }
-                dataSource.setMaximumPoolSize(1);
-                dataSource.setConnectionTimeout(connection.getConnectionTimeOut() * 1000);
-                dataSource.setValidationTimeout(connection.getConnectionValidationTimeOut() * 1000);
-                PlatformFactory.get(connection, i18n).addDataSourceProperties(dataSource);
-                dataSource.addDataSourceProperty("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
-                // dataSource.addDataSourceProperty("cachePrepStmts", "true");
-                // dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
-                // dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-                // dataSource.addDataSourceProperty("useServerPrepStmts", "true");
-
-                // Security Issues with LOAD DATA LOCAL https://jira.talendforge.org/browse/TDI-42001
-                dataSource.addDataSourceProperty("allowLoadLocalInfile", "false"); // MySQL
-                dataSource.addDataSourceProperty("allowLocalInfile", "false"); // MariaDB
-
-                driver.getFixedParameters().stream().forEach(kv -> dataSource.addDataSourceProperty(kv.getKey(), kv.getValue()));
+        @Getter
+        private final String driverId;
 
-            } finally {
-                thread.setContextClassLoader(prev);
-            }
+        JdbcDatasource(final String driverId, final boolean contextualClassLoader,
+                final JdbcDataSourceRegistry.PooledDataSource pool) {
+            this.driverId = driverId;
+            this.contextualClassLoader = contextualClassLoader;
+            this.pool = pool;
+            this.classLoader = pool.getClassLoader();
+            this.dataSource = pool.getDataSource();
         }
 
         public Connection getConnection() throws SQLException {
             final Thread thread = Thread.currentThread();
             final ClassLoader prev = thread.getContextClassLoader();
             try {
-                thread.setContextClassLoader(classLoaderDescriptor.asClassLoader());
-                return wrap(classLoaderDescriptor.asClassLoader(), dataSource.getConnection(), Connection.class);
+                thread.setContextClassLoader(classLoader);
+                final Connection connection = dataSource.getConnection();
+                // without the proxy the driver is called directly, with the caller context classloader
+                return contextualClassLoader ? wrap(classLoader, connection, Connection.class) : connection;
             } finally {
                 thread.setContextClassLoader(prev);
             }
         }
 
+        /**
+         * Components using several connections at the same time, like parallel uploads, take one handle per connection so
+         * the shared pool is sized accordingly.
+         *
+         * @return a new handle on the same pool, to be closed by the caller
+         */
+        public JdbcDatasource fork() {
+            return new JdbcDatasource(driverId, contextualClassLoader, pool.retain());
+        }
+
         @Override
         public void close() {
-            final Thread thread = Thread.currentThread();
-            final ClassLoader prev = thread.getContextClassLoader();
-            try {
-                thread.setContextClassLoader(classLoaderDescriptor.asClassLoader());
-                dataSource.close();
-            } finally {
-                thread.setContextClassLoader(prev);
-                try {
-                    classLoaderDescriptor.close();
-                } catch (final Exception e) {
-                    log.error("can't close driver classloader properly", e);
-                }
+            if (closed.compareAndSet(false, true)) {
+                pool.release();
             }
         }
 
-        private static <T> T wrap(final ClassLoader classLoader, final Object delegate, final Class<T> api) {
+        static <T> T wrap(final ClassLoader classLoader, final Object delegate, final Class<T> api) {
             return api.cast(
                     Proxy.newProxyInstance(classLoader, new Class<?>[] { api }, new ContextualDelegate(delegate, classLoader)));
         }
@@ -293,115 +347,59 @@ public class JdbcService {
     }
 
     public void addField(final Schema.Builder builder, final ResultSetMetaData metaData, final int columnIndex) {
+        builder.withEntry(newEntry(metaData, columnIndex));
+    }
+
+    /**
+     * @param metaData the metadata of the result set to read
+     * @return the reading plan of the result set rows
+     */
+    public RecordReader newRecordReader(final ResultSetMetaData metaData) {
         try {
-            final String javaType = metaData.getColumnClassName(columnIndex);
-            final int sqlType = metaData.getColumnType(columnIndex);
-            final Schema.Entry.Builder entryBuilder = recordBuilderFactory.newEntryBuilder();
-            entryBuilder.withName(metaData.getColumnName(columnIndex))
-                    .withNullable(metaData.isNullable(columnIndex) != columnNoNulls);
-            switch (sqlType) {
-            case java.sql.Types.SMALLINT:
-            case java.sql.Types.TINYINT:
-            case java.sql.Types.INTEGER:
-                if (javaType.equals(Integer.class.getName()) || Short.class.getName().equals(javaType)) {
-                    builder.withEntry(entryBuilder.withType(INT).build());
-                } else {
-                    builder.withEntry(entryBuilder.withType(LONG).build());
-                }
-                break;
-            case java.sql.Types.FLOAT:
-            case java.sql.Types.REAL:
-                builder.withEntry(entryBuilder.withType(FLOAT).build());
-                break;
-            case java.sql.Types.DOUBLE:
-                builder.withEntry(entryBuilder.withType(DOUBLE).build());
-                break;
-            case java.sql.Types.BOOLEAN:
-                builder.withEntry(entryBuilder.withType(BOOLEAN).build());
-                break;
-            case java.sql.Types.TIME:
-            case java.sql.Types.DATE:
-            case java.sql.Types.TIMESTAMP:
-                builder.withEntry(entryBuilder.withType(DATETIME).build());
-                break;
-            case java.sql.Types.BINARY:
-            case java.sql.Types.VARBINARY:
-            case Types.LONGVARBINARY:
-                builder.withEntry(entryBuilder.withType(BYTES).build());
-                break;
-            case java.sql.Types.BIGINT:
-            case java.sql.Types.DECIMAL:
-            case java.sql.Types.NUMERIC:
-            case java.sql.Types.VARCHAR:
-            case java.sql.Types.LONGVARCHAR:
-            case java.sql.Types.CHAR:
-            default:
-                builder.withEntry(entryBuilder.withType(STRING).build());
-                break;
+            final Schema.Builder schemaBuilder = recordBuilderFactory.newSchemaBuilder(RECORD);
+            final RecordReader.ColumnReader[] readers = new RecordReader.ColumnReader[metaData.getColumnCount()];
+            for (int index = 1; index <= readers.length; index++) {
+                final Schema.Entry entry = newEntry(metaData, index);
+                schemaBuilder.withEntry(entry);
+                readers[index - 1] = RecordReader.of(index, entry, metaData.getColumnType(index));
             }
-
-            log.warn("[addField] {} {} {}.", metaData.getColumnName(columnIndex), javaType, sqlType);
-
+            return new RecordReader(recordBuilderFactory, schemaBuilder.build(), readers);
         } catch (final SQLException e) {
             throw toIllegalStateException(e);
         }
     }
 
-    public void addColumn(final Record.Builder builder, final ResultSetMetaData metaData, final int columnIndex,
-            final ResultSet resultSet) {
+    private Schema.Entry newEntry(final ResultSetMetaData metaData, final int columnIndex) {
         try {
+            final String javaType = metaData.getColumnClassName(columnIndex);
             final int sqlType = metaData.getColumnType(columnIndex);
             final Schema.Entry.Builder entryBuilder = recordBuilderFactory.newEntryBuilder();
-            final Object value = resultSet.getObject(columnIndex);
             entryBuilder.withName(metaData.getColumnName(columnIndex))
                     .withNullable(metaData.isNullable(columnIndex) != columnNoNulls);
+            log.debug("[addField] {} {} {}.", metaData.getColumnName(columnIndex), javaType, sqlType);
             switch (sqlType) {
             case java.sql.Types.SMALLINT:
             case java.sql.Types.TINYINT:
             case java.sql.Types.INTEGER:
-                if (value != null) {
-                    if (value instanceof Integer) {
-                        builder.withInt(entryBuilder.withType(INT).build(), (Integer) value);
-                    } else if (value instanceof Short) {
-                        builder.withInt(entryBuilder.withType(INT).build(), ((Short) value).intValue());
-                    } else {
-                        builder.withLong(entryBuilder.withType(LONG).build(), Long.valueOf(value.toString()));
-                    }
+                if (javaType.equals(Integer.class.getName()) || Short.class.getName().equals(javaType)) {
+                    return entryBuilder.withType(INT).build();
                 }
-                break;
+                return entryBuilder.withType(LONG).build();
             case java.sql.Types.FLOAT:
             case java.sql.Types.REAL:
-                if (value != null) {
-                    builder.withFloat(entryBuilder.withType(FLOAT).build(), (Float) value);
-                }
-                break;
+                return entryBuilder.withType(FLOAT).build();
             case java.sql.Types.DOUBLE:
-                if (value != null) {
-                    builder.withDouble(entryBuilder.withType(DOUBLE).build(), (Double) value);
-                }
-                break;
+                return entryBuilder.withType(DOUBLE).build();
             case java.sql.Types.BOOLEAN:
-                if (value != null) {
-                    builder.withBoolean(entryBuilder.withType(BOOLEAN).build(), (Boolean) value);
-                }
-                break;
-            case java.sql.Types.DATE:
-                builder.withDateTime(entryBuilder.withType(DATETIME).build(),
-                        value == null ? null : new Date(((java.sql.Date) value).getTime()));
-                break;
+                return entryBuilder.withType(BOOLEAN).build();
             case java.sql.Types.TIME:
-                builder.withDateTime(entryBuilder.withType(DATETIME).build(),
-                        value == null ? null : new Date(((java.sql.Time) value).getTime()));
-                break;
+            case java.sql.Types.DATE:
             case java.sql.Types.TIMESTAMP:
-                builder.withDateTime(entryBuilder.withType(DATETIME).build(),
-                        value == null ? null : new Date(((java.sql.Timestamp) value).getTime()));
-                break;
+                return entryBuilder.withType(DATETIME).build();
             case java.sql.Types.BINARY:
             case java.sql.Types.VARBINARY:
             case Types.LONGVARBINARY:
-                builder.withBytes(entryBuilder.withType(BYTES).build(), value == null ? null : (byte[]) value);
-                break;
+                return entryBuilder.withType(BYTES).build();
             case java.sql.Types.BIGINT:
             case java.sql.Types.DECIMAL:
             case java.sql.Types.NUMERIC:
@@ -409,8 +407,7 @@ public class JdbcService {
             case java.sql.Types.LONGVARCHAR:
             case java.sql.Types.CHAR:
             default:
-                builder.withString(entryBuilder.withType(STRING).build(), value == null ? null : String.valueOf(value));
-                break;
+                return entryBuilder.withType(STRING).build();
             }
         } catch (final SQLException e) {
             throw toIllegalStateException(e);
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Date;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Reading plan of a result set.
+ * The schema entries and the typed getter of each column are resolved once from the result set metadata and reused
+ * for all the rows.
+ */
+public final class RecordReader {
+
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private final Schema schema;
+
+    private final ColumnReader[] readers;
+
+    RecordReader(final RecordBuilderFactory recordBuilderFactory, final Schema schema, final ColumnReader[] readers) {
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.schema = schema;
+        this.readers = readers;
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public Record read(final ResultSet resultSet) throws SQLException {
+        final Record.Builder builder = recordBuilderFactory.newRecordBuilder(schema);
+        for (final ColumnReader reader : readers) {
+            reader.read(resultSet, builder);
+        }
+        return builder.build();
+    }
+
+    static ColumnReader of(final int index, final Schema.Entry entry, final int sqlType) {
+        switch (entry.getType()) {
+        case INT:
+            return (resultSet, builder) -> {
+                final int value = resultSet.getInt(index);
+                if (!resultSet.wasNull()) {
+                    builder.withInt(entry, value);
+                }
+            };
+        case LONG:
+            return (resultSet, builder) -> {
+                final long value = resultSet.getLong(index);
+                if (!resultSet.wasNull()) {
+                    builder.withLong(entry, value);
+                }
+            };
+        case FLOAT:
+            return (resultSet, builder) -> {
+                final float value = resultSet.getFloat(index);
+                if (!resultSet.wasNull()) {
+                    builder.withFloat(entry, value);
+                }
+            };
+        case DOUBLE:
+            return (resultSet, builder) -> {
+                final double value = resultSet.getDouble(index);
+                if (!resultSet.wasNull()) {
+                    builder.withDouble(entry, value);
+                }
+            };
+        case BOOLEAN:
+            return (resultSet, builder) -> {
+                final boolean value = resultSet.getBoolean(index);
+                if (!resultSet.wasNull()) {
+                    builder.withBoolean(entry, value);
+                }
+            };
+        case DATETIME:
+            return dateTimeReader(index, entry, sqlType);
+        case BYTES:
+            return (resultSet, builder) -> builder.withBytes(entry, resultSet.getBytes(index));
+        case STRING:
+        default:
+            switch (sqlType) {
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.CHAR:
+                return (resultSet, builder) -> builder.withString(entry, resultSet.getString(index));
+            default:
+                return (resultSet, builder) -> {
+                    final Object value = resultSet.getObject(index);
+                    builder.withString(entry, value == null ? null : String.valueOf(value));
+                };
+            }
+        }
+    }
+
+    private static ColumnReader dateTimeReader(final int index, final Schema.Entry entry, final int sqlType) {
+        switch (sqlType) {
+        case Types.DATE:
+            return (resultSet, builder) -> {
+                final java.sql.Date value = resultSet.getDate(index);
+                builder.withDateTime(entry, value == null ? null : new Date(value.getTime()));
+            };
+        case Types.TIME:
+            return (resultSet, builder) -> {
+                final java.sql.Time value = resultSet.getTime(index);
+                builder.withDateTime(entry, value == null ? null : new Date(value.getTime()));
+            };
+        case Types.TIMESTAMP:
+        default:
+            return (resultSet, builder) -> {
+                final java.sql.Timestamp value = resultSet.getTimestamp(index);
+                builder.withDateTime(entry, value == null ? null : new Date(value.getTime()));
+            };
+        }
+    }
+
+    @FunctionalInterface
+    interface ColumnReader {
+
+        void read(ResultSet resultSet, Record.Builder builder) throws SQLException;
+    }
+}
@@ -14,10 +14,14 @@ package org.talend.components.jdbc.service;
 
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.joining;
+import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 
 import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -31,16 +35,22 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.codec.binary.Hex;
+import org.talend.components.jdbc.configuration.SnowflakeStageFormat;
 import org.talend.components.jdbc.output.Reject;
 import org.talend.components.jdbc.output.statement.operations.QueryManagerImpl;
 import org.talend.sdk.component.api.record.Record;
@@ -56,32 +66,129 @@ public class SnowflakeCopyService implements Serializable {
 
     private static final long MAX_CHUNK = 16 * 1024 * 1024; // 16MB
 
+    private static final int PARALLEL_UPLOADS = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private static final String TIMESTAMP_FORMAT_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
 
     private static final String COPY_INTO_QUERY = "COPY INTO %s%s FROM '@%s' FILES=%s "
             + "FILE_FORMAT=(TYPE=CSV field_delimiter=',' COMPRESSION=GZIP field_optionally_enclosed_by='\"')"
             + "PURGE=TRUE ON_ERROR='CONTINUE'";
 
+    private static final String PARQUET_COPY_INTO_QUERY = "COPY INTO %s FROM '@%s' FILES=%s "
+            + "FILE_FORMAT=(TYPE=PARQUET) MATCH_BY_COLUMN_NAME=CASE_SENSITIVE PURGE=TRUE ON_ERROR='CONTINUE'";
+
+    private static final String[] PARQUET_CLASSES = { "org.apache.parquet.avro.AvroParquetWriter",
+            "org.apache.hadoop.conf.Configuration", "org.talend.components.common.stream.output.avro.RecordToAvro" };
+
     private final List<Path> tmpFiles = new ArrayList<>();
 
+    private final SnowflakeStageFormat stageFormat;
+
     private Path tmpFolder;
 
-    public List<Reject> putAndCopy(final Connection connection, final List<Record> records, final String fqStageName,
-            final String fqTableName, final String fqTmpTableName) throws SQLException {
+    public SnowflakeCopyService() {
+        this(SnowflakeStageFormat.CSV);
+    }
+
+    public SnowflakeCopyService(final SnowflakeStageFormat stageFormat) {
+        if (stageFormat == SnowflakeStageFormat.PARQUET) {
+            checkParquet();
+        }
+        this.stageFormat = stageFormat;
+    }
+
+    /**
+     * Parquet libraries are optional dependencies, so the databases not staging parquet files don't bundle hadoop.
+     */
+    private static void checkParquet() {
+        try {
+            for (final String name : PARQUET_CLASSES) {
+                Class.forName(name, false, SnowflakeCopyService.class.getClassLoader());
+            }
+        } catch (final ClassNotFoundException | LinkageError e) {
+            throw new IllegalStateException("Parquet stage format requires org.apache.parquet:parquet-avro, "
+                    + "org.apache.parquet:parquet-hadoop and org.apache.hadoop:hadoop-common libraries, "
+                    + "add them to the dependencies of the component", e);
+        }
+    }
+
+    /**
+     * The temporary table, and so its stage, is only visible to the session of the given connection: chunks are
+     * uploaded one at a time with this connection, and copied once they are all uploaded.
+     */
+    public List<Reject> putAndCopy(final JdbcService.JdbcDatasource dataSource, final Connection connection,
+            final List<Record> records, final String fqStageName, final String fqTableName, final String fqTmpTableName)
+            throws SQLException {
         try (final Statement statement = connection.createStatement()) {
             statement.execute("create temporary table if not exists " + fqTmpTableName + " like " + fqTableName);
         }
-        return putAndCopy(connection, records, fqStageName, fqTmpTableName);
+        return putAndCopy(dataSource, connection, records, fqStageName, fqTmpTableName, true);
+    }
+
+    /**
+     * Writes the records in gzip chunks which are uploaded, each over its own connection, as soon as they are complete.
+     * The uploaded chunks are copied into the table with the given connection while the next ones are still uploading.
+     */
+    public List<Reject> putAndCopy(final JdbcService.JdbcDatasource dataSource, final Connection connection,
+            final List<Record> records, final String fqStageName, final String fqTableName) {
+        return putAndCopy(dataSource, connection, records, fqStageName, fqTableName, false);
     }
 
-    public List<Reject> putAndCopy(final Connection connection, final List<Record> records, final String fqStageName,
-            final String fqTableName) {
-        final List<RecordChunk> chunks = splitRecords(createWorkDir(), records);
-        final List<Reject> rejects = new ArrayList<>();
-        final List<RecordChunk> copy = chunks.stream().parallel().map(chunk -> doPUT(fqStageName, connection, chunk, rejects))
-                .filter(Objects::nonNull).collect(toList());
-        rejects.addAll(toReject(chunks, doCopy(fqStageName, fqTableName, connection, copy)));
-        return rejects;
+    /**
+     * @param sessionStage true if the stage is only visible to the session of the given connection.
+     */
+    private List<Reject> putAndCopy(final JdbcService.JdbcDatasource dataSource, final Connection connection,
+            final List<Record> records, final String fqStageName, final String fqTableName, final boolean sessionStage) {
+        final AtomicInteger threads = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(sessionStage ? 1 : PARALLEL_UPLOADS, runnable -> {
+            final Thread thread = new Thread(runnable, "talend-jdbc-snowflake-put-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final BlockingQueue<JdbcService.JdbcDatasource> uploaders = new ArrayBlockingQueue<>(PARALLEL_UPLOADS);
+        try {
+            if (!sessionStage) {
+                for (int i = 0; i < PARALLEL_UPLOADS; i++) {
+                    uploaders.add(dataSource.fork());
+                }
+            }
+            final CompletionService<UploadResult> uploads = new ExecutorCompletionService<>(executor);
+            final List<RecordChunk> chunks = splitRecords(createWorkDir(), records,
+                    chunk -> uploads.submit(
+                            () -> sessionStage ? doPUT(fqStageName, connection, chunk) : doPUT(fqStageName, uploaders, chunk)));
+
+            final List<Reject> rejects = new ArrayList<>();
+            final List<RecordChunk> copy = new ArrayList<>();
+            int pending = chunks.size();
+            while (pending > 0) {
+                Future<UploadResult> upload = uploads.take();
+                while (upload != null) {
+                    pending--;
+                    final UploadResult result = upload.get();
+                    rejects.addAll(result.getRejects());
+                    if (result.getRejects().isEmpty()) {
+                        copy.add(result.getChunk());
+                    }
+                    upload = uploads.poll();
+                }
+                // the connection of a session stage is still used by the uploads until the last one completes
+                if (!copy.isEmpty() && (!sessionStage || pending == 0)) {
+                    rejects.addAll(toReject(copy, doCopy(fqStageName, fqTableName, connection, copy)));
+                    copy.clear();
+                }
+            }
+            return rejects;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            uploaders.forEach(JdbcService.JdbcDatasource::close);
+        }
     }
 
     /**
@@ -115,22 +222,32 @@ public class SnowflakeCopyService implements Serializable {
                 .collect(toList());
     }
 
-    private RecordChunk doPUT(final String fqStageName, final Connection connection, final RecordChunk chunk,
-            final List<Reject> rejects) {
+    private UploadResult doPUT(final String fqStageName, final BlockingQueue<JdbcService.JdbcDatasource> uploaders,
+            final RecordChunk chunk) throws InterruptedException {
+        final JdbcService.JdbcDatasource uploader = uploaders.take();
+        try (final Connection connection = uploader.getConnection()) {
+            return doPUT(fqStageName, connection, chunk);
+        } catch (final SQLException e) {
+            return new UploadResult(chunk, toReject(chunk, e.getMessage(), e.getSQLState(), e.getErrorCode()));
+        } finally {
+            uploaders.add(uploader);
+        }
+    }
+
+    private UploadResult doPUT(final String fqStageName, final Connection connection, final RecordChunk chunk) {
         try (final Statement statement = connection.createStatement()) {
-            try (final ResultSet result = statement
-                    .executeQuery("PUT '" + chunk.getChunk().toUri() + "' '@" + fqStageName + "/' AUTO_COMPRESS=TRUE")) {
+            // the chunk is already compressed, it is uploaded as is
+            try (final ResultSet result = statement.executeQuery("PUT '" + chunk.getChunk().toUri() + "' '@" + fqStageName
+                    + "/' AUTO_COMPRESS=FALSE" + (stageFormat == SnowflakeStageFormat.CSV ? " SOURCE_COMPRESSION=GZIP" : ""))) {
                 result.next();
                 if (!"uploaded".equalsIgnoreCase(result.getString("status"))) {
                     String error = result.getString("message");
-                    rejects.addAll(toReject(chunk, error, result.getString("status"), null));
-                    return null;
+                    return new UploadResult(chunk, toReject(chunk, error, result.getString("status"), null));
                 }
             }
-            return chunk;
+            return new UploadResult(chunk, emptyList());
         } catch (final SQLException e) {
-            rejects.addAll(toReject(chunk, e.getMessage(), e.getSQLState(), e.getErrorCode()));
-            return null;
+            return new UploadResult(chunk, toReject(chunk, e.getMessage(), e.getSQLState(), e.getErrorCode()));
         }
     }
 
@@ -140,8 +257,10 @@ public class SnowflakeCopyService implements Serializable {
 
     private List<CopyError> doCopy(final String fqStageName, final String fqTableName, final Connection connection,
             final List<RecordChunk> chunks) {
-        final String query = String.format(COPY_INTO_QUERY, fqTableName, getColumnNamesList(chunks), fqStageName,
-                joinFileNamesString(chunks));
+        final String query = stageFormat == SnowflakeStageFormat.PARQUET
+                ? String.format(PARQUET_COPY_INTO_QUERY, fqTableName, fqStageName, joinFileNamesString(chunks))
+                : String.format(COPY_INTO_QUERY, fqTableName, getColumnNamesList(chunks), fqStageName,
+                        joinFileNamesString(chunks));
         try (final Statement statement = connection.createStatement(); final ResultSet result = statement.executeQuery(query)) {
             final List<CopyError> errors = new ArrayList<>();
             while (result.next()) {
@@ -196,9 +315,9 @@ public class SnowflakeCopyService implements Serializable {
      * Join file names from the chunks.
      * </br>
      * <ul>
-     * <li>single chunk with a path: <b>/tmp/part_...csv</b> - return value <b>("'/tmp/part_...csv.gz'")</b></li>
+     * <li>single chunk with a path: <b>/tmp/part_...csv.gz</b> - return value <b>("'/tmp/part_...csv.gz'")</b></li>
      * <li>multiple chunks:
-     * <b>/tmp/part1_...csv</b>, <b>/tmp/part2_...csv</b>, <b>/tmp/part3_...csv</b> - return value
+     * <b>/tmp/part1_...csv.gz</b>, <b>/tmp/part2_...csv.gz</b>, <b>/tmp/part3_...csv.gz</b> - return value
      * <b>('/tmp/part1_...csv.gz','/tmp/part2_...csv.gz','/tmp/part3_...csv.gz')</b></li>
      * </ul>
      *
@@ -206,7 +325,7 @@ public class SnowflakeCopyService implements Serializable {
      * @return file names joined as a String with comma as a separator
      */
     private String joinFileNamesString(List<RecordChunk> chunks) {
-        return chunks.stream().map(chunk -> "'" + chunk.getChunk().getFileName() + ".gz'").collect(joining(",", "(", ")"));
+        return chunks.stream().map(chunk -> "'" + chunk.getChunk().getFileName() + "'").collect(joining(",", "(", ")"));
     }
 
     @Data
@@ -231,25 +350,39 @@ public class SnowflakeCopyService implements Serializable {
         private final int rowParsed;
     }
 
-    private List<RecordChunk> splitRecords(final Path directoryPath, final List<Record> records) {
-        final AtomicLong size = new AtomicLong(0);
-        final AtomicInteger count = new AtomicInteger(0);
-        final AtomicInteger recordCounter = new AtomicInteger(0);
-        final Map<Integer, RecordChunk> chunks = new HashMap<>();
-        records.stream()
-                .map(record -> record.getSchema().getEntries().stream().map(entry -> format(record, entry)).collect(joining(",")))
-                .forEach(line -> {
-                    if (size.addAndGet(line.getBytes(StandardCharsets.UTF_8).length) > MAX_CHUNK) {
-                        // this writer can be closed now. to early free of memory
-                        chunks.get(count.getAndIncrement()).close();
-                        size.set(line.getBytes(StandardCharsets.UTF_8).length);
-                    }
-                    final int recordNumber = recordCounter.getAndIncrement();
-                    chunks.computeIfAbsent(count.get(), key -> new RecordChunk(records, key, recordNumber, directoryPath))
-                            .writer(line);
-                });
-        chunks.get(count.get()).close(); // close the last writer
-        return new ArrayList<>(chunks.values());
+    @Data
+    private static class UploadResult {
+
+        private final RecordChunk chunk;
+
+        private final List<Reject> rejects;
+    }
+
+    /**
+     * @param onChunk called with each chunk once it is complete, while the next records are written
+     */
+    private List<RecordChunk> splitRecords(final Path directoryPath, final List<Record> records,
+            final Consumer<RecordChunk> onChunk) {
+        final List<RecordChunk> chunks = new ArrayList<>();
+        RecordChunk current = null;
+        for (int index = 0; index < records.size(); index++) {
+            if (current == null) {
+                current = new RecordChunk(records, chunks.size(), index, directoryPath);
+                chunks.add(current);
+            }
+            current.write(records.get(index));
+            if (current.getSize() >= MAX_CHUNK) {
+                // this writer can be closed now. to early free of memory
+                current.close();
+                onChunk.accept(current);
+                current = null;
+            }
+        }
+        if (current != null) {
+            current.close(); // close the last writer
+            onChunk.accept(current);
+        }
+        return chunks;
     }
 
     @Getter
@@ -266,7 +399,7 @@ public class SnowflakeCopyService implements Serializable {
 
         private Path chunk;
 
-        private BufferedWriter writer;
+        private ChunkWriter writer;
 
         private int end;
 
@@ -277,22 +410,26 @@ public class SnowflakeCopyService implements Serializable {
             return records.subList(start, end);
         }
 
-        void writer(final String line) {
-            if (writer == null) {
-                end = start;
-                final String suffix = LocalDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-                try {
-                    chunk = Files.createTempFile(tmpDir, "part_" + part + "_", "_" + suffix + ".csv");
+        /**
+         * @return the size of the chunk, before compression for the csv format
+         */
+        long getSize() {
+            return writer == null ? 0 : writer.getSize();
+        }
+
+        void write(final Record record) {
+            try {
+                if (writer == null) {
+                    end = start;
+                    final String suffix = LocalDateTime.now(ZoneOffset.UTC)
+                            .format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+                    final boolean parquet = stageFormat == SnowflakeStageFormat.PARQUET;
+                    chunk = Files.createTempFile(tmpDir, "part_" + part + "_", "_" + suffix + (parquet ? ".parquet" : ".csv.gz"));
                     log.debug("Temp file {} created", chunk);
                     tmpFiles.add(chunk);
-                    writer = Files.newBufferedWriter(chunk, StandardCharsets.UTF_8);
-                } catch (IOException e) {
-                    throw new IllegalStateException(e);
+                    writer = parquet ? new SnowflakeParquetChunkWriter(chunk, record.getSchema()) : new CsvChunkWriter(chunk);
                 }
-            }
-            try {
-                writer.write(line);
-                writer.newLine();
+                writer.write(record);
                 end++;
             } catch (final IOException e) {
                 throw new IllegalStateException(e);
@@ -310,6 +447,74 @@ public class SnowflakeCopyService implements Serializable {
         }
     }
 
+    interface ChunkWriter {
+
+        void write(Record record) throws IOException;
+
+        long getSize();
+
+        void close() throws IOException;
+    }
+
+    private class CsvChunkWriter implements ChunkWriter {
+
+        private final CountingOutputStream counter;
+
+        private final BufferedWriter writer;
+
+        private CsvChunkWriter(final Path chunk) throws IOException {
+            counter = new CountingOutputStream(new GZIPOutputStream(Files.newOutputStream(chunk), BUFFER_SIZE));
+            writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(final Record record) throws IOException {
+            final List<Schema.Entry> entries = record.getSchema().getEntries();
+            for (int index = 0; index < entries.size(); index++) {
+                if (index > 0) {
+                    writer.write(',');
+                }
+                writer.write(format(record, entries.get(index)));
+            }
+            writer.newLine();
+        }
+
+        @Override
+        public long getSize() {
+            return counter.getCount();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Counts the bytes written before the compression, the encoded characters are measured without being re-encoded.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        @Getter
+        private long count;
+
+        private CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
     private String format(final Record record, final Schema.Entry entry) {
         switch (entry.getType()) {
         case INT:
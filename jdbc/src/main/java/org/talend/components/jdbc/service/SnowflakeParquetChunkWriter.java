@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.talend.components.common.stream.output.avro.RecordToAvro;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Typed columns, records and arrays are written as parquet groups and loaded in VARIANT columns.
+ * Kept apart from {@link SnowflakeCopyService} so the optional parquet libraries are only loaded for this stage format.
+ */
+class SnowflakeParquetChunkWriter implements SnowflakeCopyService.ChunkWriter {
+
+    private static final String AVRO_NAMESPACE = "org.talend.components.jdbc.snowflake";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RecordToAvro converter = new RecordToAvro(AVRO_NAMESPACE);
+
+    private final ParquetWriter<GenericRecord> writer;
+
+    SnowflakeParquetChunkWriter(final Path chunk, final Schema schema) throws IOException {
+        writer = AvroParquetWriter.<GenericRecord> builder(new LocalOutputFile(chunk))
+                .withSchema(converter.fromRecordSchema(schema)).withCompressionCodec(CompressionCodecName.SNAPPY)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE).build();
+    }
+
+    @Override
+    public void write(final Record record) throws IOException {
+        writer.write(converter.fromRecord(record));
+    }
+
+    @Override
+    public long getSize() {
+        return writer.getDataSize();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Writes the parquet file directly with java.nio, without hadoop file system and its checksum files.
+     */
+    @RequiredArgsConstructor
+    private static class LocalOutputFile implements OutputFile {
+
+        private final Path path;
+
+        @Override
+        public PositionOutputStream create(final long blockSizeHint) throws IOException {
+            return createOrOverwrite(blockSizeHint);
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(final long blockSizeHint) throws IOException {
+            final OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+            return new PositionOutputStream() {
+
+                private long position;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(final int b) throws IOException {
+                    out.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    out.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
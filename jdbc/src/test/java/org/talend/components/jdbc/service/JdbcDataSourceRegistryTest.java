@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.jdbc.configuration.JdbcConfiguration;
+import org.talend.components.jdbc.datastore.JdbcConnection;
+import org.talend.sdk.component.api.service.dependency.Resolver;
+
+class JdbcDataSourceRegistryTest {
+
+    private static final int MAXIMUM_POOL_SIZE = 2;
+
+    private final JdbcDataSourceRegistry registry = new JdbcDataSourceRegistry();
+
+    private final List<FakeClassLoader> classLoaders = new ArrayList<>();
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+
+    private final JdbcConfiguration.Driver driver = driver("MySQL");
+
+    @AfterEach
+    void closeDataSources() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void reuseByKey() {
+        final JdbcDataSourceRegistry.PooledDataSource first = acquire(key("jdbc:mysql://host/db"), 60_000);
+        final JdbcDataSourceRegistry.PooledDataSource second = acquire(key("jdbc:mysql://host/db"), 60_000);
+        final JdbcDataSourceRegistry.PooledDataSource other = acquire(key("jdbc:mysql://host/other"), 60_000);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, dataSources.size());
+        // pools of the same driver share its class loader
+        assertEquals(1, classLoaders.size());
+    }
+
+    @Test
+    void unsharedWithoutKey() {
+        final JdbcDataSourceRegistry.PooledDataSource first = acquire(null, 60_000);
+        final JdbcDataSourceRegistry.PooledDataSource second = acquire(null, 60_000);
+        assertNotSame(first, second);
+
+        // without key there is no retention
+        first.release();
+        assertTrue(first.getDataSource().isClosed());
+        assertFalse(second.getDataSource().isClosed());
+        second.release();
+        assertTrue(second.getDataSource().isClosed());
+        assertTrue(classLoaders.get(0).closed);
+    }
+
+    @Test
+    void acquireReleaseBalance() {
+        final JdbcDataSourceRegistry.PoolKey key = key("jdbc:mysql://host/db");
+        final JdbcDataSourceRegistry.PooledDataSource pool = acquire(key, 0);
+        assertEquals(MAXIMUM_POOL_SIZE, pool.getDataSource().getMaximumPoolSize());
+        acquire(key, 0);
+        pool.retain();
+        // one connection by component sharing the pool
+        assertEquals(3, pool.getDataSource().getMaximumPoolSize());
+
+        pool.release();
+        assertEquals(MAXIMUM_POOL_SIZE, pool.getDataSource().getMaximumPoolSize());
+        pool.release();
+        assertFalse(pool.getDataSource().isClosed());
+        assertFalse(classLoaders.get(0).closed);
+        pool.release();
+        assertTrue(pool.getDataSource().isClosed());
+        assertTrue(classLoaders.get(0).closed);
+
+        // a new pool is opened once the previous one is closed
+        assertNotSame(pool, acquire(key, 0));
+        assertEquals(2, dataSources.size());
+    }
+
+    @Test
+    void evictionAfterRetention() throws InterruptedException {
+        final JdbcDataSourceRegistry.PoolKey key = key("jdbc:mysql://host/db");
+        final JdbcDataSourceRegistry.PooledDataSource pool = acquire(key, 100);
+        pool.release();
+        // still reusable during the retention delay
+        assertSame(pool, acquire(key, 100));
+        pool.release();
+        assertFalse(pool.getDataSource().isClosed());
+
+        assertTrue(waitFor(() -> pool.getDataSource().isClosed()));
+        assertTrue(waitFor(() -> classLoaders.get(0).closed));
+        assertNotSame(pool, acquire(key, 100));
+    }
+
+    @Test
+    void classLoaderClosedWithLastPool() {
+        final JdbcDataSourceRegistry.PooledDataSource first = acquire(key("jdbc:mysql://host/db"), 0);
+        final JdbcDataSourceRegistry.PooledDataSource second = acquire(key("jdbc:mysql://host/other"), 0);
+        final JdbcDataSourceRegistry.PooledDataSource other = registry.acquire(key("jdbc:postgresql://host/db"),
+                driver("PostgreSQL"), this::newClassLoader, this::newDataSource, MAXIMUM_POOL_SIZE, 0);
+        assertEquals(2, classLoaders.size());
+
+        first.release();
+        assertFalse(classLoaders.get(0).closed);
+        second.release();
+        assertTrue(classLoaders.get(0).closed);
+        assertFalse(classLoaders.get(1).closed);
+        other.release();
+        assertTrue(classLoaders.get(1).closed);
+    }
+
+    @Test
+    void classLoaderReleasedOnDataSourceError() {
+        assertThrows(IllegalStateException.class, () -> registry.acquire(key("jdbc:mysql://host/db"), driver,
+                this::newClassLoader, classLoader -> {
+                    throw new IllegalStateException("can't create the pool");
+                }, MAXIMUM_POOL_SIZE, 60_000));
+        assertTrue(classLoaders.get(0).closed);
+    }
+
+    private JdbcDataSourceRegistry.PooledDataSource acquire(final JdbcDataSourceRegistry.PoolKey key, final long retention) {
+        return registry.acquire(key, driver, this::newClassLoader, this::newDataSource, MAXIMUM_POOL_SIZE, retention);
+    }
+
+    private JdbcDataSourceRegistry.PoolKey key(final String url) {
+        final JdbcConnection connection = new JdbcConnection();
+        connection.setJdbcUrl(url);
+        return new JdbcDataSourceRegistry.PoolKey(connection, driver, false, true);
+    }
+
+    private static JdbcConfiguration.Driver driver(final String id) {
+        final JdbcConfiguration.Driver driver = new JdbcConfiguration.Driver();
+        driver.setId(id);
+        driver.setClassName(id + ".Driver");
+        return driver;
+    }
+
+    private Resolver.ClassLoaderDescriptor newClassLoader() {
+        final FakeClassLoader classLoader = new FakeClassLoader();
+        classLoaders.add(classLoader);
+        return classLoader;
+    }
+
+    private HikariDataSource newDataSource(final ClassLoader classLoader) {
+        final HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(MAXIMUM_POOL_SIZE);
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private static boolean waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    private static class FakeClassLoader implements Resolver.ClassLoaderDescriptor {
+
+        private volatile boolean closed;
+
+        @Override
+        public ClassLoader asClassLoader() {
+            return FakeClassLoader.class.getClassLoader();
+        }
+
+        @Override
+        public Collection<String> resolvedDependencies() {
+            return emptyList();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
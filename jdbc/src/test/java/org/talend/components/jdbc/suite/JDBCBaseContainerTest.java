@@ -71,6 +71,8 @@ import org.talend.components.jdbc.dataset.TableNameDataset;
 import org.talend.components.jdbc.datastore.JdbcConnection;
 import org.talend.components.jdbc.output.platforms.Platform;
 import org.talend.components.jdbc.output.platforms.PlatformFactory;
+import org.talend.components.jdbc.output.platforms.RedshiftPlatform;
+import org.talend.components.jdbc.output.statement.operations.UpsertDefault;
 import org.talend.components.jdbc.service.JdbcService;
 import org.talend.components.jdbc.service.UIActionService;
 import org.talend.sdk.component.api.record.Record;
@@ -514,6 +516,24 @@ public abstract class JDBCBaseContainerTest {
 
         }
 
+        @Test
+        @DisplayName("TableName - partitioned read on primary key")
+        void partitionedTableName(final TestInfo testInfo) {
+            final int rowCount = 50;
+            final String testTableName = getTestTableName(testInfo);
+            insertRows(testTableName, rowCount, false, null);
+            final InputTableNameConfig config = new InputTableNameConfig();
+            config.setDataSet(newTableNameDataset(testTableName));
+            config.setPartitionCount(4);
+            final String configURI = configurationByExample().forInstance(config).configured().toQueryString();
+            Job.components().component("jdbcInput", "Jdbc://TableNameInput?" + configURI)
+                    .component("collector", "test://collector").connections().from("jdbcInput").to("collector").build().run();
+
+            final List<Record> collectedData = getComponentsHandler().getCollectedData(Record.class);
+            assertEquals(rowCount, collectedData.size());
+            assertEquals(rowCount, collectedData.stream().map(record -> record.get(Object.class, "id")).distinct().count());
+        }
+
     }
 
     @Nested
@@ -555,6 +575,27 @@ public abstract class JDBCBaseContainerTest {
             Assertions.assertEquals(rowCount, countAll(testTableName));
         }
 
+        @Test
+        @DisplayName("Insert - sub batches and intermediate commits")
+        void insertWithSubBatches(final TestInfo testInfo) {
+            final OutputConfig configuration = new OutputConfig();
+            final String testTableName = getTestTableName(testInfo);
+            configuration.setDataset(newTableNameDataset(testTableName));
+            configuration.setActionOnData(OutputConfig.ActionOnData.INSERT.name());
+            configuration.setCreateTableIfNotExists(true);
+            configuration.setKeys(asList("id"));
+            configuration.setBatchSize(3);
+            configuration.setCommitEvery(7);
+            final String config = configurationByExample().forInstance(configuration).configured().toQueryString();
+            final int rowCount = 50;
+            Job.components()
+                    .component("rowGenerator",
+                            "jdbcTest://RowGenerator?" + rowGeneratorConfig(rowCount, false, null, withBoolean, withBytes))
+                    .component("jdbcOutput", "Jdbc://Output?" + config).connections().from("rowGenerator").to("jdbcOutput")
+                    .build().run();
+            Assertions.assertEquals(rowCount, countAll(testTableName));
+        }
+
         @Test
         @DisplayName("Create table - combined primary keys")
         void createTableWithCombinedPrimaryKeys(final TestInfo testInfo) {
@@ -810,6 +851,99 @@ public abstract class JDBCBaseContainerTest {
                             .collect(toSet()));
         }
 
+        @Test
+        @DisplayName("Upsert - keys without unique constraint")
+        void upsertWithoutConstraint(final TestInfo testInfo) throws SQLException {
+            upsertUsers(getTestTableName(testInfo), emptyList(), asList("id"));
+        }
+
+        @Test
+        @DisplayName("Upsert - keys different from the primary key")
+        void upsertKeysNotPrimaryKey(final TestInfo testInfo) throws SQLException {
+            upsertUsers(getTestTableName(testInfo), asList("id"), asList("id", "email"));
+        }
+
+        @Test
+        @DisplayName("Upsert - platform without native upsert statement")
+        void upsertWithoutNativeStatement(final TestInfo testInfo) throws SQLException {
+            final String testTableName = getTestTableName(testInfo);
+            insertUsers(testTableName, asList("id"), users(10, "initial"));
+
+            final OutputConfig configuration = new OutputConfig();
+            configuration.setDataset(newTableNameDataset(testTableName));
+            configuration.setActionOnData(OutputConfig.ActionOnData.UPSERT.name());
+            configuration.setKeys(asList("id"));
+            final JdbcConnection dataStore = newConnection();
+            final Platform platform = PlatformFactory.get(dataStore, getI18nMessage());
+            // redshift has no native upsert statement, the identifiers are the ones of the tested database
+            final Platform withoutUpsertStatement = new RedshiftPlatform(getI18nMessage()) {
+
+                @Override
+                public String identifier(final String name) {
+                    return platform.identifier(name);
+                }
+            };
+            try (final JdbcService.JdbcDatasource dataSource = getJdbcService().createDataSource(dataStore)) {
+                final UpsertDefault upsert = new UpsertDefault(withoutUpsertStatement, configuration, getI18nMessage());
+                Assertions.assertTrue(upsert.execute(users(20, "updated"), dataSource).isEmpty());
+            }
+            assertUsers(testTableName, 20, "updated");
+        }
+
+        /**
+         * Insert 10 users in a table with the given primary key, then upsert 20 users on the given keys.
+         */
+        private void upsertUsers(final String testTableName, final List<String> primaryKeys, final List<String> keys)
+                throws SQLException {
+            insertUsers(testTableName, primaryKeys, users(10, "initial"));
+
+            final OutputConfig configuration = new OutputConfig();
+            configuration.setDataset(newTableNameDataset(testTableName));
+            configuration.setActionOnData(OutputConfig.ActionOnData.UPSERT.name());
+            configuration.setKeys(keys);
+            final String upsertConfig = configurationByExample().forInstance(configuration).configured().toQueryString();
+            getComponentsHandler().setInputData(users(20, "updated"));
+            Job.components().component("emitter", "test://emitter").component("jdbcOutput", "Jdbc://Output?" + upsertConfig)
+                    .connections().from("emitter").to("jdbcOutput").build().run();
+
+            assertUsers(testTableName, 20, "updated");
+        }
+
+        private void insertUsers(final String testTableName, final List<String> primaryKeys, final List<Record> existing)
+                throws SQLException {
+            final JdbcConnection dataStore = newConnection();
+            try (final JdbcService.JdbcDatasource dataSource = getJdbcService().createDataSource(dataStore)) {
+                try (final Connection connection = dataSource.getConnection()) {
+                    PlatformFactory.get(dataStore, getI18nMessage()).createTableIfNotExist(connection, testTableName,
+                            primaryKeys, RedshiftSortStrategy.COMPOUND, emptyList(), DistributionStrategy.KEYS, emptyList(), -1,
+                            existing);
+                }
+            }
+            final OutputConfig insertConfig = new OutputConfig();
+            insertConfig.setDataset(newTableNameDataset(testTableName));
+            insertConfig.setActionOnData(OutputConfig.ActionOnData.INSERT.name());
+            getComponentsHandler().setInputData(existing);
+            Job.components().component("emitter", "test://emitter")
+                    .component("jdbcOutput",
+                            "Jdbc://Output?" + configurationByExample().forInstance(insertConfig).configured().toQueryString())
+                    .connections().from("emitter").to("jdbcOutput").build().run();
+        }
+
+        private void assertUsers(final String testTableName, final int count, final String namePrefix) {
+            final List<Record> users = readAll(testTableName, this.getComponentsHandler());
+            Assertions.assertEquals(count, users.size());
+            Assertions.assertEquals(IntStream.rangeClosed(1, count).mapToObj(i -> namePrefix + i).collect(toSet()),
+                    users.stream().map(r -> ofNullable(r.getString("name")).orElseGet(() -> r.getString("NAME")))
+                            .collect(toSet()));
+        }
+
+        private List<Record> users(final int count, final String namePrefix) {
+            return IntStream.rangeClosed(1, count)
+                    .mapToObj(i -> getRecordBuilderFactory().newRecordBuilder().withInt("id", i)
+                            .withString("email", "user" + i + "@talend.com").withString("name", namePrefix + i).build())
+                    .collect(toList());
+        }
+
         @Test
         @DisplayName("Insert - Date type handling")
         void dateTypesTest(final TestInfo testInfo) {
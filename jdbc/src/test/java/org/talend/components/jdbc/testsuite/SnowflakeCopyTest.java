@@ -12,20 +12,35 @@
  */
 package org.talend.components.jdbc.testsuite;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.talend.components.jdbc.configuration.SnowflakeStageFormat;
+import org.talend.components.jdbc.output.Reject;
 import org.talend.components.jdbc.service.SnowflakeCopyService;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
@@ -73,74 +88,170 @@ public class SnowflakeCopyTest {
     }
 
     @Test
-    public void testSplitRecords() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    public void testSplitRecords() throws Exception {
+        final List<String> queries = putAndCopy(new SnowflakeCopyService(), createData(300000));
+        Assertions.assertEquals(2, uploadedFiles(queries).size());
+    }
+
+    @Test
+    public void testGetColumnNamesList() throws Exception {
+        List<String> queries = putAndCopy(new SnowflakeCopyService(), createData(100));
+        String expectedString = "(\"id\",\"firstname\",\"lastname\",\"address\",\"enrolled\",\"zip\",\"state\")";
+        Assertions.assertTrue(copyQuery(queries).startsWith("COPY INTO db.schema.tmp" + expectedString + " FROM"));
+
+        queries = putAndCopy(new SnowflakeCopyService(),
+                Arrays.asList(recordBuilderFactory.newRecordBuilder().withInt("id", 1).build()));
+        expectedString = "(\"id\")";
+        Assertions.assertTrue(copyQuery(queries).startsWith("COPY INTO db.schema.tmp" + expectedString + " FROM"));
+
+        Method columnNames = SnowflakeCopyService.class.getDeclaredMethod("getColumnNamesList", List.class);
+        columnNames.setAccessible(true);
+        String columnNamesList = (String) columnNames.invoke(new SnowflakeCopyService(), (List<?>) null);
+        Assertions.assertEquals("", columnNamesList);
+    }
+
+    @Test
+    public void testJoinFileNamesString() throws Exception {
+        final List<String> queries = putAndCopy(new SnowflakeCopyService(), createData(300000));
+        final Pattern pattern = Pattern.compile(".* FILES=\\(('[A-Za-z_0-9.-]*.csv.gz')(,'[A-Za-z_0-9.-]*.csv.gz')\\) .*");
+        Assertions.assertTrue(pattern.matcher(copyQuery(queries)).matches());
+    }
+
+    @Test
+    public void testChunksAreCompressed() throws Exception {
         SnowflakeCopyService snowflakeCopyService = new SnowflakeCopyService();
         try {
-            Method createWorkDir = SnowflakeCopyService.class.getDeclaredMethod("createWorkDir");
-            createWorkDir.setAccessible(true);
-            Path path = (Path) createWorkDir.invoke(snowflakeCopyService);
-            Method splitRecords = SnowflakeCopyService.class.getDeclaredMethod("splitRecords", Path.class, List.class);
-            splitRecords.setAccessible(true);
-            List<?> chunks = (List<?>) splitRecords.invoke(snowflakeCopyService, path, createData(300000));
-            Assertions.assertEquals(2, chunks.size());
+            final List<Path> files = uploadedFiles(putAndCopy(snowflakeCopyService, createData(100), false));
+            Assertions.assertEquals(1, files.size());
+            Assertions.assertTrue(files.get(0).getFileName().toString().endsWith(".csv.gz"));
+            try (final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new GZIPInputStream(Files.newInputStream(files.get(0))), StandardCharsets.UTF_8))) {
+                final List<String> lines = reader.lines().collect(Collectors.toList());
+                Assertions.assertEquals(100, lines.size());
+                Assertions.assertEquals("100,firstfirst,lastlast,addressaddr,Datedsldsk,89100,YO", lines.get(0));
+            }
         } finally {
             snowflakeCopyService.cleanTmpFiles();
         }
     }
 
     @Test
-    public void testGetColumnNamesList() throws Exception {
-        SnowflakeCopyService snowflakeCopyService = new SnowflakeCopyService();
+    public void testTempTableUsesCallerSession() throws Exception {
+        final List<String> queries = Collections.synchronizedList(new ArrayList<>());
+        final Connection connection = recordingConnection(queries);
+        final SnowflakeCopyService snowflakeCopyService = new SnowflakeCopyService();
         try {
-            Method createWorkDir = SnowflakeCopyService.class.getDeclaredMethod("createWorkDir");
-            createWorkDir.setAccessible(true);
-            Path path = (Path) createWorkDir.invoke(snowflakeCopyService);
-            Method splitRecords = SnowflakeCopyService.class.getDeclaredMethod("splitRecords", Path.class, List.class);
-            splitRecords.setAccessible(true);
-            List<?> chunks = (List<?>) splitRecords.invoke(snowflakeCopyService, path, createData(100));
-
-            Method columnNames = SnowflakeCopyService.class.getDeclaredMethod("getColumnNamesList", List.class);
-            columnNames.setAccessible(true);
-
-            String columnNamesList = (String) columnNames.invoke(snowflakeCopyService, chunks);
-            String expectedString = "(\"id\",\"firstname\",\"lastname\",\"address\",\"enrolled\",\"zip\",\"state\")";
-            Assertions.assertEquals(expectedString, columnNamesList);
-
-            chunks = (List<?>) splitRecords.invoke(snowflakeCopyService, path,
-                    Arrays.asList(recordBuilderFactory.newRecordBuilder().withInt("id", 1).build()));
-            columnNamesList = (String) columnNames.invoke(snowflakeCopyService, chunks);
-            expectedString = "(\"id\")";
-            Assertions.assertEquals(expectedString, columnNamesList);
-
-            columnNamesList = (String) columnNames.invoke(snowflakeCopyService, (List<?>) null);
-            Assertions.assertEquals("", columnNamesList);
+            // temporary table stage is only visible to the caller session, no other connection is taken from the datasource
+            final List<Reject> rejects = snowflakeCopyService.putAndCopy(null, connection, createData(300000), "db.schema.%tmp",
+                    "db.schema.target", "db.schema.tmp");
+            Assertions.assertTrue(rejects.isEmpty());
         } finally {
             snowflakeCopyService.cleanTmpFiles();
         }
+        Assertions.assertEquals(4, queries.size());
+        Assertions.assertEquals("create temporary table if not exists db.schema.tmp like db.schema.target", queries.get(0));
+        Assertions.assertTrue(queries.get(1).startsWith("PUT ") && queries.get(1).contains("'@db.schema.%tmp/'"));
+        Assertions.assertTrue(queries.get(2).startsWith("PUT ") && queries.get(2).contains("'@db.schema.%tmp/'"));
+        // copied once all the chunks are uploaded, the connection is never used by two threads at the same time
+        Assertions.assertTrue(queries.get(3).startsWith("COPY INTO db.schema.tmp"));
+    }
+
+    private Connection recordingConnection(final List<String> queries) {
+        final Statement statement = (Statement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "execute":
+                        queries.add(String.valueOf(args[0]));
+                        return false;
+                    case "executeQuery":
+                        queries.add(String.valueOf(args[0]));
+                        return resultSet(String.valueOf(args[0]).startsWith("PUT "));
+                    default:
+                        return null;
+                    }
+                });
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> "createStatement".equals(method.getName()) ? statement : null);
+    }
+
+    private ResultSet resultSet(final boolean uploaded) {
+        final boolean[] read = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "next":
+                        // a PUT returns its upload status, the COPY of loaded files returns no error
+                        final boolean next = uploaded && !read[0];
+                        read[0] = true;
+                        return next;
+                    case "getString":
+                        return "uploaded";
+                    default:
+                        return null;
+                    }
+                });
     }
 
     @Test
-    public void testJoinFileNamesString() throws Exception {
-        SnowflakeCopyService snowflakeCopyService = new SnowflakeCopyService();
+    public void testParquetChunks() throws Exception {
+        SnowflakeCopyService snowflakeCopyService = new SnowflakeCopyService(SnowflakeStageFormat.PARQUET);
         try {
-            Method createWorkDir = SnowflakeCopyService.class.getDeclaredMethod("createWorkDir");
-            createWorkDir.setAccessible(true);
-            Path path = (Path) createWorkDir.invoke(snowflakeCopyService);
-            Method splitRecords = SnowflakeCopyService.class.getDeclaredMethod("splitRecords", Path.class, List.class);
-            splitRecords.setAccessible(true);
-            List<?> chunks = (List<?>) splitRecords.invoke(snowflakeCopyService, path, createData(300000));
-
-            Method joinFileNames = SnowflakeCopyService.class.getDeclaredMethod("joinFileNamesString", List.class);
-            joinFileNames.setAccessible(true);
-
-            String joinFileNamesString = (String) joinFileNames.invoke(snowflakeCopyService, chunks);
-            final Pattern pattern = Pattern.compile("\\(('[/\\\\A-Za-z_0-9.-]*.csv.gz')(,'[/\\\\A-Za-z_0-9.-]*.csv.gz')*\\)");
-            Assertions.assertTrue(pattern.matcher(joinFileNamesString).matches());
+            final List<Record> records = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                records.add(recordBuilderFactory.newRecordBuilder() //
+                        .withInt("id", i) //
+                        .withString("firstname", "firstfirst") //
+                        .withRecord("address", recordBuilderFactory.newRecordBuilder().withString("city", "Nantes").build()) //
+                        .build());
+            }
+            final List<String> queries = putAndCopy(snowflakeCopyService, records, false);
+            Assertions.assertTrue(copyQuery(queries).contains("FILE_FORMAT=(TYPE=PARQUET)"));
+
+            final List<Path> files = uploadedFiles(queries);
+            Assertions.assertEquals(1, files.size());
+            Assertions.assertTrue(files.get(0).getFileName().toString().endsWith(".parquet"));
+            final byte[] content = Files.readAllBytes(files.get(0));
+            Assertions.assertEquals("PAR1", new String(content, 0, 4, StandardCharsets.US_ASCII));
         } finally {
             snowflakeCopyService.cleanTmpFiles();
         }
     }
 
+    private List<String> putAndCopy(final SnowflakeCopyService snowflakeCopyService, final List<Record> records)
+            throws SQLException {
+        return putAndCopy(snowflakeCopyService, records, true);
+    }
+
+    /**
+     * @param clean false to keep the uploaded chunks, they are then deleted by the caller.
+     * @return the queries executed by the temporary table upload of the records.
+     */
+    private List<String> putAndCopy(final SnowflakeCopyService snowflakeCopyService, final List<Record> records,
+            final boolean clean) throws SQLException {
+        final List<String> queries = Collections.synchronizedList(new ArrayList<>());
+        try {
+            final List<Reject> rejects = snowflakeCopyService.putAndCopy(null, recordingConnection(queries), records,
+                    "db.schema.%tmp", "db.schema.target", "db.schema.tmp");
+            Assertions.assertTrue(rejects.isEmpty());
+        } finally {
+            if (clean) {
+                snowflakeCopyService.cleanTmpFiles();
+            }
+        }
+        return queries;
+    }
+
+    private List<Path> uploadedFiles(final List<String> queries) {
+        return queries.stream().filter(query -> query.startsWith("PUT '"))
+                .map(query -> Paths.get(URI.create(query.substring("PUT '".length(), query.indexOf("' '@")))))
+                .collect(Collectors.toList());
+    }
+
+    private String copyQuery(final List<String> queries) {
+        return queries.stream().filter(query -> query.startsWith("COPY INTO ")).findFirst()
+                .orElseThrow(() -> new AssertionError("No COPY INTO in " + queries));
+    }
+
     List<Record> createData(int i) {
         List<Record> records = new ArrayList<Record>(i);
         for (; i > 0; i--) {
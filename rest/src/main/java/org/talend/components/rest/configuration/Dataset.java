@@ -13,10 +13,12 @@
 package org.talend.components.rest.configuration;
 
 import lombok.Data;
+import org.talend.components.common.stream.format.rawtext.ExtendedRawTextConfiguration;
 import org.talend.components.extension.polling.api.PollableDuplicateDataset;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
 import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.type.DataSet;
@@ -33,12 +35,14 @@ import java.util.List;
 @DataSet("Dataset")
 @PollableDuplicateDataset
 @GridLayout({ @GridLayout.Row({ "datastore" }), @GridLayout.Row({ "resource" }), @GridLayout.Row({ "methodType" }),
-        @GridLayout.Row({ "format" }), @GridLayout.Row({ "hasHeaders" }), @GridLayout.Row({ "headers" }),
-        @GridLayout.Row({ "hasQueryParams" }), @GridLayout.Row({ "queryParams" }), @GridLayout.Row({ "hasPathParams" }),
-        @GridLayout.Row({ "pathParams" }), @GridLayout.Row({ "hasBody" }), @GridLayout.Row({ "body" }) })
+        @GridLayout.Row({ "format" }), @GridLayout.Row({ "jsonPointer" }), @GridLayout.Row({ "hasHeaders" }),
+        @GridLayout.Row({ "headers" }), @GridLayout.Row({ "hasQueryParams" }), @GridLayout.Row({ "queryParams" }),
+        @GridLayout.Row({ "hasPathParams" }), @GridLayout.Row({ "pathParams" }), @GridLayout.Row({ "hasBody" }),
+        @GridLayout.Row({ "body" }), @GridLayout.Row({ "pagination" }) })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "datastore" }),
         @GridLayout.Row({ "completePayload" }), @GridLayout.Row({ "maxRedirect" }), @GridLayout.Row({ "only_same_host" }),
-        @GridLayout.Row({ "force_302_redirect" }), @GridLayout.Row({ "jsonForceDouble" }) })
+        @GridLayout.Row({ "force_302_redirect" }), @GridLayout.Row({ "jsonForceDouble" }),
+        @GridLayout.Row({ "textSplit" }), @GridLayout.Row({ "chunkSize" }), @GridLayout.Row({ "pagination" }) })
 @Documentation("Dataset configuration.")
 public class Dataset implements Serializable {
 
@@ -68,6 +72,25 @@ public class Dataset implements Serializable {
     @DefaultValue("true")
     private boolean jsonForceDouble = true;
 
+    @Option
+    @Documentation("Json pointer of the records in the answer's body, if it points to an array each element is a record.")
+    @ActiveIf(target = "format", value = "JSON")
+    @DefaultValue("/")
+    private String jsonPointer = "/";
+
+    @Option
+    @Documentation("If answer body type is text, how it is split in records.")
+    @ActiveIf(target = "format", value = "RAW_TEXT")
+    @DefaultValue("NONE")
+    private ExtendedRawTextConfiguration.Split textSplit = ExtendedRawTextConfiguration.Split.NONE;
+
+    @Option
+    @Documentation("Number of characters of each record when text is split in chunks.")
+    @ActiveIfs({ @ActiveIf(target = "format", value = "RAW_TEXT"), @ActiveIf(target = "textSplit", value = "CHUNKS") })
+    @DefaultValue("65536")
+    @Min(1)
+    private int chunkSize = ExtendedRawTextConfiguration.DEFAULT_CHUNK_SIZE;
+
     @Option
     @Documentation("How many redirection are supported ? (-1 for infinite)")
     @DefaultValue("3")
@@ -123,6 +146,10 @@ public class Dataset implements Serializable {
     @Documentation("Request body")
     private RequestBody body;
 
+    @Option
+    @Documentation("How to read the following pages of the answer.")
+    private Pagination pagination = new Pagination();
+
     @Option
     @Documentation("Return complete payload as a record")
     private boolean completePayload = false;
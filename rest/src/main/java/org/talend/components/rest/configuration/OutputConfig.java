@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.rest.configuration;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.constraint.Required;
+import org.talend.sdk.component.api.configuration.ui.DefaultValue;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+@Data
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@GridLayout({ @GridLayout.Row({ "dataset" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "maxConcurrency" }),
+        @GridLayout.Row({ "keepOrder" }) })
+public class OutputConfig extends RequestConfig {
+
+    @Option
+    @Required
+    @Min(1)
+    @DefaultValue("1")
+    @Documentation("Maximum number of requests in flight at the same time, 1 sends requests one after the other.")
+    private int maxConcurrency = 1;
+
+    @Option
+    @DefaultValue("true")
+    @ActiveIf(target = "maxConcurrency", value = "1", negate = true)
+    @Documentation("Wait for responses in the order of incoming records, otherwise a slot is freed as soon as any request ends.")
+    private boolean keepOrder = true;
+
+    public boolean isConcurrent() {
+        return this.getMaxConcurrency() > 1;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.rest.configuration;
+
+import lombok.Data;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.constraint.Required;
+import org.talend.sdk.component.api.configuration.ui.DefaultValue;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import java.io.Serializable;
+
+@Data
+@GridLayout({ @GridLayout.Row({ "strategy" }), @GridLayout.Row({ "offsetParam" }), @GridLayout.Row({ "pageParam", "firstPage" }),
+        @GridLayout.Row({ "limitParam", "pageSize" }), @GridLayout.Row({ "cursorPointer" }), @GridLayout.Row({ "cursorParam" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "maxPages" }), @GridLayout.Row({ "minInterval" }),
+        @GridLayout.Row({ "followOtherHosts" }) })
+@Documentation("Pagination configuration.")
+public class Pagination implements Serializable {
+
+    @Option
+    @Required
+    @DefaultValue("NONE")
+    @Documentation("How the next page is requested.")
+    private Strategy strategy = Strategy.NONE;
+
+    @Option
+    @ActiveIf(target = "strategy", value = "OFFSET_LIMIT")
+    @DefaultValue("offset")
+    @Documentation("Query parameter that receives the index of the first element of the page.")
+    private String offsetParam = "offset";
+
+    @Option
+    @ActiveIf(target = "strategy", value = "PAGE_NUMBER")
+    @DefaultValue("page")
+    @Documentation("Query parameter that receives the page number.")
+    private String pageParam = "page";
+
+    @Option
+    @ActiveIf(target = "strategy", value = "PAGE_NUMBER")
+    @DefaultValue("1")
+    @Min(0)
+    @Documentation("Number of the first page.")
+    private int firstPage = 1;
+
+    @Option
+    @ActiveIf(target = "strategy", value = { "OFFSET_LIMIT", "PAGE_NUMBER" })
+    @DefaultValue("limit")
+    @Documentation("Query parameter that receives the page size, not sent if empty.")
+    private String limitParam = "limit";
+
+    @Option
+    @ActiveIf(target = "strategy", value = { "OFFSET_LIMIT", "PAGE_NUMBER" })
+    @DefaultValue("100")
+    @Min(1)
+    @Documentation("Number of elements per page, a page with fewer records is the last one.")
+    private int pageSize = 100;
+
+    @Option
+    @ActiveIf(target = "strategy", value = "CURSOR")
+    @DefaultValue("/next")
+    @Documentation("Json pointer of the next page cursor in the answer's body, pagination ends when it is missing.")
+    private String cursorPointer = "/next";
+
+    @Option
+    @ActiveIf(target = "strategy", value = "CURSOR")
+    @DefaultValue("cursor")
+    @Documentation("Query parameter that receives the cursor of the next page.")
+    private String cursorParam = "cursor";
+
+    @Option
+    @ActiveIf(target = "strategy", value = "NONE", negate = true)
+    @DefaultValue("-1")
+    @Min(-1)
+    @Documentation("Maximum number of pages to read (-1 for infinite).")
+    private int maxPages = -1;
+
+    @Option
+    @ActiveIf(target = "strategy", value = "NONE", negate = true)
+    @DefaultValue("0")
+    @Min(0)
+    @Documentation("Minimum delay in milliseconds between two page requests.")
+    private int minInterval = 0;
+
+    @Option
+    @ActiveIf(target = "strategy", value = "LINK_HEADER")
+    @DefaultValue("false")
+    @Documentation("Follow next page links to other hosts, ports or schemes than the base url ones, "
+            + "unless redirects are limited to the same host.")
+    private boolean followOtherHosts = false;
+
+    public boolean isActive() {
+        return this.getStrategy() != null && this.getStrategy() != Strategy.NONE;
+    }
+
+    public enum Strategy {
+        NONE,
+        OFFSET_LIMIT,
+        PAGE_NUMBER,
+        CURSOR,
+        LINK_HEADER
+    }
+
+}
@@ -14,18 +14,34 @@ package org.talend.components.rest.output;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.talend.components.rest.configuration.RequestConfig;
+import org.talend.components.rest.configuration.OutputConfig;
 import org.talend.components.rest.service.RestService;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
+import org.talend.sdk.component.api.processor.BeforeGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.http.Response;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Getter
@@ -35,23 +51,142 @@ import java.io.Serializable;
 @Documentation("Http REST Output component")
 public class RestOutput implements Serializable {
 
-    private final RequestConfig config;
+    private final OutputConfig config;
 
     private final RestService client;
 
-    public RestOutput(@Option("configuration") final RequestConfig config, final RestService client) {
+    /**
+     * Only set when more than one request can be in flight, records are sent synchronously otherwise.
+     */
+    private transient ExecutorService executor;
+
+    /**
+     * Pending requests in the order of the incoming records, used when the order is kept.
+     */
+    private transient Deque<Future<Integer>> ordered;
+
+    /**
+     * Pending requests in completion order, used when the order is not kept.
+     */
+    private transient CompletionService<Integer> completed;
+
+    private transient int inFlight;
+
+    public RestOutput(@Option("configuration") final OutputConfig config, final RestService client) {
         this.config = config;
         this.client = client;
     }
 
     @PostConstruct
     public void init() {
-        // no-op
+        if (!config.isConcurrent()) {
+            return;
+        }
+
+        final AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(config.getMaxConcurrency(), (Runnable task) -> {
+            final Thread thread = new Thread(task, "rest-output-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ordered = new ArrayDeque<>(config.getMaxConcurrency());
+        completed = new ExecutorCompletionService<>(executor);
+    }
+
+    @BeforeGroup
+    public void beforeGroup() {
+        inFlight = 0;
     }
 
     @ElementListener
     public void process(final Record input) {
-        client.execute(config, input);
+        if (executor == null) {
+            consume(client.execute(config, input));
+            return;
+        }
+
+        if (inFlight >= config.getMaxConcurrency()) {
+            this.awaitOne();
+        }
+        this.submit(() -> consume(client.execute(config, input)));
+    }
+
+    /**
+     * Waits for all pending requests of the group, so records are acknowledged only once their request is done.
+     */
+    @AfterGroup
+    public void afterGroup() {
+        RuntimeException failure = null;
+        while (inFlight > 0) {
+            try {
+                this.awaitOne();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else if (failure != e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void submit(final Callable<Integer> request) {
+        if (config.isKeepOrder()) {
+            ordered.add(executor.submit(request));
+        } else {
+            completed.submit(request);
+        }
+        inFlight++;
+    }
+
+    private void awaitOne() {
+        try {
+            final Future<Integer> next = config.isKeepOrder() ? ordered.poll() : completed.take();
+            inFlight--;
+            next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(client.getI18n().interrupted(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Reads the whole answer and closes it, so the underlying connection can be released.
+     *
+     * @return the http status of the answer.
+     */
+    private static int consume(final Response<InputStream> response) {
+        try (InputStream body = response.body()) {
+            if (body != null) {
+                final byte[] buffer = new byte[8192];
+                while (body.read(buffer) >= 0) {
+                    // drain
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return response.status();
     }
 
 }
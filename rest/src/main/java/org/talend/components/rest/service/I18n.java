@@ -65,4 +65,8 @@ public interface I18n {
 
     String notValidAddress(boolean canAccessLocal, boolean disableMulticast);
 
+    String interrupted();
+
+    String paginationWithoutEnd(String strategy);
+
 }
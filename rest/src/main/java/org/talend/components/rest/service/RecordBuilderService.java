@@ -67,7 +67,8 @@ public class RecordBuilderService {
         final ContentFormat contentFormat = findFormat(config);
         final RecordReaderSupplier recordReaderSupplier = this.ioRepository.findReader(contentFormat.getClass());
         final RecordReader reader = recordReaderSupplier.getReader(recordBuilderFactory, contentFormat,
-                new ExtendedRawTextConfiguration(encoding, isCompletePayload));
+                new ExtendedRawTextConfiguration(encoding, isCompletePayload, this.textSplit(config),
+                        config.getDataset().getChunkSize()));
 
         final List<Record> headerRecords = headers.entrySet().stream().map(this::convertHeadersToRecords)
                 .collect(Collectors.toList());
@@ -88,7 +89,8 @@ public class RecordBuilderService {
     private ContentFormat findFormat(final RequestConfig config) {
         if (config.getDataset().getFormat() == Format.JSON) {
             JsonConfiguration jsonConfiguration = new JsonConfiguration();
-            jsonConfiguration.setJsonPointer("/");
+            jsonConfiguration.setJsonPointer(Optional.ofNullable(config.getDataset().getJsonPointer())
+                    .filter(p -> !p.trim().isEmpty()).orElse("/"));
             jsonConfiguration.setForceDouble(config.getDataset().isJsonForceDouble());
             return jsonConfiguration;
         }
@@ -96,6 +98,10 @@ public class RecordBuilderService {
         return new RawTextConfiguration();
     }
 
+    private ExtendedRawTextConfiguration.Split textSplit(final RequestConfig config) {
+        return Optional.ofNullable(config.getDataset().getTextSplit()).orElse(ExtendedRawTextConfiguration.Split.NONE);
+    }
+
     private Schema.Entry newEntry(String name, Schema.Type type) {
         return this.recordBuilderFactory.newEntryBuilder().withName(name).withType(type).build();
     }
@@ -20,6 +20,8 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,13 +32,18 @@ import org.talend.components.common.service.http.common.UserNamePassword;
 import org.talend.components.common.service.http.digest.DigestAuthContext;
 import org.talend.components.common.service.http.digest.DigestAuthService;
 import org.talend.components.common.text.Substitutor;
+import org.talend.components.common.stream.format.rawtext.ExtendedRawTextConfiguration;
+import org.talend.components.rest.configuration.Dataset;
 import org.talend.components.rest.configuration.Datastore;
+import org.talend.components.rest.configuration.Format;
+import org.talend.components.rest.configuration.Pagination;
 import org.talend.components.rest.configuration.Param;
 import org.talend.components.rest.configuration.RequestConfig;
 import org.talend.components.rest.configuration.auth.Authentication;
 import org.talend.components.rest.configuration.auth.Authorization;
 import org.talend.components.rest.service.client.Body;
 import org.talend.components.rest.service.client.Client;
+import org.talend.components.rest.service.pagination.PageRequest;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.RecordPointerFactory;
@@ -77,6 +84,9 @@ public class RestService {
 
     private final Substitutor.KeyFinder pathParamFinder = new Substitutor.KeyFinder("{", "}");
 
+    /** keep digest sessions between calls to authenticate pre-emptively */
+    private final DigestAuthService digestAuthService = new DigestAuthService();
+
     @Service
     Client client;
 
@@ -87,14 +97,18 @@ public class RestService {
     private RecordPointerFactory recordPointerFactory;
 
     public Response<InputStream> execute(final RequestConfig config, final Record record) {
-        return _execute(config, record);
+        return _execute(config, record, null);
     }
 
     public Response<InputStream> execute(final RequestConfig config) {
-        return _execute(config, null);
+        return _execute(config, null, null);
+    }
+
+    public Response<InputStream> execute(final RequestConfig config, final PageRequest page) {
+        return _execute(config, null, page);
     }
 
-    private Response<InputStream> _execute(final RequestConfig config, final Record record) {
+    private Response<InputStream> _execute(final RequestConfig config, final Record record, final PageRequest page) {
         final RecordDictionary dictionary = new RecordDictionary(record, recordPointerFactory);
         final Substitutor substitutor = new Substitutor(parameterFinder, dictionary);
 
@@ -113,7 +127,8 @@ public class RestService {
         }
 
         final Map<String, String> headers = updateParamsFromRecord(config.headers(), substitutor);
-        final Map<String, String> queryParams = updateParamsFromRecord(config.queryParams(), substitutor);
+        final Map<String, String> queryParams = pageQueryParams(updateParamsFromRecord(config.queryParams(), substitutor),
+                page);
         final Map<String, String> pathParams = updateParamsFromRecord(config.pathParams(), substitutor);
 
         // I set another prefix '${' to have placeholder in a json body without having to
@@ -127,7 +142,30 @@ public class RestService {
                 config.getDataset().getMaxRedirect(), config.getDataset().isForce_302_redirect(),
                 config.getDataset().getMethodType().name(), config.getDataset().isOnly_same_host());
 
-        return this.call(config, headers, queryParams, body, this.buildUrl(config, pathParams), redirectContext);
+        final String url;
+        if (page != null && page.getUrl() != null) {
+            // the url of the page comes from the server
+            this.checkBaseURL(page.getUrl());
+            url = page.getUrl();
+        } else {
+            url = this.buildUrl(config, pathParams);
+        }
+        return this.call(config, headers, queryParams, body, url, redirectContext);
+    }
+
+    /**
+     * A page url already contains its query parameters, otherwise page parameters are added to configured ones.
+     */
+    private Map<String, String> pageQueryParams(final Map<String, String> queryParams, final PageRequest page) {
+        if (page == null) {
+            return queryParams;
+        }
+        if (page.getUrl() != null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> params = new HashMap<>(queryParams);
+        params.putAll(page.getQueryParams());
+        return params;
     }
 
     private Response<InputStream> call(final RequestConfig config, final Map<String, String> headers,
@@ -143,11 +181,10 @@ public class RestService {
             if (authentication.getType() == Authorization.AuthorizationType.Digest) {
                 try {
                     URL url = new URL(surl);
-                    DigestAuthService das = new DigestAuthService();
                     DigestAuthContext context = new DigestAuthContext(url.getPath(), config.getDataset().getMethodType().name(),
                             url.getHost(), url.getPort(), body == null ? null : body.getContent(), new UserNamePassword(
                                     authentication.getBasic().getUsername(), authentication.getBasic().getPassword()));
-                    resp = das.call(context, () -> client.executeWithDigestAuth(i18n, context, config, client,
+                    resp = digestAuthService.call(context, () -> client.executeWithDigestAuth(i18n, context, config, client,
                             previousRedirectContext.getMethod(), surl, headers, queryParams, body));
                 } catch (MalformedURLException e) {
                     throw new IllegalArgumentException(i18n.malformedURL(surl, e.getMessage()));
@@ -230,6 +267,22 @@ public class RestService {
         }
     }
 
+    /**
+     * Offset and page number paginations end on a short page, they are refused without a maximum number of pages
+     * if the number of elements of a page can't be counted, as for a raw text answer emitted as a single record.
+     */
+    public void checkPagination(final Dataset dataset) {
+        final Pagination pagination = dataset.getPagination();
+        if (pagination == null || pagination.getMaxPages() >= 0 || (pagination.getStrategy() != Pagination.Strategy.OFFSET_LIMIT
+                && pagination.getStrategy() != Pagination.Strategy.PAGE_NUMBER)) {
+            return;
+        }
+        if (dataset.getFormat() == Format.RAW_TEXT && (dataset.getTextSplit() == null
+                || dataset.getTextSplit() == ExtendedRawTextConfiguration.Split.NONE)) {
+            throw new IllegalArgumentException(i18n.paginationWithoutEnd(pagination.getStrategy().name()));
+        }
+    }
+
     public String getHost(final String baseUrl) throws MalformedURLException {
         final URL url = new URL(baseUrl);
         return url.getProtocol() + "://" + url.getHost() + (url.getPort() > -1 ? ":" + url.getPort() : "");
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.rest.service.pagination;
+
+import org.talend.sdk.component.api.service.http.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answer whose body is kept in memory, so it can be read once to find the next page and once to build records.
+ */
+class BufferedResponse implements Response<InputStream> {
+
+    private final Response<InputStream> response;
+
+    private final byte[] body;
+
+    private BufferedResponse(final Response<InputStream> response, final byte[] body) {
+        this.response = response;
+        this.body = body;
+    }
+
+    static BufferedResponse of(final Response<InputStream> response) {
+        try (InputStream in = response.body()) {
+            if (in == null) {
+                return new BufferedResponse(response, null);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return new BufferedResponse(response, out.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int status() {
+        return response.status();
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+        return response.headers();
+    }
+
+    @Override
+    public InputStream body() {
+        return body == null ? null : new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public <E> E error(final Class<E> type) {
+        return response.error(type);
+    }
+
+}
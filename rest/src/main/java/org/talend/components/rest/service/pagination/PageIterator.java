@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.rest.service.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.rest.configuration.Pagination;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.http.Response;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Iterate on records of all pages.
+ * The following page is requested as soon as the answer of the current one is received,
+ * so it is downloaded while records of the current page are consumed.
+ * Pagination ends on the last page found by the paginator from its number of records, on a non 2xx status,
+ * when the paginator finds no following page or when the maximum number of pages is reached.
+ */
+@Slf4j
+public class PageIterator implements Iterator<Record> {
+
+    private final Pagination pagination;
+
+    private final Paginator paginator;
+
+    /** execute request of a page */
+    private final Function<PageRequest, Response<InputStream>> call;
+
+    /** read records of a page */
+    private final Function<Response<InputStream>, Iterator<Record>> toRecords;
+
+    private final Executor executor;
+
+    /** page being downloaded, null if no more page */
+    private CompletableFuture<Page> nextPage;
+
+    private Iterator<Record> current = Collections.emptyIterator();
+
+    /** is there a page being read */
+    private boolean reading = false;
+
+    private int currentStatus;
+
+    private int currentRecords;
+
+    private int requestedPages = 0;
+
+    private long lastRequest = 0L;
+
+    public PageIterator(final Pagination pagination, final Paginator paginator,
+            final Function<PageRequest, Response<InputStream>> call,
+            final Function<Response<InputStream>, Iterator<Record>> toRecords, final Executor executor) {
+        this.pagination = pagination;
+        this.paginator = paginator;
+        this.call = call;
+        this.toRecords = toRecords;
+        this.executor = executor;
+        this.nextPage = this.fetch(paginator.first());
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (reading && this.isLastPage()) {
+                this.cancelNextPage();
+            }
+            if (nextPage == null) {
+                return false;
+            }
+            final Page page = this.join(nextPage);
+            nextPage = page.getNext() == null ? null : this.fetch(page.getNext());
+
+            current = toRecords.apply(page.getResponse());
+            currentStatus = page.getResponse().status();
+            currentRecords = 0;
+            reading = true;
+        }
+        return true;
+    }
+
+    @Override
+    public Record next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("No more record.");
+        }
+        currentRecords++;
+        return current.next();
+    }
+
+    private boolean isLastPage() {
+        return paginator.isLastPage(currentRecords) || currentStatus < 200 || currentStatus >= 300;
+    }
+
+    private CompletableFuture<Page> fetch(final PageRequest request) {
+        if (pagination.getMaxPages() >= 0 && requestedPages >= pagination.getMaxPages()) {
+            return null;
+        }
+        requestedPages++;
+        return CompletableFuture.supplyAsync(() -> this.download(request), executor);
+    }
+
+    private Page download(final PageRequest request) {
+        this.waitInterval();
+        final Response<InputStream> answer = call.apply(request);
+        final Response<InputStream> response = paginator.readBody() ? BufferedResponse.of(answer) : answer;
+        return new Page(response, paginator.next(response));
+    }
+
+    /**
+     * Respect the minimum delay between two page requests.
+     */
+    private void waitInterval() {
+        final long wait = lastRequest + pagination.getMinInterval() - System.currentTimeMillis();
+        if (lastRequest > 0 && wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        lastRequest = System.currentTimeMillis();
+    }
+
+    private void cancelNextPage() {
+        if (nextPage == null) {
+            return;
+        }
+        log.debug("Last page reached, next page request is ignored.");
+        nextPage.thenAccept((Page page) -> {
+            try (InputStream body = page.getResponse().body()) {
+                // only release answer
+            } catch (Exception e) {
+                log.debug("Can't close ignored page: {}", e.getMessage());
+            }
+        });
+        nextPage = null;
+    }
+
+    private Page join(final CompletableFuture<Page> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Page {
+
+        private final Response<InputStream> response;
+
+        /** request of the following page, null if there is none */
+        private final PageRequest next;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.rest.service.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * What differs from the configured request to get a page.
+ */
+@Data
+@AllArgsConstructor
+public class PageRequest {
+
+    /** query parameters added to configured ones */
+    private final Map<String, String> queryParams;
+
+    /** complete url of the page, replaces configured url and query parameters if set */
+    private final String url;
+
+    public static PageRequest ofParams(final Map<String, String> queryParams) {
+        return new PageRequest(queryParams, null);
+    }
+
+    public static PageRequest ofUrl(final String url) {
+        return new PageRequest(Collections.emptyMap(), url);
+    }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.rest.service.pagination;
+
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.common.stream.format.json.JsonPointerParser;
+import org.talend.components.rest.configuration.Pagination;
+import org.talend.sdk.component.api.service.http.Response;
+
+import javax.json.Json;
+import javax.json.JsonNumber;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compute requests of successive pages, one instance per pagination run.
+ */
+@Slf4j
+public abstract class Paginator {
+
+    protected final Pagination pagination;
+
+    protected Paginator(final Pagination pagination) {
+        this.pagination = pagination;
+    }
+
+    /**
+     * @param base : base url, next page links are followed only on its scheme, host and port unless allowed.
+     * @param url : url of the first page, relative next page links are resolved against the url of the current page.
+     * @param onlySameHost : true if the dataset forbids to leave the host of the base url, even for next page links.
+     */
+    public static Paginator of(final Pagination pagination, final String base, final String url, final boolean onlySameHost) {
+        switch (pagination.getStrategy()) {
+        case OFFSET_LIMIT:
+            return new OffsetLimit(pagination);
+        case PAGE_NUMBER:
+            return new PageNumber(pagination);
+        case CURSOR:
+            return new Cursor(pagination);
+        case LINK_HEADER:
+            return new LinkHeader(pagination, base, url, pagination.isFollowOtherHosts() && !onlySameHost);
+        default:
+            throw new IllegalArgumentException("Unsupported pagination strategy " + pagination.getStrategy());
+        }
+    }
+
+    /**
+     * @return request of the first page.
+     */
+    public abstract PageRequest first();
+
+    /**
+     * @param response : answer of the current page, before its records are read.
+     * @return request of the following page, null if there is no more page.
+     */
+    public abstract PageRequest next(Response<InputStream> response);
+
+    /**
+     * @param records : number of records read in the current page.
+     * @return true if the current page is the last one, an empty page by default, a short page when the page size is known.
+     */
+    public boolean isLastPage(final int records) {
+        return records == 0;
+    }
+
+    /**
+     * @return true if the body of the answer is read to find the following page.
+     */
+    public boolean readBody() {
+        return false;
+    }
+
+    protected Map<String, String> pageParams(final String param, final int value) {
+        final Map<String, String> params = new HashMap<>();
+        params.put(param, String.valueOf(value));
+        final String limitParam = pagination.getLimitParam();
+        if (limitParam != null && !limitParam.isEmpty()) {
+            params.put(limitParam, String.valueOf(pagination.getPageSize()));
+        }
+        return params;
+    }
+
+    static class OffsetLimit extends Paginator {
+
+        private int offset = 0;
+
+        OffsetLimit(final Pagination pagination) {
+            super(pagination);
+        }
+
+        @Override
+        public PageRequest first() {
+            return PageRequest.ofParams(this.pageParams(pagination.getOffsetParam(), offset));
+        }
+
+        @Override
+        public PageRequest next(final Response<InputStream> response) {
+            offset += pagination.getPageSize();
+            return PageRequest.ofParams(this.pageParams(pagination.getOffsetParam(), offset));
+        }
+
+        @Override
+        public boolean isLastPage(final int records) {
+            return records < pagination.getPageSize();
+        }
+    }
+
+    static class PageNumber extends Paginator {
+
+        private int page;
+
+        PageNumber(final Pagination pagination) {
+            super(pagination);
+            this.page = pagination.getFirstPage();
+        }
+
+        @Override
+        public PageRequest first() {
+            return PageRequest.ofParams(this.pageParams(pagination.getPageParam(), page));
+        }
+
+        @Override
+        public PageRequest next(final Response<InputStream> response) {
+            page++;
+            return PageRequest.ofParams(this.pageParams(pagination.getPageParam(), page));
+        }
+
+        @Override
+        public boolean isLastPage(final int records) {
+            return records < pagination.getPageSize();
+        }
+    }
+
+    static class Cursor extends Paginator {
+
+        private final JsonPointerParser cursorPointer;
+
+        Cursor(final Pagination pagination) {
+            super(pagination);
+            this.cursorPointer = JsonPointerParser.of(pagination.getCursorPointer());
+        }
+
+        @Override
+        public PageRequest first() {
+            return PageRequest.ofParams(Collections.emptyMap());
+        }
+
+        @Override
+        public boolean readBody() {
+            return true;
+        }
+
+        @Override
+        public PageRequest next(final Response<InputStream> response) {
+            final String cursor = this.findCursor(response.body());
+            if (cursor == null || cursor.isEmpty()) {
+                return null;
+            }
+            return PageRequest.ofParams(Collections.singletonMap(pagination.getCursorParam(), cursor));
+        }
+
+        private String findCursor(final InputStream body) {
+            if (body == null) {
+                return null;
+            }
+            try (JsonParser parser = Json.createParser(body)) {
+                final Iterator<JsonValue> values = cursorPointer.values(parser);
+                if (!values.hasNext()) {
+                    return null;
+                }
+                final JsonValue value = values.next();
+                if (value instanceof JsonString) {
+                    return ((JsonString) value).getString();
+                }
+                if (value instanceof JsonNumber) {
+                    return value.toString();
+                }
+                return null;
+            } catch (RuntimeException e) {
+                // Not a json answer, so no cursor.
+                return null;
+            }
+        }
+    }
+
+    static class LinkHeader extends Paginator {
+
+        private static final Pattern LINK = Pattern.compile("<([^>]*)>([^<]*)");
+
+        private static final Pattern REL = Pattern.compile("rel\\s*=\\s*\"?([^\";,]*)\"?");
+
+        private final String base;
+
+        /** are links to another origin than the base url's one followed */
+        private final boolean otherHosts;
+
+        /** url of the page whose answer gives the next link */
+        private String current;
+
+        LinkHeader(final Pagination pagination, final String base, final String url, final boolean otherHosts) {
+            super(pagination);
+            this.base = base;
+            this.otherHosts = otherHosts;
+            this.current = url;
+        }
+
+        @Override
+        public PageRequest first() {
+            return PageRequest.ofParams(Collections.emptyMap());
+        }
+
+        @Override
+        public PageRequest next(final Response<InputStream> response) {
+            final Map<String, List<String>> headers = response.headers();
+            if (headers == null) {
+                return null;
+            }
+            final String next = headers.entrySet().stream() //
+                    .filter(e -> "link".equalsIgnoreCase(e.getKey())) //
+                    .flatMap(e -> e.getValue().stream()) //
+                    .map(this::findNext) //
+                    .filter(url -> url != null) //
+                    .findFirst() //
+                    .filter(this::isAllowed) //
+                    .orElse(null);
+            if (next == null) {
+                return null;
+            }
+            current = next;
+            return PageRequest.ofUrl(next);
+        }
+
+        /**
+         * Search "next" relation in a RFC-5988 Link header value.
+         *
+         * @param header : value of form '&lt;https://api/items?page=2&gt;; rel="next", &lt;...&gt;; rel="last"'.
+         * @return absolute url of next page if present, null otherwise.
+         */
+        String findNext(final String header) {
+            final Matcher link = LINK.matcher(header);
+            while (link.find()) {
+                final Matcher rel = REL.matcher(link.group(2));
+                if (rel.find() && isNext(rel.group(1))) {
+                    return this.resolve(link.group(1).trim());
+                }
+            }
+            return null;
+        }
+
+        private boolean isNext(final String relations) {
+            for (String relation : relations.trim().split("\\s+")) {
+                if ("next".equalsIgnoreCase(relation)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A link to another origin (scheme, host and port) than the base url's one ends the pagination, unless it is allowed,
+         * so the credentials are not sent to a server chosen by the answer.
+         */
+        private boolean isAllowed(final String url) {
+            if (otherHosts) {
+                return true;
+            }
+            try {
+                final URL next = new URL(url);
+                final URL origin = new URL(base);
+                if (next.getProtocol().equalsIgnoreCase(origin.getProtocol()) && next.getHost().equalsIgnoreCase(origin.getHost())
+                        && port(next) == port(origin)) {
+                    return true;
+                }
+                log.warn("Next page link to another origin '{}://{}:{}' is not followed.", next.getProtocol(), next.getHost(),
+                        port(next));
+            } catch (MalformedURLException e) {
+                log.warn("Next page link '{}' is not a valid url: {}", url, e.getMessage());
+            }
+            return false;
+        }
+
+        private static int port(final URL url) {
+            return url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        }
+
+        /**
+         * Link targets are relative to the url of the page that gives them (RFC-8288).
+         */
+        private String resolve(final String url) {
+            try {
+                return new URL(new URL(current), url).toString();
+            } catch (MalformedURLException e) {
+                return url;
+            }
+        }
+    }
+
+}
@@ -12,15 +12,21 @@
  */
 package org.talend.components.rest.source;
 
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.Iterator;
 
 import javax.annotation.PostConstruct;
 
+import org.talend.components.common.collections.PrefetchIterator;
 import org.talend.components.extension.polling.api.Pollable;
+import org.talend.components.rest.configuration.Pagination;
 import org.talend.components.rest.configuration.RequestConfig;
 import org.talend.components.rest.service.RecordBuilderService;
 import org.talend.components.rest.service.RestService;
+import org.talend.components.rest.service.pagination.PageIterator;
+import org.talend.components.rest.service.pagination.PageRequest;
+import org.talend.components.rest.service.pagination.Paginator;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
@@ -28,6 +34,7 @@ import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.http.Response;
 
 @Version(1)
 @Icon(value = Icon.IconType.CUSTOM, custom = "talend-rest")
@@ -60,6 +67,7 @@ public class RestEmitter implements Serializable {
     @PostConstruct
     public void init() {
         client.checkBaseURL(config.getDataset().getDatastore().getBase());
+        client.checkPagination(config.getDataset());
     }
 
     @Producer
@@ -70,7 +78,7 @@ public class RestEmitter implements Serializable {
 
         if (items == null && !done) {
             done = true;
-            items = recordBuilder.buildFixedRecord(client.execute(config), config);
+            items = this.read();
         }
 
         final Record r = items.hasNext() ? items.next() : null;
@@ -83,4 +91,17 @@ public class RestEmitter implements Serializable {
 
     }
 
+    private Iterator<Record> read() {
+        final Pagination pagination = config.getDataset().getPagination();
+        if (pagination == null || !pagination.isActive()) {
+            return recordBuilder.buildFixedRecord(client.execute(config), config);
+        }
+
+        final Paginator paginator = Paginator.of(pagination, config.getDataset().getDatastore().getBase(),
+                client.buildUrl(config, config.pathParams()), config.getDataset().isOnly_same_host());
+        return new PageIterator(pagination, paginator, (PageRequest page) -> client.execute(config, page),
+                (Response<InputStream> response) -> recordBuilder.buildFixedRecord(response, config),
+                PrefetchIterator.daemonExecutor());
+    }
+
 }
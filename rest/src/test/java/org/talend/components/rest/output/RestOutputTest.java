@@ -19,6 +19,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.talend.components.rest.configuration.HttpMethod;
+import org.talend.components.rest.configuration.OutputConfig;
 import org.talend.components.rest.configuration.Param;
 import org.talend.components.rest.configuration.RequestBody;
 import org.talend.components.rest.configuration.RequestConfig;
@@ -51,6 +52,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -282,6 +286,57 @@ class RestOutputTest {
                 .run();
     }
 
+    @EnvironmentalTest
+    void testConcurrentOutput() {
+        final OutputConfig concurrentConfig = new OutputConfig();
+        concurrentConfig.setDataset(outputConfig.getDataset());
+        concurrentConfig.setMaxConcurrency(4);
+        concurrentConfig.setKeepOrder(false);
+
+        concurrentConfig.getDataset().setMethodType(HttpMethod.POST);
+        concurrentConfig.getDataset().setResource("post/{id}");
+        concurrentConfig.getDataset().setHasPathParams(true);
+        concurrentConfig.getDataset().setPathParams(Collections.singletonList(new Param("id", "{/id}")));
+
+        final List<Record> data = createData(NB_RECORDS);
+
+        final Set<String> receivedURIs = ConcurrentHashMap.newKeySet();
+        final AtomicInteger running = new AtomicInteger(0);
+        final AtomicInteger maxRunning = new AtomicInteger(0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        this.setServerContextAndStart(httpExchange -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            receivedURIs.add(httpExchange.getRequestURI().getPath());
+            running.decrementAndGet();
+
+            final byte[] answer = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(concurrentConfig).configured().toQueryString();
+        handler.setInputData(data);
+        Job.components() //
+                .component("emitter", "test://emitter") //
+                .component("out", "REST://Output?" + configStr) //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final Set<String> expected = data.stream().map(r -> "/post/" + r.getInt("id")).collect(Collectors.toSet());
+        Assertions.assertEquals(expected, receivedURIs);
+        Assertions.assertTrue(maxRunning.get() > 1, "Requests should have been sent concurrently.");
+    }
+
     private List<Record> createData(int n) {
         RecordBuilderFactory factory = handler.findService(RecordBuilderFactory.class);
 
@@ -17,8 +17,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.talend.components.common.stream.format.rawtext.ExtendedRawTextConfiguration;
 import org.talend.components.common.text.Substitutor;
+import org.talend.components.rest.configuration.Format;
 import org.talend.components.rest.configuration.HttpMethod;
+import org.talend.components.rest.configuration.Pagination;
 import org.talend.components.rest.configuration.Param;
 import org.talend.components.rest.configuration.RequestBody;
 import org.talend.components.rest.configuration.RequestConfig;
@@ -40,6 +43,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
@@ -231,6 +235,24 @@ public class RestServiceTest {
         assertFalse(service.hasNoDuplicates(withDuplciates));
     }
 
+    @Test
+    void checkPagination() {
+        config.getDataset().setFormat(Format.RAW_TEXT);
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.PAGE_NUMBER);
+        assertThrows(IllegalArgumentException.class, () -> service.checkPagination(config.getDataset()));
+
+        config.getDataset().getPagination().setMaxPages(10);
+        service.checkPagination(config.getDataset());
+
+        config.getDataset().getPagination().setMaxPages(-1);
+        config.getDataset().setTextSplit(ExtendedRawTextConfiguration.Split.LINES);
+        service.checkPagination(config.getDataset());
+
+        config.getDataset().setTextSplit(ExtendedRawTextConfiguration.Split.NONE);
+        config.getDataset().setFormat(Format.JSON);
+        service.checkPagination(config.getDataset());
+    }
+
     @ParameterizedTest
     @CsvSource(value = { "https://this.is.my.host.com/api/v1,https://this.is.my.host.com",
             "http://www.mysite.org/a/page,http://www.mysite.org", "https://www.mysite.com?v=param,https://www.mysite.com",
@@ -18,7 +18,10 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.talend.components.common.stream.format.rawtext.ExtendedRawTextConfiguration;
+import org.talend.components.rest.configuration.Format;
 import org.talend.components.rest.configuration.HttpMethod;
+import org.talend.components.rest.configuration.Pagination;
 import org.talend.components.rest.configuration.Param;
 import org.talend.components.rest.configuration.RequestBody;
 import org.talend.components.rest.configuration.RequestConfig;
@@ -39,12 +42,16 @@ import org.talend.sdk.component.runtime.manager.chain.Job;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.talend.sdk.component.junit.SimpleFactory.configurationByExample;
 
 @Slf4j
@@ -230,6 +237,334 @@ class RestEmitterTest {
         assertEquals(type.getContentType(), receivedContentType.toString());
     }
 
+    @EnvironmentalTest
+    void testPageNumberPagination() {
+        config.getDataset().setResource("items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().setFormat(Format.JSON);
+        config.getDataset().setCompletePayload(false);
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.PAGE_NUMBER);
+        config.getDataset().getPagination().setPageSize(2);
+
+        final List<String> queries = new CopyOnWriteArrayList<>();
+        this.setServerContextAndStart(httpExchange -> {
+            final String query = httpExchange.getRequestURI().getQuery();
+            queries.add(query);
+
+            final String page = query.contains("page=1") ? "[{\"id\":1},{\"id\":2}]"
+                    : query.contains("page=2") ? "[{\"id\":3},{\"id\":4}]" : "[]";
+            final byte[] answer = page.getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(4, records.size());
+        for (int page = 1; page <= 3; page++) {
+            final String expected = "page=" + page;
+            assertTrue(queries.stream().anyMatch(q -> q.contains(expected) && q.contains("limit=2")), queries::toString);
+        }
+    }
+
+    @EnvironmentalTest
+    void testOffsetPaginationOfWrappedAnswer() {
+        config.getDataset().setResource("items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().setFormat(Format.JSON);
+        config.getDataset().setCompletePayload(false);
+        config.getDataset().setJsonPointer("/items");
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.OFFSET_LIMIT);
+        config.getDataset().getPagination().setPageSize(2);
+
+        final List<String> queries = new CopyOnWriteArrayList<>();
+        this.setServerContextAndStart(httpExchange -> {
+            final String query = httpExchange.getRequestURI().getQuery();
+            queries.add(query);
+
+            // answers an empty wrapped page forever after the third element
+            final String page = query.contains("offset=0") ? "{\"items\":[{\"id\":1},{\"id\":2}]}"
+                    : query.contains("offset=2") ? "{\"items\":[{\"id\":3}]}" : "{\"items\":[]}";
+            final byte[] answer = page.getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(3, records.size());
+        // the short second page is the last one, only the following page may have been requested in advance
+        assertTrue(queries.size() <= 3, queries::toString);
+        assertTrue(queries.stream().noneMatch(q -> q.contains("offset=6")), queries::toString);
+    }
+
+    @EnvironmentalTest
+    void testPageNumberPaginationOfWrappedAnswerWithoutPointer() {
+        config.getDataset().setResource("items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().setFormat(Format.JSON);
+        config.getDataset().setCompletePayload(false);
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.PAGE_NUMBER);
+
+        final List<String> queries = new CopyOnWriteArrayList<>();
+        this.setServerContextAndStart(httpExchange -> {
+            queries.add(httpExchange.getRequestURI().getQuery());
+            final byte[] answer = "{\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        // the whole object is a single record, fewer than the page size
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(1, records.size());
+        assertTrue(queries.size() <= 2, queries::toString);
+    }
+
+    @EnvironmentalTest
+    void testLinkHeaderPagination() {
+        config.getDataset().setResource("items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.LINK_HEADER);
+
+        this.setServerContextAndStart(httpExchange -> {
+            final String query = httpExchange.getRequestURI().getQuery();
+            final int page = query == null ? 1 : Integer.parseInt(query.substring("page=".length()));
+            if (page < 3) {
+                httpExchange.getResponseHeaders().add("Link",
+                        "</items?page=" + (page + 1) + ">; rel=\"next\", </items?page=3>; rel=\"last\"");
+            }
+
+            final byte[] answer = ("page " + page).getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(Arrays.asList("page 1", "page 2", "page 3"),
+                records.stream().map(r -> r.getString("body")).sorted().collect(Collectors.toList()));
+    }
+
+    @EnvironmentalTest
+    void testLinkHeaderToOtherHost() {
+        this.linkHeaderToOtherHost(false);
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(Arrays.asList("page 1"), records.stream().map(r -> r.getString("body")).collect(Collectors.toList()));
+    }
+
+    @EnvironmentalTest
+    void testLinkHeaderToAllowedOtherHost() {
+        this.linkHeaderToOtherHost(true);
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(Arrays.asList("page 1", "page 2"),
+                records.stream().map(r -> r.getString("body")).sorted().collect(Collectors.toList()));
+    }
+
+    @EnvironmentalTest
+    void testLinkHeaderRelativeToCurrentPage() {
+        config.getDataset().setResource("api/items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.LINK_HEADER);
+
+        this.setServerContextAndStart(httpExchange -> {
+            final String query = httpExchange.getRequestURI().getQuery();
+            final int page = query == null ? 1 : Integer.parseInt(query.substring("page=".length()));
+            if (page < 3) {
+                // relative to the page url, not to the base url
+                httpExchange.getResponseHeaders().add("Link", "<items?page=" + (page + 1) + ">; rel=\"next\"");
+            }
+
+            final byte[] answer = (httpExchange.getRequestURI().getPath() + " page " + page).getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(Arrays.asList("/api/items page 1", "/api/items page 2", "/api/items page 3"),
+                records.stream().map(r -> r.getString("body")).sorted().collect(Collectors.toList()));
+    }
+
+    @EnvironmentalTest
+    void testLinkHeaderToOtherPort() {
+        config.getDataset().setResource("items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.LINK_HEADER);
+
+        this.setServerContextAndStart(httpExchange -> {
+            // same host name, but another port
+            httpExchange.getResponseHeaders().add("Link", "<http://localhost:" + (port + 1) + "/items?page=2>; rel=\"next\"");
+
+            final byte[] answer = "page 1".getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(Arrays.asList("page 1"), records.stream().map(r -> r.getString("body")).collect(Collectors.toList()));
+    }
+
+    private void linkHeaderToOtherHost(final boolean followOtherHosts) {
+        config.getDataset().setResource("items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().getPagination().setStrategy(Pagination.Strategy.LINK_HEADER);
+        config.getDataset().getPagination().setFollowOtherHosts(followOtherHosts);
+
+        this.setServerContextAndStart(httpExchange -> {
+            final String query = httpExchange.getRequestURI().getQuery();
+            final int page = query == null ? 1 : Integer.parseInt(query.substring("page=".length()));
+            if (page < 2) {
+                // same server, but not the host name of the base url
+                httpExchange.getResponseHeaders().add("Link", "<http://127.0.0.1:" + port + "/items?page=2>; rel=\"next\"");
+            }
+
+            final byte[] answer = ("page " + page).getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+    }
+
+    @EnvironmentalTest
+    void testJsonPointer() {
+        config.getDataset().setResource("items");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().setFormat(Format.JSON);
+        config.getDataset().setCompletePayload(false);
+        config.getDataset().setJsonPointer("/data");
+
+        this.setServerContextAndStart(httpExchange -> {
+            final byte[] answer = "{\"total\":3,\"data\":[{\"id\":1},{\"id\":2},{\"id\":3}]}".getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(3, records.size());
+        assertTrue(records.stream().allMatch(r -> r.getOptionalDouble("id").isPresent()));
+    }
+
+    @EnvironmentalTest
+    void testRawTextLines() {
+        config.getDataset().setResource("export");
+        config.getDataset().setMethodType(HttpMethod.GET);
+        config.getDataset().setTextSplit(ExtendedRawTextConfiguration.Split.LINES);
+
+        this.setServerContextAndStart(httpExchange -> {
+            final byte[] answer = "line 1\nline 2\r\nline 3\n".getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(200, answer.length);
+            OutputStream os = httpExchange.getResponseBody();
+            os.write(answer);
+            os.close();
+        });
+
+        final String configStr = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components() //
+                .component("emitter", "REST://Input?" + configStr) //
+                .component("out", "test://collector") //
+                .connections() //
+                .from("emitter") //
+                .to("out") //
+                .build() //
+                .run();
+
+        final List<Record> records = handler.getCollectedData(Record.class);
+        assertEquals(Arrays.asList("line 1", "line 2", "line 3"),
+                records.stream().map(r -> r.getString("body")).sorted().collect(Collectors.toList()));
+        assertTrue(records.stream().allMatch(r -> r.getInt("status") == 200));
+    }
+
     @Data
     private static class ContentTypeParams {
 